@@ -2,10 +2,13 @@ package khtml.backend.alzi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableScheduling
+// 설정 파일에 값이 없을 때만 적용되는 기본값 (main 실행과 테스트 모두)
+@PropertySource(value = "classpath:alzi-defaults.properties", encoding = "UTF-8")
 public class AlziApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,92 @@
+package khtml.backend.alzi.backfill;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 백필이 스키마 상태(컬럼/인덱스 존재 여부)를 확인할 때 쓰는 JDBC 메타데이터 조회
+ * ddl-auto가 만든 식별자는 MySQL 메타데이터에는 소문자, H2에는 대문자로 나오므로 두 형태로 모두 찾습니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchemaInspector {
+
+	private static final List<UnaryOperator<String>> IDENTIFIER_CASES = List.of(name -> name, String::toUpperCase);
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public boolean hasColumn(String table, String column) {
+		return Boolean.TRUE.equals(find((connection, metaData, identifier) -> {
+			try (ResultSet rs = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+				identifier.apply(table), identifier.apply(column))) {
+				return rs.next() ? true : null;
+			}
+		}));
+	}
+
+	/**
+	 * 인덱스의 첫 번째 컬럼명 (소문자, 인덱스가 없으면 null)
+	 */
+	public String firstIndexColumn(String table, String indexName) {
+		return find((connection, metaData, identifier) -> {
+			try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+				identifier.apply(table), false, false)) {
+				while (rs.next()) {
+					if (indexName.equalsIgnoreCase(rs.getString("INDEX_NAME")) && rs.getShort("ORDINAL_POSITION") == 1) {
+						return rs.getString("COLUMN_NAME").toLowerCase();
+					}
+				}
+			}
+			return null;
+		});
+	}
+
+	/**
+	 * 이름이 constraintName으로 시작하는 유니크 인덱스가 있는지
+	 * (H2는 유니크 제약을 제약 이름 뒤에 _INDEX_xx 접미사를 붙인 인덱스로 보여줌)
+	 */
+	public boolean hasUniqueConstraint(String table, String constraintName) {
+		return Boolean.TRUE.equals(find((connection, metaData, identifier) -> {
+			try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+				identifier.apply(table), true, false)) {
+				while (rs.next()) {
+					String indexName = rs.getString("INDEX_NAME");
+					if (indexName != null && indexName.toLowerCase().startsWith(constraintName)) {
+						return true;
+					}
+				}
+			}
+			return null;
+		}));
+	}
+
+	// 식별자 대소문자별로 조회해서 처음 찾은 결과 (못 찾으면 null)
+	private <T> T find(MetadataLookup<T> lookup) {
+		return jdbcTemplate.execute((ConnectionCallback<T>) connection -> {
+			DatabaseMetaData metaData = connection.getMetaData();
+			for (UnaryOperator<String> identifier : IDENTIFIER_CASES) {
+				T found = lookup.find(connection, metaData, identifier);
+				if (found != null) {
+					return found;
+				}
+			}
+			return null;
+		});
+	}
+
+	@FunctionalInterface
+	private interface MetadataLookup<T> {
+		T find(Connection connection, DatabaseMetaData metaData, UnaryOperator<String> identifier)
+			throws SQLException;
+	}
+}
@@ -0,0 +1,43 @@
+package khtml.backend.alzi.backfill;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시 1회성 데이터 보정(백필) 실행기
+ * 백필은 요청을 막지 않도록 기동 후 백그라운드에서 돌리되, 한 스레드에서 등록 순서대로 하나씩 실행해서
+ * 같은 테이블을 여러 백필이 동시에 훑지 않게 합니다.
+ * 종료 시 남은 백필은 버리고 진행 중인 것은 인터럽트합니다. (각 백필은 다음 기동 때 남은 행부터 이어서 진행)
+ */
+@Component
+@Slf4j
+public class StartupBackfillExecutor {
+
+	private final ExecutorService executor;
+
+	public StartupBackfillExecutor() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("startup-backfill-");
+		// 오래 걸리는 백필이 JVM 종료를 막지 않도록
+		threadFactory.setDaemon(true);
+		this.executor = Executors.newSingleThreadExecutor(threadFactory);
+	}
+
+	public void submit(String name, Runnable backfill) {
+		executor.execute(() -> {
+			long startedAt = System.currentTimeMillis();
+			backfill.run();
+			log.debug("기동 백필 종료 - {} ({}ms)", name, System.currentTimeMillis() - startedAt);
+		});
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executor.shutdownNow();
+	}
+}
@@ -13,7 +13,6 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -55,6 +54,7 @@ public class SecurityConfig {
 				.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/swagger/**").permitAll()
 				.requestMatchers("/api-docs/**").permitAll() // API 문서
 				.requestMatchers("/api/**").permitAll()
+				.requestMatchers("/ws/**").permitAll() // WebSocket(STOMP) 엔드포인트 (가져오기 진행 상황)
 				.anyRequest().authenticated()
 			)
 			// 커스텀 예외 처리 핸들러 설정
@@ -95,7 +95,7 @@ public class SecurityConfig {
 		configuration.setAllowedOriginPatterns(List.of("*"));  // allowedOrigins 대신 allowedOriginPatterns 사용
 		configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 		configuration.setAllowedHeaders(List.of("*"));
-		configuration.setExposedHeaders(List.of("Authorization", "Content-Type"));
+		configuration.setExposedHeaders(List.of("Authorization", "Content-Type", "X-Next-Cursor"));
 		configuration.setAllowCredentials(true);  // JWT 토큰 사용시 필요
 		configuration.setMaxAge(3600L);  // preflight 요청 캐시 시간
 
@@ -103,9 +103,4 @@ public class SecurityConfig {
 		source.registerCorsConfiguration("/**", configuration);
 		return source;
 	}
-
-	@Bean
-	public RestTemplate restTemplate() {
-		return new RestTemplate();
-	}
 }
@@ -0,0 +1,86 @@
+package khtml.backend.alzi.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import khtml.backend.alzi.market.ingest.SeoulApiMetrics;
+import khtml.backend.alzi.market.ingest.SeoulApiMetricsInterceptor;
+
+/**
+ * 서울 API 호출 전용 HTTP 클라이언트 설정
+ * 갱신 중에는 같은 호스트로 동시 호출이 몰리므로 커넥션 풀 + keep-alive로 연결을 재사용하고,
+ * 연결/응답 타임아웃으로 느린 응답이 fetch 스레드를 붙잡지 않도록 합니다.
+ * gzip 응답은 HttpClient가 Accept-Encoding 협상 후 자동으로 풀어줍니다.
+ */
+@Configuration
+public class SeoulApiHttpClientConfig {
+
+	@Value("${seoul-api.http.max-connections:64}")
+	private int maxConnections;
+
+	@Value("${seoul-api.http.max-connections-per-route:32}")
+	private int maxConnectionsPerRoute;
+
+	@Value("${seoul-api.http.connect-timeout-ms:3000}")
+	private long connectTimeoutMs;
+
+	@Value("${seoul-api.http.read-timeout-ms:10000}")
+	private long readTimeoutMs;
+
+	// 풀에서 커넥션을 얻기까지 최대 대기 시간
+	@Value("${seoul-api.http.pool-timeout-ms:5000}")
+	private long poolTimeoutMs;
+
+	@Value("${seoul-api.http.keep-alive-seconds:30}")
+	private long keepAliveSeconds;
+
+	@Value("${seoul-api.http.gzip:true}")
+	private boolean gzip;
+
+	@Bean
+	public CloseableHttpClient seoulApiHttpClient() {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+			.setMaxConnTotal(maxConnections)
+			.setMaxConnPerRoute(maxConnectionsPerRoute)
+			.setDefaultConnectionConfig(ConnectionConfig.custom()
+				.setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+				.setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+				// 서버가 먼저 끊은 유휴 커넥션을 재사용하기 전에 검사
+				.setValidateAfterInactivity(TimeValue.ofSeconds(2))
+				.build())
+			.build();
+
+		HttpClientBuilder builder = HttpClients.custom()
+			.setConnectionManager(connectionManager)
+			.setDefaultRequestConfig(RequestConfig.custom()
+				.setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+				.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+				.build())
+			.setKeepAliveStrategy((response, context) -> TimeValue.ofSeconds(keepAliveSeconds))
+			.evictExpiredConnections()
+			.evictIdleConnections(TimeValue.ofSeconds(keepAliveSeconds));
+		if (!gzip) {
+			builder.disableContentCompression();
+		}
+		return builder.build();
+	}
+
+	@Bean
+	public RestTemplate seoulApiRestTemplate(CloseableHttpClient seoulApiHttpClient, SeoulApiMetrics seoulApiMetrics) {
+		RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(seoulApiHttpClient));
+		restTemplate.getInterceptors().add(new SeoulApiMetricsInterceptor(seoulApiMetrics));
+		return restTemplate;
+	}
+}
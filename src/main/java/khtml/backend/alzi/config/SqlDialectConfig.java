@@ -0,0 +1,24 @@
+package khtml.backend.alzi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import khtml.backend.alzi.utils.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 네이티브 SQL을 쓰는 writer/백필이 공유하는 DB 종류
+ * 기동 시 DataSource 메타데이터로 한 번만 판별해서 주입합니다.
+ */
+@Configuration
+@Slf4j
+public class SqlDialectConfig {
+
+	@Bean
+	public SqlDialect sqlDialect(JdbcTemplate jdbcTemplate) {
+		SqlDialect dialect = SqlDialect.detect(jdbcTemplate);
+		log.info("네이티브 SQL 방언 - {}", dialect);
+		return dialect;
+	}
+}
@@ -14,7 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
 			.allowedOriginPatterns("*")  // 모든 도메인 허용
 			.allowedMethods("*")         // 모든 HTTP 메소드 허용
 			.allowedHeaders("*")         // 모든 헤더 허용
-			.exposedHeaders("Authorization", "Content-Type")
+			.exposedHeaders("Authorization", "Content-Type", "X-Next-Cursor")
 			.allowCredentials(false)     // credentials 비활성화로 완전히 열어놓기
 			.maxAge(3600);
 	}
@@ -0,0 +1,54 @@
+package khtml.backend.alzi.csvimport;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
+import khtml.backend.alzi.utils.ApiResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+@RestController
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@RequestMapping("/api/import-jobs")
+@Tag(name = "CSV Import Job API", description = "비동기 CSV 가져오기 작업 진행 상황 API")
+@Slf4j
+public class CsvImportController {
+	private final CsvImportJobService csvImportJobService;
+
+	@GetMapping("/{jobId}")
+	@Operation(summary = "가져오기 작업 진행 상황 조회",
+		description = "파싱/저장/실패 행 수와 초당 처리 행 수를 조회합니다. "
+			+ "WebSocket(STOMP) /ws 에 연결해서 /topic/import-jobs/{jobId} 를 구독하면 진행 상황을 푸시로 받을 수 있습니다.")
+	public ApiResponse<CsvImportJobStatus> getJobStatus(
+		@Parameter(description = "가져오기 작업 ID") @PathVariable String jobId) {
+		try {
+			return ApiResponse.success(csvImportJobService.getStatus(jobId));
+		} catch (Exception e) {
+			log.error("가져오기 작업 조회 실패: {}", e.getMessage(), e);
+			return ApiResponse.failure("IMPORT_JOB_QUERY_FAILED",
+				"가져오기 작업 조회 중 오류가 발생했습니다: " + e.getMessage());
+		}
+	}
+
+	@GetMapping
+	@Operation(summary = "가져오기 작업 목록 조회", description = "보관 중인 가져오기 작업을 최근 요청 순으로 조회합니다.")
+	public ApiResponse<List<CsvImportJobStatus>> getJobStatuses() {
+		try {
+			return ApiResponse.success(csvImportJobService.getStatuses());
+		} catch (Exception e) {
+			log.error("가져오기 작업 목록 조회 실패: {}", e.getMessage(), e);
+			return ApiResponse.failure("IMPORT_JOB_QUERY_FAILED",
+				"가져오기 작업 목록 조회 중 오류가 발생했습니다: " + e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package khtml.backend.alzi.csvimport;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
+import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import lombok.Getter;
+
+/**
+ * 비동기 CSV 가져오기 작업 1건의 상태
+ * 작업 스레드가 진행 카운트를 갱신하고, 조회/푸시 쪽은 toStatus()로 스냅샷만 읽습니다.
+ */
+@Getter
+public class CsvImportJob implements CsvImportProgress {
+
+	public enum Type {
+		PRICE_DATA,
+		MARKET
+	}
+
+	public enum State {
+		QUEUED,
+		RUNNING,
+		COMPLETED,
+		FAILED
+	}
+
+	private final String jobId;
+	private final Type type;
+	private final String fileName;
+	private final long fileSize;
+	private final Path spoolFile;
+	private final LocalDateTime requestedAt = LocalDateTime.now();
+
+	private final AtomicLong parsedCount = new AtomicLong();
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong failedCount = new AtomicLong();
+
+	private volatile State state = State.QUEUED;
+	private volatile LocalDateTime startedAt;
+	private volatile LocalDateTime finishedAt;
+	private volatile long startedNanos;
+	private volatile long finishedNanos;
+	private volatile MarketUpdateResult result;
+	private volatile String errorMessage;
+
+	CsvImportJob(String jobId, Type type, String fileName, long fileSize, Path spoolFile) {
+		this.jobId = jobId;
+		this.type = type;
+		this.fileName = fileName;
+		this.fileSize = fileSize;
+		this.spoolFile = spoolFile;
+	}
+
+	@Override
+	public void rowsParsed(int count) {
+		parsedCount.addAndGet(count);
+	}
+
+	@Override
+	public void rowsWritten(int count) {
+		writtenCount.addAndGet(count);
+	}
+
+	@Override
+	public void rowsFailed(int count) {
+		failedCount.addAndGet(count);
+	}
+
+	void markRunning() {
+		startedNanos = System.nanoTime();
+		startedAt = LocalDateTime.now();
+		state = State.RUNNING;
+	}
+
+	void markCompleted(MarketUpdateResult result) {
+		this.result = result;
+		finish(State.COMPLETED);
+	}
+
+	void markFailed(String errorMessage) {
+		this.errorMessage = errorMessage;
+		finish(State.FAILED);
+	}
+
+	private void finish(State state) {
+		finishedNanos = System.nanoTime();
+		finishedAt = LocalDateTime.now();
+		this.state = state;
+	}
+
+	public boolean isFinished() {
+		return state == State.COMPLETED || state == State.FAILED;
+	}
+
+	/**
+	 * 현재 진행 상황 스냅샷 (초당 처리 행 수 포함)
+	 */
+	public CsvImportJobStatus toStatus() {
+		long parsed = parsedCount.get();
+		long failed = failedCount.get();
+		long elapsedMillis = 0;
+		if (startedAt != null) {
+			long end = isFinished() ? finishedNanos : System.nanoTime();
+			elapsedMillis = TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+		}
+		double rowsPerSecond = elapsedMillis > 0 ? (parsed + failed) * 1000.0 / elapsedMillis : 0;
+
+		return CsvImportJobStatus.builder()
+			.jobId(jobId)
+			.type(type.name())
+			.fileName(fileName)
+			.fileSize(fileSize)
+			.state(state.name())
+			.parsedCount(parsed)
+			.writtenCount(writtenCount.get())
+			.failedCount(failed)
+			.rowsPerSecond(Math.round(rowsPerSecond * 10) / 10.0)
+			.elapsedMillis(elapsedMillis)
+			.requestedAt(requestedAt)
+			.startedAt(startedAt)
+			.finishedAt(finishedAt)
+			.result(result)
+			.errorMessage(errorMessage)
+			.build();
+	}
+}
@@ -0,0 +1,168 @@
+package khtml.backend.alzi.csvimport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PreDestroy;
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.exception.ErrorCode;
+import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 CSV 가져오기 작업 관리
+ * 업로드 파일을 디스크에 저장한 뒤 바로 작업 ID를 반환하고, 가져오기는 전용 스레드에서 실행합니다.
+ * (요청 처리 스레드를 대용량 가져오기가 점유하지 않도록 분리)
+ * 진행 상황은 GET /api/import-jobs/{jobId} 조회 또는 WebSocket(STOMP) /topic/import-jobs/{jobId} 구독으로 확인합니다.
+ */
+@Service
+@Slf4j
+public class CsvImportJobService {
+	public static final String PROGRESS_TOPIC_PREFIX = "/topic/import-jobs/";
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ExecutorService importPool;
+	private final Path spoolDir;
+	private final long retentionMinutes;
+	private final Map<String, CsvImportJob> jobs = new ConcurrentHashMap<>();
+
+	public CsvImportJobService(SimpMessagingTemplate messagingTemplate,
+		@Value("${csv-import.worker-threads:1}") int workerThreads,
+		@Value("${csv-import.max-queued-jobs:10}") int maxQueuedJobs,
+		@Value("${csv-import.spool-dir:${java.io.tmpdir}}") String spoolDir,
+		@Value("${csv-import.job-retention-minutes:60}") long retentionMinutes) {
+		this.messagingTemplate = messagingTemplate;
+		// 대기 작업 수를 넘으면 거절 (업로드가 몰려도 디스크/메모리가 무한정 쌓이지 않도록)
+		this.importPool = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+			new LinkedBlockingQueue<>(maxQueuedJobs), new CustomizableThreadFactory("csv-import-"));
+		this.spoolDir = Paths.get(spoolDir);
+		this.retentionMinutes = retentionMinutes;
+	}
+
+	/**
+	 * 업로드 파일을 디스크에 저장하고 가져오기 작업 등록
+	 * @return 등록된 작업의 현재 상태 (jobId 포함)
+	 */
+	public CsvImportJobStatus submit(CsvImportJob.Type type, MultipartFile file, CsvImportTask task) {
+		Path spoolFile;
+		try {
+			Files.createDirectories(spoolDir);
+			spoolFile = Files.createTempFile(spoolDir, "csv-import-", ".csv");
+			file.transferTo(spoolFile);
+		} catch (IOException e) {
+			log.error("업로드 파일 임시 저장 실패 - {}", file.getOriginalFilename(), e);
+			throw new CustomException(ErrorCode.FILE_UPLOAD_FAILED, "업로드 파일 저장에 실패했습니다: " + e.getMessage());
+		}
+
+		CsvImportJob job = new CsvImportJob(UUID.randomUUID().toString(), type, file.getOriginalFilename(),
+			file.getSize(), spoolFile);
+		jobs.put(job.getJobId(), job);
+
+		try {
+			importPool.execute(() -> run(job, task));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(job.getJobId());
+			deleteSpoolFile(job);
+			throw new CustomException(ErrorCode.SERVICE_UNAVAILABLE,
+				"대기 중인 가져오기 작업이 너무 많습니다. 잠시 후 다시 시도해주세요.");
+		}
+
+		log.info("CSV 가져오기 작업 등록 - {} ({}, {} bytes, 종류: {})", job.getJobId(), job.getFileName(),
+			job.getFileSize(), type);
+		return job.toStatus();
+	}
+
+	public CsvImportJobStatus getStatus(String jobId) {
+		CsvImportJob job = jobs.get(jobId);
+		if (job == null) {
+			throw new CustomException(ErrorCode.FILE_NOT_FOUND, "가져오기 작업을 찾을 수 없습니다: " + jobId);
+		}
+		return job.toStatus();
+	}
+
+	/**
+	 * 보관 중인 작업 목록 (최근 요청 순)
+	 */
+	public List<CsvImportJobStatus> getStatuses() {
+		return jobs.values().stream()
+			.sorted(Comparator.comparing(CsvImportJob::getRequestedAt).reversed())
+			.map(CsvImportJob::toStatus)
+			.toList();
+	}
+
+	private void run(CsvImportJob job, CsvImportTask task) {
+		job.markRunning();
+		publish(job);
+		log.info("CSV 가져오기 시작 - {} ({})", job.getJobId(), job.getFileName());
+
+		try {
+			MarketUpdateResult result = task.run(new FileSystemResource(job.getSpoolFile()), job);
+			job.markCompleted(result);
+			log.info("CSV 가져오기 완료 - {} (총 {}행, 성공: {}, 실패: {})", job.getJobId(),
+				result.getTotalCount(), result.getSuccessCount(), result.getFailCount());
+		} catch (Exception e) {
+			job.markFailed(e.getMessage());
+			log.error("CSV 가져오기 실패 - {}", job.getJobId(), e);
+		} finally {
+			deleteSpoolFile(job);
+			publish(job);
+		}
+	}
+
+	/**
+	 * 실행 중인 작업의 진행 상황을 주기적으로 구독자에게 전송하고, 보관 기간이 지난 완료 작업 정리
+	 */
+	@Scheduled(fixedDelayString = "${csv-import.progress-push-interval-ms:1000}")
+	public void publishProgress() {
+		LocalDateTime expireBefore = LocalDateTime.now().minusMinutes(retentionMinutes);
+		jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(expireBefore));
+
+		jobs.values().stream()
+			.filter(job -> job.getState() == CsvImportJob.State.RUNNING)
+			.forEach(this::publish);
+	}
+
+	private void publish(CsvImportJob job) {
+		try {
+			messagingTemplate.convertAndSend(PROGRESS_TOPIC_PREFIX + job.getJobId(), job.toStatus());
+		} catch (Exception e) {
+			// 푸시 실패는 가져오기에 영향 없음 (조회 API로 확인 가능)
+			log.debug("가져오기 진행 상황 전송 실패 - {}: {}", job.getJobId(), e.getMessage());
+		}
+	}
+
+	private void deleteSpoolFile(CsvImportJob job) {
+		try {
+			Files.deleteIfExists(job.getSpoolFile());
+		} catch (IOException e) {
+			log.warn("임시 업로드 파일 삭제 실패 - {}", job.getSpoolFile(), e);
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		importPool.shutdownNow();
+	}
+}
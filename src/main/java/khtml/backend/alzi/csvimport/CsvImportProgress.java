@@ -0,0 +1,21 @@
+package khtml.backend.alzi.csvimport;
+
+/**
+ * CSV 가져오기 진행 상황 수신 (행 단위 카운트)
+ * 파싱/저장 단계가 여러 스레드에서 호출하므로 구현체는 스레드 안전해야 합니다.
+ */
+public interface CsvImportProgress {
+
+	// 진행 상황을 기록하지 않는 동기 가져오기용
+	CsvImportProgress NONE = new CsvImportProgress() {
+	};
+
+	default void rowsParsed(int count) {
+	}
+
+	default void rowsWritten(int count) {
+	}
+
+	default void rowsFailed(int count) {
+	}
+}
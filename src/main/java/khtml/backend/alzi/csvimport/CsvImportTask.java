@@ -0,0 +1,14 @@
+package khtml.backend.alzi.csvimport;
+
+import org.springframework.core.io.InputStreamSource;
+
+import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+
+/**
+ * 디스크에 저장된 업로드 파일을 읽어서 가져오는 작업 (가격 데이터 / 시장 정보)
+ */
+@FunctionalInterface
+public interface CsvImportTask {
+
+	MarketUpdateResult run(InputStreamSource source, CsvImportProgress progress);
+}
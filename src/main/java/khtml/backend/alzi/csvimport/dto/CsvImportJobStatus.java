@@ -0,0 +1,27 @@
+package khtml.backend.alzi.csvimport.dto;
+
+import java.time.LocalDateTime;
+
+import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CsvImportJobStatus {
+    private String jobId;             // 가져오기 작업 ID
+    private String type;              // 작업 종류 (PRICE_DATA, MARKET)
+    private String fileName;          // 업로드 파일명
+    private long fileSize;            // 업로드 파일 크기 (byte)
+    private String state;             // 상태 (QUEUED, RUNNING, COMPLETED, FAILED)
+    private long parsedCount;         // 파싱 완료 행 수
+    private long writtenCount;        // 저장 완료 행 수
+    private long failedCount;         // 실패 행 수
+    private double rowsPerSecond;     // 초당 처리 행 수
+    private long elapsedMillis;       // 경과 시간 (ms)
+    private LocalDateTime requestedAt; // 요청 시간
+    private LocalDateTime startedAt;  // 시작 시간
+    private LocalDateTime finishedAt; // 종료 시간
+    private MarketUpdateResult result; // 완료 시 최종 결과
+    private String errorMessage;      // 실패 시 오류 메시지
+}
@@ -36,6 +36,7 @@ public enum ErrorCode {
 	// External API Errors
 	EXTERNAL_API_ERROR(HttpStatus.SERVICE_UNAVAILABLE, "API001", "외부 API 호출에 실패했습니다."),
 	EXTERNAL_API_TIMEOUT(HttpStatus.REQUEST_TIMEOUT, "API002", "외부 API 응답 시간이 초과되었습니다."),
+	PRICE_REFRESH_IN_PROGRESS(HttpStatus.CONFLICT, "API003", "이미 가격 갱신이 진행 중입니다."),
 
 	// Validation Errors
 	INVALID_INPUT(HttpStatus.BAD_REQUEST, "VALID001", "입력값이 유효하지 않습니다."),
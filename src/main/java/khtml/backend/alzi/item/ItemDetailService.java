@@ -1,8 +1,8 @@
 package khtml.backend.alzi.item;
 
 import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
-import khtml.backend.alzi.priceData.PriceData;
-import khtml.backend.alzi.priceData.PriceDataRepository;
+import khtml.backend.alzi.priceData.PriceAnalysisStore;
+import khtml.backend.alzi.priceData.PriceHistoryService;
 import khtml.backend.alzi.shopping.Item;
 import khtml.backend.alzi.shopping.ItemPrice;
 import khtml.backend.alzi.shopping.ItemPriceRepository;
@@ -34,8 +34,8 @@ public class ItemDetailService {
 
     private final ItemRepository itemRepository;
     private final ItemPriceRepository itemPriceRepository;
-    private final PriceDataRepository priceDataRepository;
-    private final PricePredictionUtil pricePredictionUtil;
+    private final PriceHistoryService priceHistoryService;
+    private final PriceAnalysisStore priceAnalysisStore;
     private final SeasonalRecommendationUtil seasonalRecommendationUtil;
 
     @Data
@@ -278,17 +278,17 @@ public class ItemDetailService {
     }
 
     private List<MonthlyPriceInfo> generateMonthlyPriceInfo(String itemName) {
-        // 과거 12개월 데이터 조회
-        List<PriceData> priceDataList = priceDataRepository.findByItemNameOrderByDateDesc(itemName);
+        // 과거 데이터 조회 (마감된 달은 가격 스냅샷에서 읽음)
+        List<MarketItemPriceResponse.PriceDataInfo> priceDataList = priceHistoryService.findByItemName(itemName);
         
         // 월별로 그룹화
-        Map<Month, List<PriceData>> monthlyData = priceDataList.stream()
+        Map<Month, List<MarketItemPriceResponse.PriceDataInfo>> monthlyData = priceDataList.stream()
                 .filter(pd -> pd.getDate() != null)
                 .collect(Collectors.groupingBy(pd -> pd.getDate().getMonth()));
 
         return Arrays.stream(Month.values())
                 .map(month -> {
-                    List<PriceData> monthData = monthlyData.getOrDefault(month, new ArrayList<>());
+                    List<MarketItemPriceResponse.PriceDataInfo> monthData = monthlyData.getOrDefault(month, new ArrayList<>());
                     
                     MonthlyPriceInfo monthlyInfo = new MonthlyPriceInfo();
                     monthlyInfo.setMonth(month.getDisplayName(TextStyle.FULL, Locale.KOREAN));
@@ -298,21 +298,8 @@ public class ItemDetailService {
                     
                     if (!monthData.isEmpty()) {
                         List<BigDecimal> prices = monthData.stream()
-                                .map(pd -> {
-                                    try {
-                                        if (pd.getPrice() == null || pd.getPrice().trim().isEmpty()) {
-                                            return null;
-                                        }
-                                        String priceStr = pd.getPrice().replaceAll("[^0-9.]", "");
-                                        if (priceStr.isEmpty()) {
-                                            return null;
-                                        }
-                                        return new BigDecimal(priceStr);
-                                    } catch (Exception e) {
-                                        return null;
-                                    }
-                                })
-                                .filter(price -> price != null && price.compareTo(BigDecimal.ZERO) > 0) // 0원 제외
+                                .map(MarketItemPriceResponse.PriceDataInfo::getPriceAsBigDecimal)
+                                .filter(price -> price.compareTo(BigDecimal.ZERO) > 0) // 0원 제외
                                 .collect(Collectors.toList());
 
                         if (!prices.isEmpty()) {
@@ -333,13 +320,8 @@ public class ItemDetailService {
 
     private PricePredictionUtil.PriceAnalysis generatePriceAnalysis(String itemName) {
         try {
-            List<PriceData> priceDataList = priceDataRepository.findByItemNameOrderByDateDesc(itemName);
-            
-            List<MarketItemPriceResponse.PriceDataInfo> priceDataInfos = priceDataList.stream()
-                    .map(MarketItemPriceResponse.PriceDataInfo::from)
-                    .collect(Collectors.toList());
-
-            return pricePredictionUtil.analyzePriceHistory(itemName, priceDataInfos);
+            // 가져오기 이후 처음 조회할 때만 전체 시장 이력으로 계산
+            return priceAnalysisStore.get(itemName, null, () -> priceHistoryService.findByItemName(itemName));
             
         } catch (Exception e) {
             log.debug("아이템 '{}' 가격 예측 분석 실패: {}", itemName, e.getMessage());
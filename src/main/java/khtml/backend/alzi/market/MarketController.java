@@ -1,7 +1,11 @@
 package khtml.backend.alzi.market;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +19,14 @@ import org.springframework.web.multipart.MultipartFile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
+import khtml.backend.alzi.market.dto.MarketItemPriceQuery;
 import khtml.backend.alzi.market.dto.PriceUpdateRequest;
+import khtml.backend.alzi.market.dto.response.MarketItemPricePage;
 import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
 import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import khtml.backend.alzi.market.dto.response.PriceRefreshStatus;
 import khtml.backend.alzi.utils.ApiResponse;
 import khtml.backend.alzi.utils.PricePredictionUtil;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +39,8 @@ import lombok.extern.slf4j.Slf4j;
 @Tag(name = "Market API", description = "시장 정보 관리 API")
 @Slf4j
 public class MarketController {
+	private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
 	private final MarketService marketService;
 	private final SeoulOpenApiService seoulOpenApiService;
 
@@ -171,16 +182,64 @@ public class MarketController {
 	// 	}
 	// }
 
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@Operation(summary = "시장 정보 CSV 가져오기 (비동기)",
+		description = "CSV 파일을 디스크에 저장한 뒤 바로 작업 ID를 반환합니다. "
+			+ "진행 상황은 GET /api/import-jobs/{jobId} 또는 WebSocket /topic/import-jobs/{jobId} 로 확인합니다.")
+	public ApiResponse<CsvImportJobStatus> startCsvImport(
+		@Parameter(description = "업로드할 CSV 파일 (.csv)")
+		@RequestParam("file") MultipartFile file
+	) {
+		try {
+			log.info("시장 정보 CSV 가져오기 요청 - 파일명: {}", file.getOriginalFilename());
+
+			CsvImportJobStatus status = marketService.startCsvImport(file);
+
+			return ApiResponse.success("시장 정보 가져오기 작업이 등록되었습니다.", status);
+
+		} catch (Exception e) {
+			log.error("시장 정보 가져오기 작업 등록 실패: {}", e.getMessage(), e);
+			return ApiResponse.failure("MARKET_IMPORT_FAILED",
+				"시장 정보 가져오기 작업 등록 중 오류가 발생했습니다: " + e.getMessage());
+		}
+	}
+
+	@GetMapping("/refresh/status")
+	@Operation(summary = "가격 갱신 상태 조회",
+		description = "서울 API 가격 갱신(예약/배치 포함)의 실행 여부, 대기 중인 요청 수, 예상 남은 시간을 조회합니다.")
+	public ApiResponse<PriceRefreshStatus> getRefreshStatus() {
+		try {
+			return ApiResponse.success(seoulOpenApiService.getRefreshStatus());
+		} catch (Exception e) {
+			log.error("가격 갱신 상태 조회 실패: {}", e.getMessage(), e);
+			return ApiResponse.failure("PRICE_REFRESH_STATUS_QUERY_FAILED",
+				"가격 갱신 상태 조회 중 오류가 발생했습니다: " + e.getMessage());
+		}
+	}
+
 	@GetMapping("/{marketName}/items")
 	@Operation(summary = "시장별 아이템 가격 정보 조회",
-		description = "특정 시장의 모든 아이템에 대한 과거 데이터(PriceData)와 현재 시세(ItemPrice)를 모두 조회합니다.")
+		description = "특정 시장의 모든 아이템에 대한 과거 데이터(PriceData)와 현재 시세(ItemPrice)를 모두 조회합니다. "
+			+ "size를 주면 품목명 순으로 size개씩 조회하고, 다음 페이지 cursor는 X-Next-Cursor 헤더로 반환합니다. "
+			+ "since/months로 이력 기간을, compact=true로 출처별 최신 가격 1건만 조회할 수 있습니다.")
 	public ApiResponse<List<MarketItemPriceResponse>> getMarketItemPrices(
-		@Parameter(description = "시장명") @PathVariable String marketName) {
+		@Parameter(description = "시장명") @PathVariable String marketName,
+		@Parameter(description = "이전 페이지의 X-Next-Cursor 값") @RequestParam(required = false) String cursor,
+		@Parameter(description = "한 번에 조회할 품목 수 (1~100, 없으면 전체)") @RequestParam(required = false) Integer size,
+		@Parameter(description = "이 날짜 이후 이력만 조회 (yyyy-MM-dd)")
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+		@Parameter(description = "이번 달 포함 최근 N개월 이력만 조회 (since보다 우선)")
+		@RequestParam(required = false) Integer months,
+		@Parameter(description = "출처별 최신 가격 1건만 조회") @RequestParam(required = false) Boolean compact,
+		HttpServletResponse httpResponse) {
 
 		try {
 			log.info("시장 '{}' 아이템 가격 정보 조회 요청", marketName);
 
-			List<MarketItemPriceResponse> response = marketService.getMarketItemPrices(marketName);
+			MarketItemPricePage<MarketItemPriceResponse> page = marketService.getMarketItemPrices(marketName,
+				MarketItemPriceQuery.of(cursor, size, since, months, compact));
+			setNextCursor(httpResponse, page.getNextCursor());
+			List<MarketItemPriceResponse> response = page.getItems();
 
 			if (response.isEmpty()) {
 				return ApiResponse.success(
@@ -202,12 +261,22 @@ public class MarketController {
 	@Operation(summary = "시장별 아이템 가격 정보 조회",
 		description = "특정 시장의 모든 아이템에 대한 과거 데이터(PriceData)와 현재 시세(ItemPrice)를 모두 조회합니다.")
 	public ApiResponse<List<PricePredictionUtil.PriceAnalysis>> getPredictMarketItemPrices(
-		@Parameter(description = "시장명") @PathVariable String marketName) {
+		@Parameter(description = "시장명") @PathVariable String marketName,
+		@Parameter(description = "이전 페이지의 X-Next-Cursor 값") @RequestParam(required = false) String cursor,
+		@Parameter(description = "한 번에 조회할 품목 수 (1~100, 없으면 전체)") @RequestParam(required = false) Integer size,
+		@Parameter(description = "이 날짜 이후 이력만 분석 (yyyy-MM-dd)")
+		@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate since,
+		@Parameter(description = "이번 달 포함 최근 N개월 이력만 분석 (since보다 우선)")
+		@RequestParam(required = false) Integer months,
+		HttpServletResponse httpResponse) {
 
 		try {
 			log.info("시장 '{}' 아이템 가격 정보 조회 요청", marketName);
 
-			List<PricePredictionUtil.PriceAnalysis> response = marketService.getPredictMarketItemPrices(marketName);
+			MarketItemPricePage<PricePredictionUtil.PriceAnalysis> page = marketService.getPredictMarketItemPrices(
+				marketName, MarketItemPriceQuery.of(cursor, size, since, months, false));
+			setNextCursor(httpResponse, page.getNextCursor());
+			List<PricePredictionUtil.PriceAnalysis> response = page.getItems();
 
 			if (response.isEmpty()) {
 				return ApiResponse.success(
@@ -224,4 +293,11 @@ public class MarketController {
 				"시장 아이템 가격 정보 조회 중 오류가 발생했습니다: " + e.getMessage());
 		}
 	}
+
+	// 다음 페이지가 있을 때만 헤더로 cursor 전달 (응답 본문 형식은 기존과 같게 유지, 헤더는 ASCII만 가능하므로 URL 인코딩)
+	private static void setNextCursor(HttpServletResponse httpResponse, String nextCursor) {
+		if (nextCursor != null) {
+			httpResponse.setHeader(NEXT_CURSOR_HEADER, URLEncoder.encode(nextCursor, StandardCharsets.UTF_8));
+		}
+	}
 }
@@ -0,0 +1,104 @@
+package khtml.backend.alzi.market;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시장별 아이템 가격 응답(getMarketItemPrices) 캐시
+ * 처음 조회할 때 만든 응답 목록을 시장명으로 보관하고, 가져오기/가격 갱신이 해당 시장의 행을 바꿨을 때만 버립니다.
+ * 조회 도중 무효화되면(시장별 세대 번호나 전체 무효화 번호가 바뀌면) 만든 결과를 반환만 하고 저장하지 않습니다.
+ * 보관한 목록은 여러 요청이 공유하므로 호출하는 쪽에서 수정하면 안 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MarketItemPriceCache {
+
+	private final MarketRepository marketRepository;
+
+	private final Map<String, List<MarketItemPriceResponse>> snapshots = new ConcurrentHashMap<>();
+	// 시장별 무효화 횟수
+	private final Map<String, Long> generations = new ConcurrentHashMap<>();
+	// 전체 무효화 횟수 (아직 캐시에 없는 시장의 진행 중인 조회도 막기 위해 시장별 세대와 따로 셈)
+	private final AtomicLong epoch = new AtomicLong();
+
+	public List<MarketItemPriceResponse> get(String marketName, Supplier<List<MarketItemPriceResponse>> loader) {
+		List<MarketItemPriceResponse> cached = snapshots.get(marketName);
+		if (cached != null) {
+			return cached;
+		}
+
+		long startEpoch = epoch.get();
+		long generation = generations.getOrDefault(marketName, 0L);
+		List<MarketItemPriceResponse> loaded = List.copyOf(loader.get());
+		snapshots.compute(marketName,
+			(key, current) -> epoch.get() == startEpoch && generations.getOrDefault(key, 0L) == generation
+				? loaded : current);
+		return loaded;
+	}
+
+	/**
+	 * 시장명 기준 무효화 (트랜잭션 안이면 커밋 후에 다시 한 번 무효화해서, 커밋 전 데이터로 다시 채워진 것도 버림)
+	 */
+	public void invalidate(Collection<String> marketNames) {
+		if (marketNames.isEmpty()) {
+			return;
+		}
+		Set<String> names = Set.copyOf(marketNames);
+		evict(names);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					evict(names);
+				}
+			});
+		}
+	}
+
+	/**
+	 * 시장 코드 기준 무효화 (ItemPrice 행은 시장 코드로 저장되므로 시장명으로 바꿔서 무효화)
+	 */
+	public void invalidateMarketCodes(Collection<String> marketCodes) {
+		if (marketCodes.isEmpty()) {
+			return;
+		}
+		invalidate(marketRepository.findAllById(marketCodes).stream()
+			.map(Market::getName)
+			.filter(name -> name != null)
+			.collect(Collectors.toSet()));
+	}
+
+	/**
+	 * 전체 무효화 (여러 시장의 행이 한꺼번에 바뀐 경우)
+	 */
+	public void invalidateAll() {
+		// 번호를 먼저 올려야 지운 뒤에 끝나는 조회가 예전 데이터를 저장하지 않음
+		epoch.incrementAndGet();
+		snapshots.clear();
+		log.debug("시장 아이템 가격 캐시 전체 무효화");
+	}
+
+	private void evict(Set<String> marketNames) {
+		for (String marketName : marketNames) {
+			// 세대를 먼저 올려야 진행 중인 조회가 예전 데이터를 저장하지 않음
+			generations.merge(marketName, 1L, Long::sum);
+			snapshots.remove(marketName);
+		}
+		log.debug("시장 아이템 가격 캐시 무효화 - {}", marketNames);
+	}
+}
@@ -1,32 +1,47 @@
 package khtml.backend.alzi.market;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
-import com.opencsv.exceptions.CsvException;
+import com.opencsv.exceptions.CsvValidationException;
 
+import khtml.backend.alzi.csvimport.CsvImportJob;
+import khtml.backend.alzi.csvimport.CsvImportJobService;
+import khtml.backend.alzi.csvimport.CsvImportProgress;
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
 import khtml.backend.alzi.exception.CustomException;
 import khtml.backend.alzi.exception.ErrorCode;
+import khtml.backend.alzi.market.dto.MarketItemPriceQuery;
+import khtml.backend.alzi.market.dto.response.MarketItemPricePage;
 import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
 import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import khtml.backend.alzi.priceData.PriceAnalysisStore;
 import khtml.backend.alzi.priceData.PriceData;
 import khtml.backend.alzi.priceData.PriceDataRepository;
 import khtml.backend.alzi.shopping.ItemPrice;
 import khtml.backend.alzi.shopping.ItemPriceRepository;
+import khtml.backend.alzi.utils.CsvCharsetDetector;
 import khtml.backend.alzi.utils.PricePredictionUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -39,75 +54,94 @@ public class MarketService {
 	private final PriceDataRepository priceDataRepository;
 	private final ItemPriceRepository itemPriceRepository;
 	private final PricePredictionUtil pricePredictionUtil;
+	private final PriceAnalysisStore priceAnalysisStore;
+	private final CsvCharsetDetector csvCharsetDetector;
+	private final CsvImportJobService csvImportJobService;
+	private final TransactionTemplate transactionTemplate;
+	private final MarketItemPriceCache marketItemPriceCache;
 
 	@Transactional
 	public MarketUpdateResult updateMarketFromCsv(MultipartFile file) {
 		validateCsvFile(file);
+		return importMarkets(file, CsvImportProgress.NONE);
+	}
 
+	/**
+	 * CSV 파일로 시장 정보 갱신 (비동기)
+	 * 업로드 파일을 디스크에 저장하고 바로 작업 ID를 반환합니다. 진행 상황은 가져오기 작업 API로 조회합니다.
+	 */
+	public CsvImportJobStatus startCsvImport(MultipartFile file) {
+		validateCsvFile(file);
+		return csvImportJobService.submit(CsvImportJob.Type.MARKET, file,
+			(source, progress) -> transactionTemplate.execute(status -> importMarkets(source, progress)));
+	}
+
+	private MarketUpdateResult importMarkets(InputStreamSource file, CsvImportProgress progress) {
 		List<String> errorMessages = new ArrayList<>();
 		int totalCount = 0;
 		int successCount = 0;
 		int failCount = 0;
 
-		// 여러 인코딩을 시도하여 한글 깨짐 방지
-		String[] encodings = {"UTF-8", "EUC-KR", "MS949", "CP949"};
-
-		for (String encoding : encodings) {
-			try (BufferedReader reader = new BufferedReader(
-				new InputStreamReader(file.getInputStream(), encoding))) {
-
-				log.info("CSV 파일 읽기 시도 - 인코딩: {}", encoding);
-
-				CSVReader csvReader = new CSVReaderBuilder(reader)
-					.withCSVParser(new CSVParserBuilder()
-						.withSeparator(',')
-						.withIgnoreQuotations(false)
-						.build())
-					.withSkipLines(1) // 첫 번째 행(헤더) 건너뛰기
-					.build();
-
-				List<String[]> records = csvReader.readAll();
-
-				// 첫 번째 레코드로 인코딩 검증 (한글이 포함된 경우)
-				if (!records.isEmpty() && isValidEncoding(records.get(0))) {
-					log.info("올바른 인코딩 감지: {}", encoding);
-
-					for (int i = 0; i < records.size(); i++) {
-						String[] row = records.get(i);
-						int rowNumber = i + 2; // CSV의 실제 행 번호 (헤더 제외)
-						totalCount++;
-
-						try {
-							Market market = parseRowToMarket(row, rowNumber);
-							if (market != null) {
-								marketRepository.save(market);
-								successCount++;
-								log.debug("시장 정보 저장 성공: {} ({}행)", market.getName(), rowNumber);
-							} else {
-								failCount++;
-								errorMessages.add(String.format("%d행: 빈 행이거나 필수 데이터가 누락됨", rowNumber));
-							}
-						} catch (Exception e) {
-							failCount++;
-							String errorMsg = String.format("%d행: %s", rowNumber, e.getMessage());
-							errorMessages.add(errorMsg);
-							log.warn("시장 정보 처리 실패 - {}", errorMsg);
-						}
+		// 앞부분 샘플로 인코딩을 한 번만 감지하고 같은 스트림을 이어서 디코딩 (한글 깨짐 방지)
+		try (CsvCharsetDetector.DetectedReader source = csvCharsetDetector.open(file.getInputStream());
+			 CSVReader csvReader = new CSVReaderBuilder(source.reader())
+				 .withCSVParser(new CSVParserBuilder()
+					 .withSeparator(',')
+					 .withIgnoreQuotations(false)
+					 .build())
+				 .withSkipLines(1) // 첫 번째 행(헤더) 건너뛰기
+				 .build()) {
+
+			int rowNumber = 1; // CSV의 실제 행 번호 (헤더 = 1행)
+			while (true) {
+				String[] row;
+				try {
+					row = csvReader.readNext();
+				} catch (CsvValidationException e) {
+					rowNumber++;
+					totalCount++;
+					failCount++;
+					progress.rowsFailed(1);
+					errorMessages.add(String.format("%d행: %s", rowNumber, e.getMessage()));
+					continue;
+				}
+				if (row == null) {
+					break;
+				}
+				rowNumber++;
+				totalCount++;
+
+				try {
+					Market market = parseRowToMarket(row, rowNumber);
+					if (market != null) {
+						progress.rowsParsed(1);
+						marketRepository.save(market);
+						successCount++;
+						progress.rowsWritten(1);
+						log.debug("시장 정보 저장 성공: {} ({}행)", market.getName(), rowNumber);
+					} else {
+						failCount++;
+						progress.rowsFailed(1);
+						errorMessages.add(String.format("%d행: 빈 행이거나 필수 데이터가 누락됨", rowNumber));
 					}
-
-					return MarketUpdateResult.of(totalCount, successCount, failCount, errorMessages);
+				} catch (Exception e) {
+					failCount++;
+					progress.rowsFailed(1);
+					String errorMsg = String.format("%d행: %s", rowNumber, e.getMessage());
+					errorMessages.add(errorMsg);
+					log.warn("시장 정보 처리 실패 - {}", errorMsg);
 				}
-
-			} catch (IOException | CsvException e) {
-				log.warn("인코딩 {}로 파일 읽기 실패: {}", encoding, e.getMessage());
-				// 다음 인코딩 시도
 			}
-		}
 
-		// 모든 인코딩 시도 실패
-		log.error("모든 인코딩으로 CSV 파일 읽기 실패");
-		throw new CustomException(ErrorCode.FILE_PROCESSING_FAILED,
-			"CSV 파일을 읽을 수 없습니다. UTF-8, EUC-KR, MS949 인코딩을 확인해주세요.");
+			log.info("시장 정보 CSV 갱신 완료 - 총 {}행 (성공: {}, 실패: {}), 인코딩: {}",
+				totalCount, successCount, failCount, source.charset().name());
+			return MarketUpdateResult.of(totalCount, successCount, failCount, errorMessages);
+
+		} catch (IOException e) {
+			log.error("CSV 파일 읽기 실패", e);
+			throw new CustomException(ErrorCode.FILE_PROCESSING_FAILED,
+				"CSV 파일 읽기 중 오류가 발생했습니다: " + e.getMessage());
+		}
 	}
 
 	public List<Market> getMarket() {
@@ -116,9 +150,15 @@ public class MarketService {
 
 	/**
 	 * 특정 시장의 모든 아이템에 대한 과거/현재 가격 정보를 조회
+	 * 시장별로 만들어 둔 응답을 그대로 반환하고, 가져오기/가격 갱신으로 해당 시장이 바뀐 뒤 처음 조회할 때만 다시 만듭니다.
+	 * 반환 목록은 캐시와 공유되므로 수정하지 않습니다.
 	 */
-	@Transactional(readOnly = true)
 	public List<MarketItemPriceResponse> getMarketItemPrices(String marketName) {
+		return marketItemPriceCache.get(marketName,
+			() -> transactionTemplate.execute(status -> loadMarketItemPrices(marketName)));
+	}
+
+	private List<MarketItemPriceResponse> loadMarketItemPrices(String marketName) {
 		log.info("시장 '{}' 아이템 가격 정보 조회 시작", marketName);
 
 		// 1. PriceData에서 해당 시장의 모든 데이터 조회
@@ -130,7 +170,6 @@ public class MarketService {
 		// 3. 아이템별로 그룹화 (null 체크 추가)
 		Map<String, List<PriceData>> priceDataByItem = priceDataList.stream()
 			.filter(pd -> pd.getItemName() != null && !pd.getItemName().trim().isEmpty())
-			.filter(pd -> !pd.getPrice().equals("0"))
 			.collect(Collectors.groupingBy(PriceData::getItemName));
 
 		Map<String, List<ItemPrice>> itemPriceByItem = itemPriceList.stream()
@@ -141,38 +180,16 @@ public class MarketService {
 			.filter(ip -> !Objects.equals(ip.getPrice(), BigDecimal.ZERO))
 			.collect(Collectors.groupingBy(item -> item.getItem().getName()));
 
-		// 4. 모든 고유한 아이템명 수집 (null 체크 추가)
-		List<String> allItemNames = new ArrayList<>();
-		allItemNames.addAll(priceDataByItem.keySet());
+		// 4. 모든 고유한 아이템명 수집 (PriceData 아이템 먼저, 순서 유지하며 중복 제거)
+		Set<String> allItemNames = new LinkedHashSet<>(priceDataByItem.keySet());
 		itemPriceByItem.keySet().stream()
 			.filter(itemName -> itemName != null && !itemName.trim().isEmpty())
-			.filter(itemName -> !allItemNames.contains(itemName))
 			.forEach(allItemNames::add);
 
 		// 5. 아이템별로 응답 데이터 생성
 		List<MarketItemPriceResponse> responseList = allItemNames.stream()
-			.map(itemName -> {
-				List<PriceData> itemPriceDataList = priceDataByItem.getOrDefault(itemName, new ArrayList<>());
-				List<ItemPrice> itemCurrentPriceList = itemPriceByItem.getOrDefault(itemName, new ArrayList<>());
-
-				// 카테고리 정보 추출 (ItemPrice가 있으면 그것에서, 없으면 null)
-				String category = itemCurrentPriceList.stream()
-					.findFirst()
-					.map(ip -> ip.getItem().getCategory())
-					.orElse(null);
-
-				return MarketItemPriceResponse.builder()
-					.marketName(marketName)
-					.itemName(itemName)
-					.category(category)
-					.priceDataList(itemPriceDataList.stream()
-						.map(MarketItemPriceResponse.PriceDataInfo::from)
-						.collect(Collectors.toList()))
-					.itemPriceList(itemCurrentPriceList.stream()
-						.map(MarketItemPriceResponse.ItemPriceInfo::from)
-						.collect(Collectors.toList()))
-					.build();
-			})
+			.map(itemName -> toMarketItemPriceResponse(marketName, itemName,
+				priceDataByItem.getOrDefault(itemName, List.of()), itemPriceByItem.getOrDefault(itemName, List.of())))
 			.collect(Collectors.toList());
 
 		log.info("시장 '{}' 아이템 가격 정보 조회 완료 - 아이템 수: {}, PriceData: {}건, ItemPrice: {}건",
@@ -182,124 +199,143 @@ public class MarketService {
 	}
 
 	/**
-	 * 특정 시장의 모든 아이템에 대한 과거/현재 가격 정보를 조회
+	 * 조건부 시장별 아이템 가격 조회 (품목명 순 커서 페이지 / 이력 기간 / 출처별 최신 가격만)
+	 * 조건이 없으면 캐시된 전체 조회를 그대로 반환하고, 조건이 있으면 페이지 품목과 기간/최신 조건을 모두 쿼리에서 거릅니다.
 	 */
-	@Transactional(readOnly = true)
-	public List<PricePredictionUtil.PriceAnalysis> getPredictMarketItemPrices(String marketName) {
-		log.info("시장 '{}' 아이템 가격 정보 조회 시작", marketName);
-
-		// 1. PriceData에서 해당 시장의 모든 데이터 조회
-		List<PriceData> priceDataList = priceDataRepository.findByMarketNameOrderByDateDesc(marketName);
-
-		// 2. ItemPrice에서 해당 시장의 모든 데이터 조회 (Market 엔터티를 통해)
-		List<ItemPrice> itemPriceList = itemPriceRepository.findByMarketNameOrderBySurveyDateDesc(marketName);
+	public MarketItemPricePage<MarketItemPriceResponse> getMarketItemPrices(String marketName,
+		MarketItemPriceQuery query) {
+		if (query.isUnbounded()) {
+			return MarketItemPricePage.of(getMarketItemPrices(marketName), null);
+		}
 
-		// 3. 아이템별로 그룹화 (null 체크 추가)
-		Map<String, List<PriceData>> priceDataByItem = priceDataList.stream()
-			.filter(pd -> pd.getItemName() != null && !pd.getItemName().trim().isEmpty())
-			.filter(pd -> !pd.getPrice().equals("0"))
-			.collect(Collectors.groupingBy(PriceData::getItemName));
+		return transactionTemplate.execute(status -> {
+			ItemNamePage page = findItemNamePage(marketName, query);
+			if (page.itemNames().isEmpty()) {
+				return MarketItemPricePage.<MarketItemPriceResponse>of(List.of(), null);
+			}
 
-		Map<String, List<ItemPrice>> itemPriceByItem = itemPriceList.stream()
-			.filter(ip -> ip.getItem() != null && ip.getItem().getName() != null && !ip.getItem()
-				.getName()
-				.trim()
-				.isEmpty())
-			.filter(ip -> !Objects.equals(ip.getPrice(), BigDecimal.ZERO))
-			.collect(Collectors.groupingBy(item -> item.getItem().getName()));
+			List<PriceData> priceDataList = query.compact()
+				? priceDataRepository.findLatestByMarketNameAndItemNames(marketName, page.itemNames(), query.since())
+				: priceDataRepository.findByMarketNameAndItemNames(marketName, page.itemNames(), query.since());
+			List<ItemPrice> itemPriceList = query.compact()
+				? itemPriceRepository.findLatestByMarketNameAndItemNames(marketName, page.itemNames(), query.since())
+				: itemPriceRepository.findByMarketNameAndItemNames(marketName, page.itemNames(), query.since());
+
+			// 쿼리 결과가 최신순이므로 최신 가격만 조회할 때는 품목별 첫 행만 남김 (같은 날짜 행이 여러 개인 경우)
+			Map<String, List<PriceData>> priceDataByItem = groupByItem(priceDataList, PriceData::getItemName,
+				query.compact());
+			Map<String, List<ItemPrice>> itemPriceByItem = groupByItem(itemPriceList, ip -> ip.getItem().getName(),
+				query.compact());
+
+			List<MarketItemPriceResponse> items = page.itemNames().stream()
+				.map(itemName -> toMarketItemPriceResponse(marketName, itemName,
+					priceDataByItem.getOrDefault(itemName, List.of()), itemPriceByItem.getOrDefault(itemName, List.of())))
+				.toList();
+			log.info("시장 '{}' 아이템 가격 정보 조건 조회 - 아이템 수: {}, PriceData: {}건, ItemPrice: {}건 (since: {}, compact: {})",
+				marketName, items.size(), priceDataList.size(), itemPriceList.size(), query.since(), query.compact());
+			return MarketItemPricePage.of(items, page.nextCursor());
+		});
+	}
 
-		// 4. 모든 고유한 아이템명 수집 (null 체크 추가)
-		List<String> allItemNames = new ArrayList<>();
-		allItemNames.addAll(priceDataByItem.keySet());
-		itemPriceByItem.keySet().stream()
-			.filter(itemName -> itemName != null && !itemName.trim().isEmpty())
-			.filter(itemName -> !allItemNames.contains(itemName))
-			.forEach(allItemNames::add);
+	/**
+	 * 조건부 시장별 아이템 가격 분석 (품목명 순 커서 페이지 / 이력 기간)
+	 * 분석에는 이력이 필요하므로 compact 조건은 쓰지 않습니다.
+	 */
+	public MarketItemPricePage<PricePredictionUtil.PriceAnalysis> getPredictMarketItemPrices(String marketName,
+		MarketItemPriceQuery query) {
+		if (query.isUnbounded()) {
+			return MarketItemPricePage.of(getPredictMarketItemPrices(marketName), null);
+		}
 
-		// 5. 아이템별로 응답 데이터 생성
-		List<MarketItemPriceResponse> responseList = allItemNames.stream()
-			.map(itemName -> {
-				List<PriceData> itemPriceDataList = priceDataByItem.getOrDefault(itemName, new ArrayList<>());
-				List<ItemPrice> itemCurrentPriceList = itemPriceByItem.getOrDefault(itemName, new ArrayList<>());
-
-				// 카테고리 정보 추출 (ItemPrice가 있으면 그것에서, 없으면 null)
-				String category = itemCurrentPriceList.stream()
-					.findFirst()
-					.map(ip -> ip.getItem().getCategory())
-					.orElse(null);
-
-				return MarketItemPriceResponse.builder()
-					.marketName(marketName)
-					.itemName(itemName)
-					.category(category)
-					.priceDataList(itemPriceDataList.stream()
-						.map(MarketItemPriceResponse.PriceDataInfo::from)
-						.collect(Collectors.toList()))
-					.itemPriceList(itemCurrentPriceList.stream()
-						.map(MarketItemPriceResponse.ItemPriceInfo::from)
-						.collect(Collectors.toList()))
-					.build();
-			})
-			.collect(Collectors.toList());
+		return transactionTemplate.execute(status -> {
+			ItemNamePage page = findItemNamePage(marketName, query);
+			if (page.itemNames().isEmpty()) {
+				return MarketItemPricePage.<PricePredictionUtil.PriceAnalysis>of(List.of(), null);
+			}
 
-		log.info("시장 '{}' 아이템 가격 정보 조회 완료 - 아이템 수: {}, PriceData: {}건, ItemPrice: {}건",
-			marketName, responseList.size(), priceDataList.size(), itemPriceList.size());
-		return responseList.stream()
-			.map(response -> pricePredictionUtil.analyzePriceHistory(response.getItemName(),
-				response.getPriceDataList()))
-			.toList();
+			Map<String, List<PriceData>> priceDataByItem = groupByItem(
+				priceDataRepository.findByMarketNameAndItemNames(marketName, page.itemNames(), query.since()),
+				PriceData::getItemName, false);
+			List<PricePredictionUtil.PriceAnalysis> analyses = page.itemNames().stream()
+				.map(itemName -> {
+					List<MarketItemPriceResponse.PriceDataInfo> history = priceDataByItem.getOrDefault(itemName,
+						List.of()).stream().map(MarketItemPriceResponse.PriceDataInfo::from).toList();
+					// 기간을 자른 이력의 분석은 전체 이력 분석과 다르므로 저장소를 쓰지 않음
+					return query.since() == null
+						? priceAnalysisStore.get(itemName, marketName, () -> history)
+						: pricePredictionUtil.analyzePriceHistory(itemName, history);
+				})
+				.toList();
+			return MarketItemPricePage.of(analyses, page.nextCursor());
+		});
 	}
 
 	/**
-	 * 인코딩이 올바른지 검증 (한글 깨짐 체크)
+	 * 두 출처의 품목명을 합쳐서 cursor 다음 size개 선택
+	 * 각 출처에서 size + 1개씩 가져오면 합친 결과의 앞 size + 1개가 정확하므로 다음 페이지 여부도 함께 알 수 있습니다.
 	 */
-	private boolean isValidEncoding(String[] firstRow) {
-		for (String field : firstRow) {
-			if (field != null && !field.trim().isEmpty()) {
-				// 깨진 문자(물음표나 특수문자)가 포함되어 있으면 잘못된 인코딩
-				if (field.contains("?") || field.contains("�")) {
-					return false;
-				}
-				// 한글이 포함된 경우 정상적인 한글인지 확인
-				if (containsKorean(field) && !isValidKorean(field)) {
-					return false;
-				}
+	private ItemNamePage findItemNamePage(String marketName, MarketItemPriceQuery query) {
+		Pageable pageable = query.size() != null ? PageRequest.of(0, query.size() + 1) : Pageable.unpaged();
+		TreeSet<String> names = new TreeSet<>(
+			priceDataRepository.findItemNamesByMarketName(marketName, query.cursor(), query.since(), pageable));
+		names.addAll(itemPriceRepository.findItemNamesByMarketName(marketName, query.cursor(), query.since(), pageable));
+		names.removeIf(String::isBlank);
+
+		List<String> itemNames = new ArrayList<>(names);
+		if (query.size() == null || itemNames.size() <= query.size()) {
+			return new ItemNamePage(itemNames, null);
+		}
+		List<String> pageNames = List.copyOf(itemNames.subList(0, query.size()));
+		return new ItemNamePage(pageNames, pageNames.get(pageNames.size() - 1));
+	}
+
+	private static <T> Map<String, List<T>> groupByItem(List<T> rows, Function<T, String> itemName,
+		boolean latestOnly) {
+		Map<String, List<T>> byItem = new HashMap<>();
+		for (T row : rows) {
+			List<T> itemRows = byItem.computeIfAbsent(itemName.apply(row), key -> new ArrayList<>());
+			if (!latestOnly || itemRows.isEmpty()) {
+				itemRows.add(row);
 			}
 		}
-		return true;
+		return byItem;
 	}
 
-	/**
-	 * 한글이 포함되어 있는지 확인
-	 */
-	private boolean containsKorean(String text) {
-		return text.matches(".*[ㄱ-ㅎㅏ-ㅣ가-힣].*");
+	private static MarketItemPriceResponse toMarketItemPriceResponse(String marketName, String itemName,
+		List<PriceData> priceDataList, List<ItemPrice> itemPriceList) {
+		// 카테고리 정보 추출 (ItemPrice가 있으면 그것에서, 없으면 null)
+		String category = itemPriceList.stream()
+			.findFirst()
+			.map(ip -> ip.getItem().getCategory())
+			.orElse(null);
+
+		return MarketItemPriceResponse.builder()
+			.marketName(marketName)
+			.itemName(itemName)
+			.category(category)
+			.priceDataList(priceDataList.stream()
+				.map(MarketItemPriceResponse.PriceDataInfo::from)
+				.collect(Collectors.toList()))
+			.itemPriceList(itemPriceList.stream()
+				.map(MarketItemPriceResponse.ItemPriceInfo::from)
+				.collect(Collectors.toList()))
+			.build();
+	}
+
+	private record ItemNamePage(List<String> itemNames, String nextCursor) {
 	}
 
 	/**
-	 * 올바른 한글인지 확인 (깨진 한글 체크)
+	 * 특정 시장의 모든 아이템에 대한 가격 분석 조회
+	 * 아이템 목록/이력은 시장별 아이템 가격 캐시에서, 분석은 가격 분석 저장소에서 읽으므로 가져오기 이후 처음 조회할 때만 계산합니다.
 	 */
-	private boolean isValidKorean(String text) {
-		// 한글 유니코드 범위 체크
-		for (char c : text.toCharArray()) {
-			if (c >= 0xAC00 && c <= 0xD7AF) { // 완성형 한글
-				continue;
-			}
-			if (c >= 0x1100 && c <= 0x11FF) { // 초성
-				continue;
-			}
-			if (c >= 0x3130 && c <= 0x318F) { // 호환용 한글
-				continue;
-			}
-			if (c >= 0xA960 && c <= 0xA97F) { // 확장 한글
-				continue;
-			}
-			if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c) &&
-				!".,()/-_".contains(String.valueOf(c))) {
-				return false; // 이상한 문자 발견
-			}
-		}
-		return true;
+	public List<PricePredictionUtil.PriceAnalysis> getPredictMarketItemPrices(String marketName) {
+		List<PricePredictionUtil.PriceAnalysis> analyses = getMarketItemPrices(marketName).stream()
+			.map(response -> priceAnalysisStore.get(response.getItemName(), marketName, response::getPriceDataList))
+			.toList();
+		log.info("시장 '{}' 아이템 가격 분석 조회 완료 - 아이템 수: {} (데이터 버전: {})", marketName, analyses.size(),
+			priceAnalysisStore.dataVersion());
+		return analyses;
 	}
 
 	private void validateCsvFile(MultipartFile file) {
@@ -0,0 +1,162 @@
+package khtml.backend.alzi.market;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.market.dto.response.PriceRefreshResult;
+import khtml.backend.alzi.market.ingest.PriceRefreshEngine;
+import khtml.backend.alzi.market.ingest.PriceRefreshLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 야간 가격 자동 갱신 스케줄러
+ * 매일 지정된 시각 + 랜덤 지연(jitter) 후 이번 달(월초 유예 기간에는 지난달 포함)을 증분 갱신합니다.
+ * 수집 지문 덕분에 마감된 조합은 호출하지 않고, 바뀐 행만 저장되므로 요청 경로와 DB 부하에 영향이 적습니다.
+ * 실패해서 재시도 큐에 쌓인 요청은 별도 주기로 다시 호출합니다.
+ * 다른 갱신이 실행 중이면 이번 회차는 건너뜁니다.
+ * 지연 대기와 수 시간짜리 갱신은 전용 스레드에서 실행해서, 공용 @Scheduled 스레드는 바로 돌려줍니다
+ * (CSV 진행 상황 푸시, 스냅샷 내보내기 등 다른 예약 작업이 밀리지 않도록).
+ */
+@Component
+@Slf4j
+public class PriceRefreshScheduler {
+
+	private final SeoulOpenApiService seoulOpenApiService;
+	private final PriceRefreshEngine priceRefreshEngine;
+	private final PriceRefreshLock refreshLock;
+	private final boolean enabled;
+	private final int maxJitterSeconds;
+	private final int closedMonthGraceDays;
+	private final int retryBatchSize;
+	// 예약 갱신/재시도 큐 처리 전용 스레드 (한 번에 하나씩 실행)
+	private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(
+		new CustomizableThreadFactory("price-refresh-scheduler-"));
+	// 같은 작업이 이미 대기/실행 중이면 다시 넣지 않음
+	private final AtomicBoolean nightlyPending = new AtomicBoolean();
+	private final AtomicBoolean retryPending = new AtomicBoolean();
+
+	public PriceRefreshScheduler(SeoulOpenApiService seoulOpenApiService, PriceRefreshEngine priceRefreshEngine,
+		PriceRefreshLock refreshLock,
+		@Value("${seoul-api.schedule.enabled:true}") boolean enabled,
+		@Value("${seoul-api.schedule.max-jitter-seconds:900}") int maxJitterSeconds,
+		@Value("${seoul-api.refresh.closed-month-grace-days:5}") int closedMonthGraceDays,
+		@Value("${seoul-api.retry-queue.batch-size:500}") int retryBatchSize) {
+		this.seoulOpenApiService = seoulOpenApiService;
+		this.priceRefreshEngine = priceRefreshEngine;
+		this.refreshLock = refreshLock;
+		this.enabled = enabled;
+		this.maxJitterSeconds = maxJitterSeconds;
+		this.closedMonthGraceDays = closedMonthGraceDays;
+		this.retryBatchSize = retryBatchSize;
+	}
+
+	@Scheduled(cron = "${seoul-api.schedule.cron:0 0 3 * * *}", zone = "Asia/Seoul")
+	public void refreshNightly() {
+		if (!enabled) {
+			return;
+		}
+		submit(nightlyPending, this::runNightly, "예약 가격 갱신");
+	}
+
+	private void runNightly() {
+		// 여러 작업/인스턴스가 같은 시각에 API를 두드리지 않도록 시작 시각 분산
+		long jitterSeconds = maxJitterSeconds > 0 ? ThreadLocalRandom.current().nextLong(maxJitterSeconds + 1L) : 0;
+		try {
+			TimeUnit.SECONDS.sleep(jitterSeconds);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		YearMonth thisMonth = YearMonth.now();
+		if (LocalDate.now().getDayOfMonth() <= closedMonthGraceDays + 1) {
+			// 지난달이 마감 처리될 때까지는 지난달도 갱신 (마감 후에는 지문으로 건너뜀)
+			refresh(thisMonth.minusMonths(1));
+		}
+		refresh(thisMonth);
+	}
+
+	/**
+	 * 재시도 큐 처리 - 재시도 시각이 지난 요청을 다시 호출
+	 */
+	@Scheduled(fixedDelayString = "${seoul-api.retry-queue.interval-ms:600000}",
+		initialDelayString = "${seoul-api.retry-queue.interval-ms:600000}")
+	public void retryFailedSlices() {
+		if (!enabled || refreshLock.isHeld()) {
+			return;
+		}
+		submit(retryPending, this::runRetry, "재시도 큐 처리");
+	}
+
+	private void runRetry() {
+		try {
+			PriceRefreshResult result = priceRefreshEngine.retryFailed(retryBatchSize);
+			if (result != null) {
+				log.info("재시도 큐 처리 완료 - 요청: {}, 성공: {}, 실패: {}, 저장: {}건",
+					result.getTotalRequests(), result.getSuccessCount(), result.getFailCount(),
+					result.getSavedRowCount());
+			}
+		} catch (CustomException e) {
+			log.info("재시도 큐 처리를 건너뜁니다: {}", e.getMessage());
+		} catch (Exception e) {
+			log.error("재시도 큐 처리 실패", e);
+		}
+	}
+
+	private void submit(AtomicBoolean pending, Runnable task, String name) {
+		if (!pending.compareAndSet(false, true)) {
+			log.info("{} 작업이 이미 대기/실행 중이라 이번 회차는 건너뜁니다", name);
+			return;
+		}
+		try {
+			refreshExecutor.execute(() -> {
+				try {
+					task.run();
+				} finally {
+					pending.set(false);
+				}
+			});
+		} catch (RuntimeException e) {
+			pending.set(false);
+			log.warn("{} 작업을 시작하지 못했습니다: {}", name, e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		refreshExecutor.shutdownNow();
+	}
+
+	private void refresh(YearMonth yearMonth) {
+		if (refreshLock.isHeld()) {
+			log.info("다른 가격 갱신이 실행 중이라 예약 갱신을 건너뜁니다 - 년월: {}, 실행 중: {}",
+				yearMonth, refreshLock.owner());
+			return;
+		}
+
+		try {
+			log.info("예약 가격 갱신 시작 - 년월: {}", yearMonth);
+			PriceRefreshResult result = seoulOpenApiService.updateAllItemPrices(yearMonth.toString());
+			log.info("예약 가격 갱신 완료 - 년월: {}, 요청: {}, 건너뜀: {}, 변경 없음: {}, 저장: {}건",
+				yearMonth, result.getTotalRequests(), result.getSkippedCount(), result.getUnchangedCount(),
+				result.getSavedRowCount());
+		} catch (CustomException e) {
+			log.info("예약 가격 갱신을 건너뜁니다 - 년월: {}: {}", yearMonth, e.getMessage());
+		} catch (Exception e) {
+			log.error("예약 가격 갱신 실패 - 년월: {}", yearMonth, e);
+		}
+	}
+}
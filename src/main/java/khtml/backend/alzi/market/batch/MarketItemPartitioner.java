@@ -0,0 +1,47 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 시장 x 품목 조합을 품목 기준으로 gridSize 개의 파티션으로 분할
+ * 파티션마다 담당 품목 목록과 전체 시장 목록을 ExecutionContext에 저장하므로,
+ * 재시작 시에도 처음 실행 때와 같은 조합 범위로 이어서 처리합니다.
+ */
+@RequiredArgsConstructor
+public class MarketItemPartitioner implements Partitioner {
+
+	public static final String YEAR_MONTH_KEY = "yearMonth";
+	public static final String ITEM_NAMES_KEY = "itemNames";
+	public static final String MARKET_NAMES_KEY = "marketNames";
+
+	private final String yearMonth;
+	private final List<String> itemNames;
+	private final List<String> marketNames;
+
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		int partitionCount = Math.max(1, Math.min(gridSize, itemNames.size()));
+		int perPartition = (itemNames.size() + partitionCount - 1) / partitionCount;
+
+		Map<String, ExecutionContext> partitions = new HashMap<>();
+		for (int i = 0; i < partitionCount; i++) {
+			int from = Math.min(i * perPartition, itemNames.size());
+			int to = Math.min(from + perPartition, itemNames.size());
+
+			ExecutionContext context = new ExecutionContext();
+			context.putString(YEAR_MONTH_KEY, yearMonth);
+			context.put(ITEM_NAMES_KEY, new ArrayList<>(itemNames.subList(from, to)));
+			context.put(MARKET_NAMES_KEY, new ArrayList<>(marketNames));
+			partitions.put("partition" + i, context);
+		}
+		return partitions;
+	}
+}
@@ -0,0 +1,144 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.List;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import khtml.backend.alzi.market.ingest.ItemPriceBulkWriter;
+import khtml.backend.alzi.market.ingest.PriceInfoWriter;
+import khtml.backend.alzi.market.ingest.PriceRefreshLock;
+import khtml.backend.alzi.market.ingest.PriceSliceRetryQueue;
+import khtml.backend.alzi.market.ingest.PriceSliceTracker;
+import khtml.backend.alzi.market.ingest.ResilientSeoulApiClient;
+import khtml.backend.alzi.priceData.PriceDataRepository;
+import khtml.backend.alzi.shopping.Item;
+import khtml.backend.alzi.shopping.ItemRepository;
+
+/**
+ * 서울 API 가격 갱신 배치 작업 구성
+ * priceRefreshJob
+ *  └ priceRefreshManagerStep : 시장 x 품목 조합을 품목 기준으로 파티션 분할, 파티션별 스레드에서 실행
+ *     └ priceRefreshWorkerStep : reader(조합) -> processor(API 호출, ItemPrice 행 변환) -> writer(청크 upsert)
+ * 청크마다 reader 위치가 커밋되므로, 중간에 JVM이 내려가도 재시작 시 마지막 체크포인트부터 이어서 처리합니다.
+ */
+@Configuration
+public class PriceRefreshJobConfig {
+
+	public static final String JOB_NAME = "priceRefreshJob";
+	public static final String YEAR_MONTH_PARAM = "yearMonth";
+	public static final String RUN_DATE_PARAM = "runDate";
+
+	@Value("${seoul-api.batch.grid-size:4}")
+	private int gridSize;
+
+	@Value("${seoul-api.batch.chunk-size:20}")
+	private int chunkSize;
+
+	/**
+	 * 배치 실행 중 다른 갱신이 끼어들지 않도록 잡는 잠금의 소유자 이름
+	 */
+	public static String lockOwner(JobParameters parameters) {
+		return "batch:" + parameters.getString(YEAR_MONTH_PARAM);
+	}
+
+	@Bean
+	public Job priceRefreshJob(JobRepository jobRepository, Step priceRefreshManagerStep,
+		PriceRefreshLock refreshLock) {
+		return new JobBuilder(JOB_NAME, jobRepository)
+			.start(priceRefreshManagerStep)
+			.listener(new JobExecutionListener() {
+				@Override
+				public void afterJob(JobExecution jobExecution) {
+					// 실행기(PriceRefreshJobRunner)에서 잡은 잠금 해제
+					refreshLock.release(lockOwner(jobExecution.getJobParameters()));
+				}
+			})
+			.build();
+	}
+
+	@Bean
+	public Step priceRefreshManagerStep(JobRepository jobRepository, Step priceRefreshWorkerStep,
+		MarketItemPartitioner marketItemPartitioner) {
+		SimpleAsyncTaskExecutor partitionExecutor = new SimpleAsyncTaskExecutor("price-refresh-partition-");
+		partitionExecutor.setConcurrencyLimit(gridSize);
+
+		return new StepBuilder("priceRefreshManagerStep", jobRepository)
+			.partitioner("priceRefreshWorkerStep", marketItemPartitioner)
+			.step(priceRefreshWorkerStep)
+			.gridSize(gridSize)
+			.taskExecutor(partitionExecutor)
+			.build();
+	}
+
+	@Bean
+	public Step priceRefreshWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+		PriceSliceReader priceSliceReader, PriceSliceProcessor priceSliceProcessor,
+		PriceSliceWriter priceSliceWriter) {
+		return new StepBuilder("priceRefreshWorkerStep", jobRepository)
+			.<PriceSlice, SlicePrices>chunk(chunkSize, transactionManager)
+			.reader(priceSliceReader)
+			.processor(priceSliceProcessor)
+			.writer(priceSliceWriter)
+			.build();
+	}
+
+	/**
+	 * 파티션 분할기 - 처음 실행할 때만 호출되며, 재시작 시에는 저장된 파티션 정보를 그대로 사용
+	 */
+	@Bean
+	@JobScope
+	public MarketItemPartitioner marketItemPartitioner(@Value("#{jobParameters['yearMonth']}") String yearMonth,
+		ItemRepository itemRepository, PriceDataRepository priceDataRepository) {
+		List<String> itemNames = itemRepository.findAll().stream()
+			.map(Item::getName)
+			.toList();
+		List<String> marketNames = priceDataRepository.findDistinctMarketNames();
+		return new MarketItemPartitioner(yearMonth, itemNames, marketNames);
+	}
+
+	@Bean
+	@StepScope
+	public PriceSliceReader priceSliceReader(
+		@Value("#{stepExecutionContext['yearMonth']}") String yearMonth,
+		@Value("#{stepExecutionContext['itemNames']}") List<String> itemNames,
+		@Value("#{stepExecutionContext['marketNames']}") List<String> marketNames) {
+		return new PriceSliceReader(yearMonth, itemNames, marketNames);
+	}
+
+	@Bean
+	@StepScope
+	public PriceRefreshStepContext priceRefreshStepContext(
+		@Value("#{stepExecutionContext['yearMonth']}") String yearMonth,
+		PriceInfoWriter priceInfoWriter, PriceSliceTracker sliceTracker) {
+		return new PriceRefreshStepContext(priceInfoWriter.openResolver(), sliceTracker.open(yearMonth));
+	}
+
+	@Bean
+	@StepScope
+	public PriceSliceProcessor priceSliceProcessor(ResilientSeoulApiClient seoulApiClient,
+		PriceSliceRetryQueue retryQueue, PriceInfoWriter priceInfoWriter,
+		PriceRefreshStepContext priceRefreshStepContext) {
+		return new PriceSliceProcessor(seoulApiClient, retryQueue, priceInfoWriter, priceRefreshStepContext);
+	}
+
+	@Bean
+	@StepScope
+	public PriceSliceWriter priceSliceWriter(ItemPriceBulkWriter itemPriceBulkWriter,
+		PriceSliceTracker sliceTracker, PriceRefreshStepContext priceRefreshStepContext) {
+		return new PriceSliceWriter(itemPriceBulkWriter, sliceTracker, priceRefreshStepContext);
+	}
+}
@@ -0,0 +1,129 @@
+package khtml.backend.alzi.market.batch;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.exception.ErrorCode;
+import khtml.backend.alzi.market.ingest.PriceRefreshLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 가격 갱신 배치 실행기
+ * - 년월 + 실행일을 식별 파라미터로 비동기 실행 (같은 날 같은 년월은 같은 JobInstance -> 재실행 시 이어서 처리)
+ * - 실행 전에 PriceRefreshLock을 잡고, 작업이 끝나면 job listener에서 해제
+ * - seoul-api.batch.resume-on-startup을 켜면 애플리케이션 시작 시, 이전 프로세스가 종료되면서 STARTED로 남은 실행을
+ *   FAILED로 정리하고 재시작 (같은 DB를 쓰는 다른 인스턴스가 실행 중인 작업도 중단된 것으로 간주하므로
+ *   단일 인스턴스 배포에서만 켜야 합니다. 기본은 꺼져 있고 STARTED로 남은 실행을 경고로만 남깁니다)
+ */
+@Component
+@Slf4j
+public class PriceRefreshJobRunner implements ApplicationRunner {
+
+	private final Job priceRefreshJob;
+	private final JobRepository jobRepository;
+	private final JobExplorer jobExplorer;
+	private final PriceRefreshLock refreshLock;
+	private final TaskExecutorJobLauncher jobLauncher;
+	private final boolean resumeOnStartup;
+
+	public PriceRefreshJobRunner(Job priceRefreshJob, JobRepository jobRepository, JobExplorer jobExplorer,
+		PriceRefreshLock refreshLock, @Value("${seoul-api.batch.resume-on-startup:false}") boolean resumeOnStartup) throws Exception {
+		this.priceRefreshJob = priceRefreshJob;
+		this.jobRepository = jobRepository;
+		this.jobExplorer = jobExplorer;
+		this.refreshLock = refreshLock;
+		this.resumeOnStartup = resumeOnStartup;
+
+		// 요청 스레드를 막지 않도록 별도 스레드에서 실행
+		this.jobLauncher = new TaskExecutorJobLauncher();
+		this.jobLauncher.setJobRepository(jobRepository);
+		this.jobLauncher.setTaskExecutor(new SimpleAsyncTaskExecutor("price-refresh-job-"));
+		this.jobLauncher.afterPropertiesSet();
+	}
+
+	/**
+	 * 년월 가격 갱신 배치 시작 (같은 날 중단된 실행이 있으면 이어서 처리)
+	 * @return 배치 실행 ID
+	 */
+	public Long start(String yearMonth) {
+		JobParameters parameters = new JobParametersBuilder()
+			.addString(PriceRefreshJobConfig.YEAR_MONTH_PARAM, yearMonth)
+			.addString(PriceRefreshJobConfig.RUN_DATE_PARAM, LocalDate.now().toString())
+			.toJobParameters();
+		return launch(parameters);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		Set<JobExecution> orphaned = jobExplorer.findRunningJobExecutions(PriceRefreshJobConfig.JOB_NAME);
+		if (!resumeOnStartup) {
+			for (JobExecution execution : orphaned) {
+				log.warn("STARTED 상태로 남은 가격 갱신 배치 - 실행 ID: {}, 파라미터: {} (다른 인스턴스에서 실행 중이 아니면"
+					+ " seoul-api.batch.resume-on-startup=true로 재시작)", execution.getId(), execution.getJobParameters());
+			}
+			return;
+		}
+
+		for (JobExecution execution : orphaned) {
+			log.info("중단된 가격 갱신 배치 재시작 - 실행 ID: {}, 파라미터: {}",
+				execution.getId(), execution.getJobParameters());
+			try {
+				markFailed(execution);
+				launch(execution.getJobParameters());
+			} catch (Exception e) {
+				log.error("가격 갱신 배치 재시작 실패 - 실행 ID: {}", execution.getId(), e);
+			}
+		}
+	}
+
+	private Long launch(JobParameters parameters) {
+		String owner = PriceRefreshJobConfig.lockOwner(parameters);
+		refreshLock.acquire(owner);
+		try {
+			JobExecution execution = jobLauncher.run(priceRefreshJob, parameters);
+			log.info("가격 갱신 배치 시작 - 실행 ID: {}, 파라미터: {}", execution.getId(), parameters);
+			return execution.getId();
+		} catch (Exception e) {
+			refreshLock.release(owner);
+			log.error("가격 갱신 배치 시작 실패 - 파라미터: {}", parameters, e);
+			throw new CustomException(ErrorCode.INTERNAL_SERVER_ERROR, "가격 갱신 배치를 시작할 수 없습니다: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * 이전 프로세스에서 STARTED 상태로 남은 실행을 FAILED로 정리 (재시작 가능 상태로 변경)
+	 */
+	private void markFailed(JobExecution execution) {
+		LocalDateTime now = LocalDateTime.now();
+		for (StepExecution stepExecution : execution.getStepExecutions()) {
+			if (stepExecution.getStatus().isRunning()) {
+				stepExecution.setStatus(BatchStatus.FAILED);
+				stepExecution.setExitStatus(ExitStatus.FAILED);
+				stepExecution.setEndTime(now);
+				jobRepository.update(stepExecution);
+			}
+		}
+		execution.setStatus(BatchStatus.FAILED);
+		execution.setExitStatus(ExitStatus.FAILED);
+		execution.setEndTime(now);
+		jobRepository.update(execution);
+	}
+}
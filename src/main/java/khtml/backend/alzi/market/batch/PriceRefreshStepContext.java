@@ -0,0 +1,22 @@
+package khtml.backend.alzi.market.batch;
+
+import khtml.backend.alzi.market.ingest.MarketItemResolver;
+import khtml.backend.alzi.market.ingest.PriceSliceTracker;
+import lombok.Getter;
+
+/**
+ * 파티션(worker step) 1개 동안 processor와 writer가 공유하는 상태
+ * - 시장/품목 식별 맵
+ * - 대상 년월의 수집 지문
+ */
+@Getter
+public class PriceRefreshStepContext {
+
+	private final MarketItemResolver resolver;
+	private final PriceSliceTracker.MonthFingerprints fingerprints;
+
+	public PriceRefreshStepContext(MarketItemResolver resolver, PriceSliceTracker.MonthFingerprints fingerprints) {
+		this.resolver = resolver;
+		this.fingerprints = fingerprints;
+	}
+}
@@ -0,0 +1,7 @@
+package khtml.backend.alzi.market.batch;
+
+/**
+ * 가격 갱신 배치의 읽기 단위 (시장 x 품목 x 년월 조합 1건 = 서울 API 1회 호출)
+ */
+public record PriceSlice(String marketName, String itemName, String yearMonth) {
+}
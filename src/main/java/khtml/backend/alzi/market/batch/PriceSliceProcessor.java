@@ -0,0 +1,67 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.List;
+
+import org.springframework.batch.item.ItemProcessor;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import khtml.backend.alzi.market.ingest.ItemPriceBulkWriter;
+import khtml.backend.alzi.market.ingest.PriceInfoWriter;
+import khtml.backend.alzi.market.ingest.PriceSliceRetryQueue;
+import khtml.backend.alzi.market.ingest.PriceSliceTracker;
+import khtml.backend.alzi.market.ingest.ResilientSeoulApiClient;
+import khtml.backend.alzi.market.ingest.SeoulApiClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 조합 1건에 대해 서울 API를 호출하고 응답을 ItemPrice upsert 행으로 변환하는 processor
+ * - 마감 이후 이미 수집한 조합은 호출하지 않음 (null 반환 -> filter)
+ * - 재시도 후에도 실패한 조합은 재시도 큐에 적재하고 건너뜀 (작업 전체를 실패시키지 않음)
+ * - 오류 응답은 지문 없이 건너뜀 (다음 실행 때 다시 호출)
+ * - 응답 내용이 이전과 같으면 행 없이 지문만 넘김
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class PriceSliceProcessor implements ItemProcessor<PriceSlice, SlicePrices> {
+
+	private final ResilientSeoulApiClient seoulApiClient;
+	private final PriceSliceRetryQueue retryQueue;
+	private final PriceInfoWriter priceInfoWriter;
+	private final PriceRefreshStepContext stepContext;
+
+	@Override
+	public SlicePrices process(PriceSlice slice) throws Exception {
+		PriceSliceTracker.MonthFingerprints fingerprints = stepContext.getFingerprints();
+		if (fingerprints.isSettled(slice.marketName(), slice.itemName())) {
+			return null;
+		}
+
+		SeoulApiResponse header;
+		try {
+			header = seoulApiClient.fetch(slice.marketName(), slice.itemName(), slice.yearMonth(), 1, 100);
+		} catch (InterruptedException e) {
+			throw e;
+		} catch (Exception e) {
+			log.warn("가격 정보 조회 실패 - 재시도 큐에 적재: {}: {}", slice, e.getMessage());
+			retryQueue.enqueue(null, slice.marketName(), slice.itemName(), slice.yearMonth(), 1, 100,
+				e.getClass().getSimpleName() + ": " + e.getMessage());
+			return null;
+		}
+		List<SeoulApiResponse.PriceInfo> priceInfos = header.getPriceInfos();
+		if (!SeoulApiClient.isDefinitive(header)) {
+			log.warn("가격 정보 조회 실패 - {}: {}", slice,
+				header != null && header.getResult() != null ? header.getResult().getMessage() : "응답 없음");
+			return null;
+		}
+
+		PriceSliceTracker.SliceDigest digest = new PriceSliceTracker.SliceDigest(slice.marketName(),
+			slice.itemName(), PriceSliceTracker.hash(priceInfos), priceInfos.size());
+		if (fingerprints.isUnchanged(digest) || priceInfos.isEmpty()) {
+			return new SlicePrices(digest, List.of());
+		}
+
+		List<ItemPriceBulkWriter.ItemPriceRow> rows = priceInfoWriter.toRows(priceInfos, stepContext.getResolver());
+		return new SlicePrices(digest, rows);
+	}
+}
@@ -0,0 +1,47 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.List;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+
+/**
+ * 파티션에 배정된 품목 x 시장 조합을 순서대로 읽는 reader
+ * 현재 위치를 청크 커밋마다 ExecutionContext에 저장해서, 재시작 시 마지막 체크포인트부터 이어서 읽습니다.
+ */
+public class PriceSliceReader implements ItemStreamReader<PriceSlice> {
+
+	private static final String POSITION_KEY = "priceSliceReader.position";
+
+	private final String yearMonth;
+	private final List<String> itemNames;
+	private final List<String> marketNames;
+	private int position;
+
+	public PriceSliceReader(String yearMonth, List<String> itemNames, List<String> marketNames) {
+		this.yearMonth = yearMonth;
+		this.itemNames = itemNames;
+		this.marketNames = marketNames;
+	}
+
+	@Override
+	public void open(ExecutionContext executionContext) {
+		position = executionContext.getInt(POSITION_KEY, 0);
+	}
+
+	@Override
+	public void update(ExecutionContext executionContext) {
+		executionContext.putInt(POSITION_KEY, position);
+	}
+
+	@Override
+	public PriceSlice read() {
+		if (marketNames.isEmpty() || position >= itemNames.size() * marketNames.size()) {
+			return null;
+		}
+		String itemName = itemNames.get(position / marketNames.size());
+		String marketName = marketNames.get(position % marketNames.size());
+		position++;
+		return new PriceSlice(marketName, itemName, yearMonth);
+	}
+}
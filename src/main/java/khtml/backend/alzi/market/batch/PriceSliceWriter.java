@@ -0,0 +1,36 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import khtml.backend.alzi.market.ingest.ItemPriceBulkWriter;
+import khtml.backend.alzi.market.ingest.PriceSliceTracker;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 청크 단위 writer - 청크에 포함된 ItemPrice 행을 한 번에 upsert하고 수집 지문을 기록
+ * 청크 트랜잭션 안에서 실행되므로 가격 행, 지문, reader 체크포인트가 함께 커밋됩니다.
+ */
+@RequiredArgsConstructor
+public class PriceSliceWriter implements ItemWriter<SlicePrices> {
+
+	private final ItemPriceBulkWriter itemPriceBulkWriter;
+	private final PriceSliceTracker sliceTracker;
+	private final PriceRefreshStepContext stepContext;
+
+	@Override
+	public void write(Chunk<? extends SlicePrices> chunk) {
+		List<ItemPriceBulkWriter.ItemPriceRow> rows = new ArrayList<>();
+		List<PriceSliceTracker.SliceDigest> digests = new ArrayList<>(chunk.size());
+		for (SlicePrices slicePrices : chunk) {
+			rows.addAll(slicePrices.rows());
+			digests.add(slicePrices.digest());
+		}
+
+		itemPriceBulkWriter.upsert(rows);
+		sliceTracker.record(stepContext.getFingerprints(), digests);
+	}
+}
@@ -0,0 +1,13 @@
+package khtml.backend.alzi.market.batch;
+
+import java.util.List;
+
+import khtml.backend.alzi.market.ingest.ItemPriceBulkWriter;
+import khtml.backend.alzi.market.ingest.PriceSliceTracker;
+
+/**
+ * 가격 갱신 배치의 처리 결과 - 저장할 ItemPrice 행과 기록할 수집 지문
+ * 응답 내용이 이전과 같으면 rows는 비어 있고 지문(수집 시각)만 갱신합니다.
+ */
+public record SlicePrices(PriceSliceTracker.SliceDigest digest, List<ItemPriceBulkWriter.ItemPriceRow> rows) {
+}
@@ -0,0 +1,43 @@
+package khtml.backend.alzi.market.dto;
+
+import java.time.LocalDate;
+
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.exception.ErrorCode;
+
+/**
+ * 시장별 아이템 가격 조회 조건
+ * @param cursor 이전 페이지의 마지막 품목명 (이 이름 다음부터 조회, 없으면 처음부터)
+ * @param size 한 번에 조회할 품목 수 (없으면 전체)
+ * @param since 이 날짜 이후의 이력만 조회 (없으면 전체 이력)
+ * @param compact true면 품목별로 출처(PriceData/ItemPrice)마다 최신 가격 1건만 조회
+ */
+public record MarketItemPriceQuery(String cursor, Integer size, LocalDate since, boolean compact) {
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * 요청 파라미터로 조회 조건 생성 (months가 있으면 since 대신 이번 달 포함 최근 months개월)
+     */
+    public static MarketItemPriceQuery of(String cursor, Integer size, LocalDate since, Integer months,
+                                          Boolean compact) {
+        if (size != null && (size < 1 || size > MAX_SIZE)) {
+            throw new CustomException(ErrorCode.INVALID_INPUT,
+                "size는 1 이상 " + MAX_SIZE + " 이하여야 합니다.");
+        }
+        if (months != null) {
+            if (months < 1) {
+                throw new CustomException(ErrorCode.INVALID_INPUT, "months는 1 이상이어야 합니다.");
+            }
+            since = LocalDate.now().withDayOfMonth(1).minusMonths(months - 1L);
+        }
+        String normalizedCursor = cursor == null || cursor.isBlank() ? null : cursor;
+        return new MarketItemPriceQuery(normalizedCursor, size, since, Boolean.TRUE.equals(compact));
+    }
+
+    /**
+     * 아무 조건도 없는 전체 조회 여부 (시장별 캐시 사용)
+     */
+    public boolean isUnbounded() {
+        return cursor == null && size == null && since == null && !compact;
+    }
+}
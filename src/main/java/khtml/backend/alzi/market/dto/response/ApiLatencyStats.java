@@ -0,0 +1,16 @@
+package khtml.backend.alzi.market.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ApiLatencyStats {
+    private long requestCount;    // 전체 요청 수
+    private long errorCount;      // 실패 요청 수 (연결 오류 + 비정상 HTTP 상태)
+    private double avgMillis;     // 평균 응답 시간 (ms)
+    private long maxMillis;       // 최대 응답 시간 (ms)
+    private long p50Millis;       // 중앙값 (구간 상한 기준 근사치, ms)
+    private long p95Millis;       // 95 백분위 (구간 상한 기준 근사치, ms)
+    private long p99Millis;       // 99 백분위 (구간 상한 기준 근사치, ms)
+}
@@ -0,0 +1,17 @@
+package khtml.backend.alzi.market.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 품목명 순 커서 페이지
+ * nextCursor는 다음 페이지 요청의 cursor 값 (마지막 페이지면 null)
+ */
+@Data
+@AllArgsConstructor(staticName = "of")
+public class MarketItemPricePage<T> {
+    private List<T> items;
+    private String nextCursor;
+}
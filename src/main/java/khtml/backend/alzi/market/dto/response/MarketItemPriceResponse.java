@@ -29,6 +29,7 @@ public class MarketItemPriceResponse {
         private String itemName;
         private String marketName;
         private String price;
+        private Integer priceWon; // 원 단위 숫자 가격 (있으면 문자열 파싱 없이 사용)
         private String unit;
         private String grade;
         private LocalDate date;
@@ -36,6 +37,9 @@ public class MarketItemPriceResponse {
         
         // String price를 BigDecimal로 변환하는 유틸리티 메소드
         public BigDecimal getPriceAsBigDecimal() {
+            if (priceWon != null) {
+                return BigDecimal.valueOf(priceWon);
+            }
             if (price == null || price.trim().isEmpty()) {
                 return BigDecimal.ZERO;
             }
@@ -51,6 +55,7 @@ public class MarketItemPriceResponse {
                     .itemName(priceData.getItemName())
                     .marketName(priceData.getMarketName())
                     .price(priceData.getPrice())
+                    .priceWon(priceData.getPriceWon())
                     .unit(priceData.getActualSalesSpecifications()) // unit 대신 actualSalesSpecifications 사용
                     .grade(priceData.getNote()) // grade 대신 note 사용
                     .date(priceData.getDate())
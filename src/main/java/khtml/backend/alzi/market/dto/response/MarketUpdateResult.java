@@ -12,6 +12,9 @@ public class MarketUpdateResult {
     private int totalCount;       // 총 처리된 행 수
     private int successCount;     // 성공한 행 수
     private int failCount;        // 실패한 행 수
+    private Integer insertedCount;  // 새로 추가된 행 수 (변경 감지 가져오기만)
+    private Integer updatedCount;   // 내용이 바뀌어 갱신된 행 수 (변경 감지 가져오기만)
+    private Integer unchangedCount; // 기존과 같아서 쓰지 않은 행 수 (변경 감지 가져오기만)
     private LocalDateTime processedAt; // 처리 시간
     private List<String> errorMessages; // 오류 메시지 목록
     
@@ -24,4 +27,18 @@ public class MarketUpdateResult {
             .errorMessages(errorMessages)
             .build();
     }
+
+    public static MarketUpdateResult of(int totalCount, int failCount, int insertedCount, int updatedCount,
+                                        int unchangedCount, List<String> errorMessages) {
+        return MarketUpdateResult.builder()
+            .totalCount(totalCount)
+            .successCount(insertedCount + updatedCount + unchangedCount)
+            .failCount(failCount)
+            .insertedCount(insertedCount)
+            .updatedCount(updatedCount)
+            .unchangedCount(unchangedCount)
+            .processedAt(LocalDateTime.now())
+            .errorMessages(errorMessages)
+            .build();
+    }
 }
@@ -0,0 +1,34 @@
+package khtml.backend.alzi.market.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PriceRefreshResult {
+    private int totalRequests;    // 총 API 요청 수 (아이템 x 시장)
+    private int successCount;     // 성공한 요청 수
+    private int failCount;        // 실패한 요청 수
+    private int skippedCount;     // 마감된 달이라 호출하지 않은 수집 단위 수
+    private int unchangedCount;   // 응답 내용이 이전과 같아 저장하지 않은 요청 수
+    private int savedRowCount;    // 저장된 가격 정보 수
+    private long elapsedMillis;   // 전체 소요 시간 (ms)
+    private LocalDateTime processedAt; // 처리 시간
+
+    public static PriceRefreshResult of(int totalRequests, int successCount, int failCount,
+                                        int skippedCount, int unchangedCount,
+                                        int savedRowCount, long elapsedMillis) {
+        return PriceRefreshResult.builder()
+            .totalRequests(totalRequests)
+            .successCount(successCount)
+            .failCount(failCount)
+            .skippedCount(skippedCount)
+            .unchangedCount(unchangedCount)
+            .savedRowCount(savedRowCount)
+            .elapsedMillis(elapsedMillis)
+            .processedAt(LocalDateTime.now())
+            .build();
+    }
+}
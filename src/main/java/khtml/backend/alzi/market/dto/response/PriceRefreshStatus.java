@@ -0,0 +1,26 @@
+package khtml.backend.alzi.market.dto.response;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PriceRefreshStatus {
+    private boolean running;          // 갱신 실행 중 여부
+    private String owner;             // 실행 중인 갱신 (예: "engine:2025-08", "batch:2025-08")
+    private String yearMonth;         // 갱신 대상 년월
+    private LocalDateTime startedAt;  // 시작 시간
+    private int totalRequests;        // 전체 API 요청 수
+    private int dispatchedCount;      // 호출을 시작한 요청 수
+    private int completedCount;       // 완료된 요청 수 (성공 + 실패)
+    private int queuedCount;          // 아직 호출하지 않은 요청 수
+    private int writeQueueDepth;      // 저장 대기 중인 청크 수
+    private boolean backpressured;    // 저장 큐 포화로 호출을 멈춘 상태인지
+    private Long etaSeconds;          // 예상 남은 시간 (초, 계산 불가 시 null)
+    private PriceRefreshResult lastResult; // 마지막 갱신 결과
+    private String circuitState;      // 서울 API 서킷 브레이커 상태 (CLOSED, OPEN, HALF_OPEN)
+    private long retryQueueSize;      // 재시도 대기 중인 실패 요청 수
+    private ApiLatencyStats apiLatency;    // 서울 API 응답 시간 통계 (애플리케이션 시작 이후 누적)
+}
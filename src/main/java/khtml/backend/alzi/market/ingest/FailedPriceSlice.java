@@ -0,0 +1,80 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 재시도 후에도 실패한 서울 API 호출 단위 (재시도 큐)
+ * 주기적으로 nextRetryAt이 지난 항목을 다시 호출하고, 성공하면 삭제합니다.
+ */
+@Entity
+@Table(name = "failed_price_slice", indexes = {
+	@Index(name = "idx_failed_price_slice_next_retry", columnList = "exhausted, next_retry_at")
+})
+@NoArgsConstructor
+@Data
+public class FailedPriceSlice {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "market_name", nullable = false)
+	private String marketName;
+
+	@Column(name = "item_name", nullable = false)
+	private String itemName;
+
+	@Column(name = "survey_month", nullable = false, length = 7)
+	private String yearMonth; // 조사년월 (예: 2025-08)
+
+	@Column(name = "start_idx")
+	private int startIdx;
+
+	@Column(name = "end_idx")
+	private int endIdx;
+
+	private int attempts; // 재시도 큐에서 실패한 횟수
+
+	@Column(name = "last_error", length = 500)
+	private String lastError;
+
+	@Column(name = "next_retry_at")
+	private LocalDateTime nextRetryAt;
+
+	private boolean exhausted; // 최대 재시도 횟수 초과 (자동 재시도 중단)
+
+	@Column(name = "created_at")
+	private LocalDateTime createdAt;
+
+	@Column(name = "updated_at")
+	private LocalDateTime updatedAt;
+
+	@Builder
+	public FailedPriceSlice(String marketName, String itemName, String yearMonth, int startIdx, int endIdx) {
+		this.marketName = marketName;
+		this.itemName = itemName;
+		this.yearMonth = yearMonth;
+		this.startIdx = startIdx;
+		this.endIdx = endIdx;
+		this.createdAt = LocalDateTime.now();
+		this.updatedAt = this.createdAt;
+	}
+
+	public void recordFailure(String error, LocalDateTime nextRetryAt, boolean exhausted) {
+		this.attempts++;
+		this.lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+		this.nextRetryAt = nextRetryAt;
+		this.exhausted = exhausted;
+		this.updatedAt = LocalDateTime.now();
+	}
+}
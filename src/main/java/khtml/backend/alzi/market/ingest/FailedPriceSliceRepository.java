@@ -0,0 +1,23 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface FailedPriceSliceRepository extends JpaRepository<FailedPriceSlice, Long> {
+
+	// 같은 호출 단위의 기존 항목 조회 (중복 적재 방지)
+	Optional<FailedPriceSlice> findByMarketNameAndItemNameAndYearMonthAndStartIdx(String marketName,
+		String itemName, String yearMonth, int startIdx);
+
+	// 재시도 시각이 지난 항목 조회 (오래된 순)
+	@Query("SELECT f FROM FailedPriceSlice f WHERE f.exhausted = false AND f.nextRetryAt <= :now ORDER BY f.nextRetryAt ASC")
+	List<FailedPriceSlice> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+	long countByExhaustedFalse();
+}
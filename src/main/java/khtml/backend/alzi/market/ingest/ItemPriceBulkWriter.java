@@ -0,0 +1,206 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.MarketItemPriceCache;
+import khtml.backend.alzi.utils.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ItemPrice 대량 upsert writer
+ * ItemPrice는 IDENTITY 키라 Hibernate 배치 insert가 불가능하므로,
+ * (item_id, market_code, survey_date) 유니크 키 기준 다중 행 네이티브 upsert로 한 번에 씁니다.
+ * 이미 같은 가격/단위/추가정보로 저장된 행은 건너뛰어서, 실제로 바뀐 행만 item_price에 씁니다.
+ * 행을 쓴 시장은 시장별 아이템 가격 캐시에서 무효화합니다.
+ * 호출하는 쪽의 트랜잭션에 참여합니다.
+ */
+@Component
+@Slf4j
+public class ItemPriceBulkWriter {
+
+	private static final String COLUMNS =
+		"item_id, market_code, price, price_unit, survey_date, additional_info, created_at, updated_at";
+	private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?)";
+	// H2 MERGE ... USING (VALUES ...)는 파라미터 타입을 추론하지 못하므로 컬럼 타입으로 변환
+	private static final String H2_ROW_PLACEHOLDER = "(CAST(? AS BIGINT), CAST(? AS VARCHAR), CAST(? AS NUMERIC(10, 2)),"
+		+ " CAST(? AS VARCHAR), CAST(? AS DATE), CAST(? AS VARCHAR), CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP))";
+	private static final int PARAMS_PER_ROW = 8;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final MarketItemPriceCache marketItemPriceCache;
+	private final int batchSize;
+	private final SqlDialect dialect;
+
+	public ItemPriceBulkWriter(JdbcTemplate jdbcTemplate, MarketItemPriceCache marketItemPriceCache,
+		SqlDialect dialect, @Value("${seoul-api.refresh.upsert-batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.marketItemPriceCache = marketItemPriceCache;
+		this.dialect = dialect;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 가격 행 일괄 upsert (기존 값과 같은 행 제외)
+	 * @return upsert된 행 수 (같은 키가 중복되면 마지막 값만 반영)
+	 */
+	public int upsert(Collection<ItemPriceRow> rows) {
+		if (rows.isEmpty()) {
+			return 0;
+		}
+
+		// 같은 배치 안의 중복 키 제거 (마지막 값 우선)
+		Map<String, ItemPriceRow> uniqueRows = new LinkedHashMap<>();
+		for (ItemPriceRow row : rows) {
+			uniqueRows.put(row.key(), row);
+		}
+
+		List<ItemPriceRow> batch = new ArrayList<>(batchSize);
+		int written = 0;
+		for (ItemPriceRow row : uniqueRows.values()) {
+			batch.add(row);
+			if (batch.size() == batchSize) {
+				written += executeBatch(batch);
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			written += executeBatch(batch);
+		}
+		return written;
+	}
+
+	private int executeBatch(List<ItemPriceRow> rows) {
+		List<ItemPriceRow> batch = filterChanged(rows);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+		Object[] params = new Object[batch.size() * PARAMS_PER_ROW];
+		int i = 0;
+		for (ItemPriceRow row : batch) {
+			params[i++] = row.itemId();
+			params[i++] = row.marketCode();
+			params[i++] = row.price();
+			params[i++] = row.priceUnit();
+			params[i++] = Date.valueOf(row.surveyDate());
+			params[i++] = row.additionalInfo();
+			params[i++] = now;
+			params[i++] = now;
+		}
+		jdbcTemplate.update(buildSql(batch.size()), params);
+		marketItemPriceCache.invalidateMarketCodes(
+			batch.stream().map(ItemPriceRow::marketCode).collect(Collectors.toSet()));
+		log.debug("ItemPrice {}건 upsert (변경 없음 {}건 제외)", batch.size(), rows.size() - batch.size());
+		return batch.size();
+	}
+
+	/**
+	 * 같은 키로 이미 저장된 값과 비교해서 바뀐 행만 반환
+	 * 배치에 포함된 시장/품목/날짜 범위로 한 번에 조회합니다.
+	 */
+	private List<ItemPriceRow> filterChanged(List<ItemPriceRow> rows) {
+		Set<Long> itemIds = new LinkedHashSet<>();
+		Set<String> marketCodes = new LinkedHashSet<>();
+		LocalDate minDate = null;
+		LocalDate maxDate = null;
+		for (ItemPriceRow row : rows) {
+			itemIds.add(row.itemId());
+			marketCodes.add(row.marketCode());
+			minDate = minDate == null || row.surveyDate().isBefore(minDate) ? row.surveyDate() : minDate;
+			maxDate = maxDate == null || row.surveyDate().isAfter(maxDate) ? row.surveyDate() : maxDate;
+		}
+
+		String sql = "SELECT item_id, market_code, price, price_unit, survey_date, additional_info FROM item_price"
+			+ " WHERE survey_date BETWEEN ? AND ?"
+			+ " AND item_id IN (" + placeholders(itemIds.size()) + ")"
+			+ " AND market_code IN (" + placeholders(marketCodes.size()) + ")";
+		List<Object> params = new ArrayList<>(2 + itemIds.size() + marketCodes.size());
+		params.add(Date.valueOf(minDate));
+		params.add(Date.valueOf(maxDate));
+		params.addAll(itemIds);
+		params.addAll(marketCodes);
+
+		Map<String, ItemPriceRow> existing = new HashMap<>();
+		jdbcTemplate.query(sql, rs -> {
+			ItemPriceRow row = new ItemPriceRow(rs.getLong("item_id"), rs.getString("market_code"),
+				rs.getBigDecimal("price"), rs.getString("price_unit"), rs.getDate("survey_date").toLocalDate(),
+				rs.getString("additional_info"));
+			existing.put(row.key(), row);
+		}, params.toArray());
+
+		List<ItemPriceRow> changed = new ArrayList<>(rows.size());
+		for (ItemPriceRow row : rows) {
+			if (!row.sameValueAs(existing.get(row.key()))) {
+				changed.add(row);
+			}
+		}
+		return changed;
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+
+	// 이미 있는 행은 가격/단위/추가정보/updated_at만 바꾸고 created_at은 처음 값을 유지
+	private String buildSql(int rowCount) {
+		String placeholder = dialect == SqlDialect.H2 ? H2_ROW_PLACEHOLDER : ROW_PLACEHOLDER;
+		StringBuilder values = new StringBuilder(rowCount * (placeholder.length() + 2));
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) {
+				values.append(", ");
+			}
+			values.append(placeholder);
+		}
+
+		if (dialect == SqlDialect.H2) {
+			// H2 호환 경로 (로컬 테스트용, MERGE ... KEY는 모든 컬럼을 덮어써서 created_at까지 바뀜)
+			return "MERGE INTO item_price t USING (VALUES " + values + ") AS s (" + COLUMNS + ")"
+				+ " ON t.item_id = s.item_id AND t.market_code = s.market_code AND t.survey_date = s.survey_date"
+				+ " WHEN MATCHED THEN UPDATE SET price = s.price, price_unit = s.price_unit,"
+				+ " additional_info = s.additional_info, updated_at = s.updated_at"
+				+ " WHEN NOT MATCHED THEN INSERT (" + COLUMNS + ") VALUES (s.item_id, s.market_code, s.price,"
+				+ " s.price_unit, s.survey_date, s.additional_info, s.created_at, s.updated_at)";
+		}
+		// 행 별칭(MySQL 8.0.19+)으로 새 값을 참조 (VALUES(col) 함수는 deprecated)
+		return "INSERT INTO item_price (" + COLUMNS + ") VALUES " + values
+			+ " AS new ON DUPLICATE KEY UPDATE price = new.price, price_unit = new.price_unit,"
+			+ " additional_info = new.additional_info, updated_at = new.updated_at";
+	}
+
+	/**
+	 * upsert 대상 가격 행
+	 */
+	public record ItemPriceRow(Long itemId, String marketCode, BigDecimal price, String priceUnit,
+							   LocalDate surveyDate, String additionalInfo) {
+
+		String key() {
+			return itemId + "|" + marketCode + "|" + surveyDate;
+		}
+
+		boolean sameValueAs(ItemPriceRow other) {
+			return other != null
+				&& other.price() != null && price != null && other.price().compareTo(price) == 0
+				&& Objects.equals(other.priceUnit(), priceUnit)
+				&& Objects.equals(other.additionalInfo(), additionalInfo);
+		}
+	}
+}
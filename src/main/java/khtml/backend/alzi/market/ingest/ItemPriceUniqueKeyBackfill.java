@@ -0,0 +1,125 @@
+package khtml.backend.alzi.market.ingest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.backfill.SchemaInspector;
+import khtml.backend.alzi.backfill.StartupBackfillExecutor;
+import khtml.backend.alzi.market.MarketItemPriceCache;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ItemPrice upsert 키 (item_id, market_code, survey_date) 유니크 제약 보장 (1회성)
+ * ddl-auto는 중복 행이 있으면 제약 추가에 실패하고 경고만 남기므로, 그대로 두면 upsert가 계속 새 행을 만듭니다.
+ * 행을 지우는 작업이라 기본은 꺼져 있고, 기동 시 제약이 없으면 중복 건수만 경고로 남깁니다.
+ * item-price.unique-key-backfill.enabled=true로 기동하면 키별로 가장 최근(id가 가장 큰) 행만 남기고 지운 뒤 제약을 추가합니다.
+ * 제약이 이미 있으면 메타데이터 조회 1회로 끝납니다.
+ */
+@Component
+@Slf4j
+public class ItemPriceUniqueKeyBackfill implements ApplicationRunner {
+
+	private static final String NAME = "ItemPrice 유니크 제약 추가";
+	private static final String CONSTRAINT_NAME = "uk_item_price_item_market_date";
+	private static final int MAX_ATTEMPTS = 3;
+	// 키별 중복 행 수 (키 하나에 남길 1건을 뺀 행이 삭제 대상)
+	private static final String DUPLICATE_KEYS =
+		"SELECT COUNT(*) AS row_count FROM item_price GROUP BY item_id, market_code, survey_date HAVING COUNT(*) > 1";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final MarketItemPriceCache marketItemPriceCache;
+	private final SchemaInspector schemaInspector;
+	private final StartupBackfillExecutor startupBackfillExecutor;
+	private final boolean enabled;
+
+	public ItemPriceUniqueKeyBackfill(JdbcTemplate jdbcTemplate, MarketItemPriceCache marketItemPriceCache,
+		SchemaInspector schemaInspector, StartupBackfillExecutor startupBackfillExecutor,
+		@Value("${item-price.unique-key-backfill.enabled:false}") boolean enabled) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.marketItemPriceCache = marketItemPriceCache;
+		this.schemaInspector = schemaInspector;
+		this.startupBackfillExecutor = startupBackfillExecutor;
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		startupBackfillExecutor.submit(NAME, enabled ? this::backfill : this::warnIfMissing);
+	}
+
+	/**
+	 * 제약이 없으면 지금 지워질 중복 행 수를 경고로 남김 (백필이 꺼져 있을 때)
+	 */
+	private void warnIfMissing() {
+		try {
+			if (!hasUniqueKey()) {
+				Duplicates duplicates = countDuplicates();
+				log.warn("ItemPrice 유니크 제약 없음 - 중복 키 {}개, 중복 행 {}건"
+						+ " (item-price.unique-key-backfill.enabled=true로 기동하면 키별 최신 행만 남기고 제약 추가)",
+					duplicates.keys(), duplicates.rows());
+			}
+		} catch (RuntimeException e) {
+			log.warn("ItemPrice 유니크 제약 확인 실패", e);
+		}
+	}
+
+	/**
+	 * 중복 행 삭제 후 유니크 제약 추가
+	 * 삭제와 제약 추가 사이에 가져오기가 중복 행을 다시 만들면 MAX_ATTEMPTS번까지 반복합니다.
+	 * @return 삭제한 중복 행 수
+	 */
+	public int backfill() {
+		int deleted = 0;
+		try {
+			for (int attempt = 1; attempt <= MAX_ATTEMPTS && !hasUniqueKey(); attempt++) {
+				Duplicates duplicates = countDuplicates();
+				if (duplicates.rows() > 0) {
+					log.warn("ItemPrice 중복 행 삭제 - 중복 키 {}개, 삭제할 행 {}건 ({}/{})", duplicates.keys(),
+						duplicates.rows(), attempt, MAX_ATTEMPTS);
+					deleted += deleteDuplicates();
+				}
+				try {
+					jdbcTemplate.execute("ALTER TABLE item_price ADD CONSTRAINT " + CONSTRAINT_NAME
+						+ " UNIQUE (item_id, market_code, survey_date)");
+					log.info("ItemPrice 유니크 제약 추가 완료 - 중복 {}건 삭제", deleted);
+				} catch (RuntimeException e) {
+					if (attempt == MAX_ATTEMPTS) {
+						throw e;
+					}
+					log.warn("ItemPrice 유니크 제약 추가 실패, 중복 삭제부터 다시 시도 ({}/{})", attempt, MAX_ATTEMPTS, e);
+				}
+			}
+		} catch (RuntimeException e) {
+			log.error("ItemPrice 유니크 제약 추가 실패 ({}건 삭제 후 중단, 다음 기동 때 다시 시도)", deleted, e);
+		} finally {
+			if (deleted > 0) {
+				marketItemPriceCache.invalidateAll();
+			}
+		}
+		return deleted;
+	}
+
+	private Duplicates countDuplicates() {
+		return jdbcTemplate.queryForObject(
+			"SELECT COUNT(*), COALESCE(SUM(row_count - 1), 0) FROM (" + DUPLICATE_KEYS + ") duplicated",
+			(rs, rowNum) -> new Duplicates(rs.getLong(1), rs.getLong(2)));
+	}
+
+	// 키별 최대 id만 남김 (MySQL은 삭제 대상 테이블을 서브쿼리에서 바로 읽을 수 없어 파생 테이블로 감쌈)
+	private int deleteDuplicates() {
+		return jdbcTemplate.update(
+			"DELETE FROM item_price WHERE id NOT IN (SELECT keep_id FROM ("
+				+ "SELECT MAX(id) AS keep_id FROM item_price GROUP BY item_id, market_code, survey_date) latest)");
+	}
+
+	private boolean hasUniqueKey() {
+		return schemaInspector.hasUniqueConstraint("item_price", CONSTRAINT_NAME);
+	}
+
+	// 중복된 키 수 / 키마다 1건을 남기고 지울 행 수
+	private record Duplicates(long keys, long rows) {
+	}
+}
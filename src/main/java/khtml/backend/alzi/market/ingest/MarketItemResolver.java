@@ -0,0 +1,106 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import khtml.backend.alzi.market.Market;
+import khtml.backend.alzi.market.MarketRepository;
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import khtml.backend.alzi.shopping.Item;
+import khtml.backend.alzi.shopping.ItemRepository;
+import khtml.backend.alzi.utils.ItemCategoryUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 수집(ingestion) 1회 동안 공유되는 시장명/품목명 -> 엔티티 식별 맵
+ * 시작 시 전체 Market / Item을 한 번에 읽어두고, 없는 시장/품목만 모아서 일괄 생성하므로
+ * 행마다 findByName 두 번씩 하던 조회가 사라집니다.
+ * PriceInfoWriter.openResolver()로 생성합니다.
+ */
+@Slf4j
+public class MarketItemResolver {
+
+	private final MarketRepository marketRepository;
+	private final ItemRepository itemRepository;
+	private final ItemCategoryUtil itemCategoryUtil;
+
+	private final ConcurrentMap<String, Market> marketsByName = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Item> itemsByName = new ConcurrentHashMap<>();
+
+	MarketItemResolver(MarketRepository marketRepository, ItemRepository itemRepository,
+		ItemCategoryUtil itemCategoryUtil) {
+		this.marketRepository = marketRepository;
+		this.itemRepository = itemRepository;
+		this.itemCategoryUtil = itemCategoryUtil;
+	}
+
+	/**
+	 * 전체 시장/품목 미리 적재
+	 */
+	void preload() {
+		for (Market market : marketRepository.findAll()) {
+			if (market.getName() != null) {
+				marketsByName.putIfAbsent(market.getName(), market);
+			}
+		}
+		for (Item item : itemRepository.findAll()) {
+			itemsByName.putIfAbsent(item.getName(), item);
+		}
+		log.info("시장/품목 식별 맵 적재 완료 - 시장: {}개, 품목: {}개", marketsByName.size(), itemsByName.size());
+	}
+
+	/**
+	 * 주어진 행들 중 아직 없는 시장/품목을 한 번에 생성 (트랜잭션 안에서 호출)
+	 */
+	synchronized void createMissing(Collection<SeoulApiResponse.PriceInfo> priceInfos) {
+		Map<String, Market> newMarkets = new LinkedHashMap<>();
+		Map<String, Item> newItems = new LinkedHashMap<>();
+
+		for (SeoulApiResponse.PriceInfo priceInfo : priceInfos) {
+			String marketName = priceInfo.getMarketName();
+			if (marketName != null && !marketsByName.containsKey(marketName)) {
+				// 새 시장 생성 (code는 시장명_일련번호 형태로 생성)
+				newMarkets.computeIfAbsent(marketName, name -> Market.builder()
+					.code(name + "_" + priceInfo.getMarketSeq())
+					.name(name)
+					.type(priceInfo.getMarketTypeName())
+					.district(priceInfo.getDistrictName()) // 구 정보 추가
+					.build());
+			}
+
+			String itemName = priceInfo.getItemName();
+			if (itemName != null && !itemsByName.containsKey(itemName)) {
+				// 새 품목 생성 - 카테고리 자동 분류
+				newItems.computeIfAbsent(itemName, name -> Item.builder()
+					.name(name)
+					.category(itemCategoryUtil.categorizeItem(name))
+					.build());
+			}
+		}
+
+		if (!newMarkets.isEmpty()) {
+			// 가격 행은 JDBC로 바로 쓰므로 FK 대상 시장을 먼저 flush
+			for (Market saved : marketRepository.saveAllAndFlush(newMarkets.values())) {
+				marketsByName.put(saved.getName(), saved);
+			}
+			log.info("신규 시장 {}개 생성", newMarkets.size());
+		}
+		if (!newItems.isEmpty()) {
+			for (Item saved : itemRepository.saveAll(newItems.values())) {
+				itemsByName.put(saved.getName(), saved);
+			}
+			log.info("신규 품목 {}개 생성", newItems.size());
+		}
+	}
+
+	public Market market(String marketName) {
+		return marketName == null ? null : marketsByName.get(marketName);
+	}
+
+	public Item item(String itemName) {
+		return itemName == null ? null : itemsByName.get(itemName);
+	}
+}
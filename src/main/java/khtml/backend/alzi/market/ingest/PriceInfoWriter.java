@@ -0,0 +1,129 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import khtml.backend.alzi.market.Market;
+import khtml.backend.alzi.market.MarketRepository;
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import khtml.backend.alzi.shopping.Item;
+import khtml.backend.alzi.shopping.ItemRepository;
+import khtml.backend.alzi.utils.ItemCategoryUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서울 API 응답(PriceInfo)을 Market / Item / ItemPrice로 저장하는 writer
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceInfoWriter {
+
+	private final MarketRepository marketRepository;
+	private final ItemRepository itemRepository;
+	private final ItemCategoryUtil itemCategoryUtil;
+	private final ItemPriceBulkWriter itemPriceBulkWriter;
+
+	/**
+	 * 수집 1회 동안 공유할 시장/품목 식별 맵 생성 (전체 Market / Item 미리 적재)
+	 */
+	@Transactional(readOnly = true)
+	public MarketItemResolver openResolver() {
+		MarketItemResolver resolver = new MarketItemResolver(marketRepository, itemRepository, itemCategoryUtil);
+		resolver.preload();
+		return resolver;
+	}
+
+	/**
+	 * API 응답 데이터를 DB에 저장 (단건 호출용 - 호출마다 식별 맵을 새로 적재)
+	 * @return 저장(생성/수정)된 가격 정보 수
+	 */
+	@Transactional
+	public int write(List<SeoulApiResponse.PriceInfo> priceInfos) {
+		return write(priceInfos, openResolver());
+	}
+
+	/**
+	 * API 응답 데이터를 DB에 저장
+	 * @param resolver 수집 1회 동안 공유되는 시장/품목 식별 맵
+	 * @return 저장(생성/수정)된 가격 정보 수
+	 */
+	@Transactional
+	public int write(List<SeoulApiResponse.PriceInfo> priceInfos, MarketItemResolver resolver) {
+		if (priceInfos == null || priceInfos.isEmpty()) {
+			log.warn("저장할 가격 데이터가 없습니다.");
+			return 0;
+		}
+
+		// 1~2. 시장/품목 식별 후 upsert 행으로 변환
+		List<ItemPriceBulkWriter.ItemPriceRow> rows = toRows(priceInfos, resolver);
+
+		// 3. 가격 정보 일괄 upsert
+		return itemPriceBulkWriter.upsert(rows);
+	}
+
+	/**
+	 * API 응답 데이터를 ItemPrice upsert 행으로 변환 (없는 시장/품목은 먼저 생성)
+	 * @param resolver 수집 1회 동안 공유되는 시장/품목 식별 맵
+	 */
+	@Transactional
+	public List<ItemPriceBulkWriter.ItemPriceRow> toRows(List<SeoulApiResponse.PriceInfo> priceInfos,
+		MarketItemResolver resolver) {
+		// 1. 없는 시장/품목 일괄 생성
+		resolver.createMissing(priceInfos);
+
+		// 2. 시장/품목 식별 (DB 조회 없음)
+		List<ItemPriceBulkWriter.ItemPriceRow> rows = new ArrayList<>(priceInfos.size());
+		for (SeoulApiResponse.PriceInfo priceInfo : priceInfos) {
+			ItemPriceBulkWriter.ItemPriceRow row = toRow(priceInfo, resolver);
+			if (row != null) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private ItemPriceBulkWriter.ItemPriceRow toRow(SeoulApiResponse.PriceInfo priceInfo,
+		MarketItemResolver resolver) {
+		Market market = resolver.market(priceInfo.getMarketName());
+		Item item = resolver.item(priceInfo.getItemName());
+		if (market == null || item == null) {
+			log.warn("시장명 또는 품목명이 없는 가격 데이터: {}", priceInfo);
+			return null;
+		}
+
+		try {
+			// 가격 파싱
+			BigDecimal price = new BigDecimal(priceInfo.getPrice());
+
+			// 조사 날짜 파싱 (2025-08-26 형식 처리)
+			LocalDate surveyDate = parseSurveyDate(priceInfo.getPriceDate());
+
+			return new ItemPriceBulkWriter.ItemPriceRow(item.getId(), market.getCode(), price,
+				priceInfo.getItemUnit(), surveyDate, priceInfo.getAdditionalInfo());
+
+		} catch (Exception e) {
+			log.error("가격 정보 변환 실패: {}", priceInfo, e);
+			return null;
+		}
+	}
+
+	/**
+	 * 조사 날짜 파싱 (yyyy-MM-dd, yyyyMMdd 모두 지원)
+	 */
+	static LocalDate parseSurveyDate(String priceDate) {
+		if (priceDate.contains("-")) {
+			// yyyy-MM-dd 형식
+			return LocalDate.parse(priceDate);
+		}
+		// yyyyMMdd 형식
+		return LocalDate.parse(priceDate, DateTimeFormatter.ofPattern("yyyyMMdd"));
+	}
+}
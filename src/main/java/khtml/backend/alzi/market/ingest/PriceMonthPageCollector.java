@@ -0,0 +1,80 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import khtml.backend.alzi.market.dto.response.PriceRefreshResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 한 달치 전체 가격 정보 페이지 수집
+ * 시장/품목을 와일드카드로 두고 list_total_count 기준으로 1000건씩 페이지를 나누어 호출하며,
+ * 각 페이지는 도착하는 대로 파이프라인의 저장 단계로 전달됩니다.
+ * 모든 페이지를 받으면 페이지 해시를 묶어 월 전체 지문으로 기록하고, 마감 이후 이미 수집한 달은 호출하지 않습니다.
+ * 갱신 잠금은 호출하는 쪽(PriceRefreshEngine)에서 잡습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceMonthPageCollector {
+
+	// 페이지당 조회 건수 (서울 API 1회 최대 조회 건수)
+	public static final int PAGE_SIZE = 1000;
+
+	// 월 전체 페이지 수집의 지문 키 (시장/품목 자리)
+	private static final String MONTH_SLICE = "*";
+
+	private final PriceRefreshPipeline pipeline;
+	private final PriceSliceTracker sliceTracker;
+
+	public PriceRefreshResult collect(String yearMonth) {
+		PriceSliceTracker.MonthFingerprints fingerprints = sliceTracker.open(yearMonth);
+		if (fingerprints.isSettled(MONTH_SLICE, MONTH_SLICE)) {
+			log.info("년월 '{}'은 마감 이후 이미 수집되어 호출하지 않습니다", yearMonth);
+			return PriceRefreshResult.of(0, 0, 0, 1, 0, 0, 0);
+		}
+
+		try (PriceRefreshPipeline.Run run = pipeline.open(fingerprints)) {
+			run.addTotalRequests(1);
+
+			// 1페이지는 현재 스레드에서 먼저 호출해서 전체 건수 파악 (행은 그대로 저장 단계로 전달)
+			SeoulApiResponse header = run.fetchNow(page(yearMonth, 1));
+
+			int totalCount = 0;
+			int pageCount = 0;
+			if (header != null && SeoulApiClient.isSuccess(header)) {
+				totalCount = header.getListTotalCount();
+				pageCount = (totalCount + PAGE_SIZE - 1) / PAGE_SIZE;
+				log.info("월간 가격 수집 시작 - 년월: {}, 전체 {}건, {}페이지 (페이지당 {}건)",
+					yearMonth, totalCount, pageCount, PAGE_SIZE);
+
+				run.addTotalRequests(Math.max(pageCount - 1, 0));
+				for (int page = 2; page <= pageCount; page++) {
+					run.submit(page(yearMonth, page));
+				}
+			} else if (header != null) {
+				log.warn("년월 '{}' 가격 정보 없음: {}", yearMonth,
+					header.getResult() != null ? header.getResult().getMessage() : "응답 없음");
+			}
+			PriceRefreshResult result = run.finish();
+
+			// 모든 페이지를 받은 경우에만 월 전체 지문 기록 (페이지 순서대로 해시 결합)
+			List<String> pageHashes = run.pageHashes();
+			if (SeoulApiClient.isDefinitive(header) && result.getFailCount() == 0
+				&& pageHashes.size() == Math.max(pageCount, 1)) {
+				PriceSliceTracker.SliceDigest digest = new PriceSliceTracker.SliceDigest(MONTH_SLICE, MONTH_SLICE,
+					PriceSliceTracker.combine(pageHashes), totalCount);
+				sliceTracker.record(fingerprints, List.of(digest));
+			}
+			return result;
+		}
+	}
+
+	private static PriceRefreshPipeline.FetchRequest page(String yearMonth, int page) {
+		int startIdx = (page - 1) * PAGE_SIZE + 1;
+		return PriceRefreshPipeline.FetchRequest.monthPage(yearMonth, startIdx, startIdx + PAGE_SIZE - 1);
+	}
+}
@@ -0,0 +1,121 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.dto.response.PriceRefreshResult;
+import khtml.backend.alzi.market.dto.response.PriceRefreshStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서울 API 가격 일괄 갱신 엔진
+ * 아이템 x 시장 조합을 고정 크기 스레드풀에서 병렬로 호출하고(토큰 버킷으로 호출 속도 제한),
+ * 응답은 bounded queue를 통해 단일 writer 스레드가 모아서 저장합니다. (PriceRefreshPipeline)
+ * 전체 소요 시간은 호출 지연 + 고정 sleep이 아니라 API 허용 호출 속도에 의해 결정됩니다.
+ * (시장, 품목, 년월) 단위 응답 지문을 기록해서 마감된 달은 다시 호출하지 않고,
+ * 내용이 바뀌지 않은 응답은 저장 단계로 넘기지 않습니다.
+ * 월 전체 페이지 수집은 PriceMonthPageCollector, 재시도 큐 처리는 PriceSliceRetryDrainer가 맡고,
+ * 이 클래스는 PriceRefreshLock으로 한 번에 하나의 갱신만 실행되도록 잠금과 상태 조회를 담당합니다.
+ * 호출은 ResilientSeoulApiClient(bulkhead, 서킷 브레이커, 재시도)를 거칩니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceRefreshEngine {
+
+	private final PriceRefreshPipeline pipeline;
+	private final PriceMonthPageCollector monthPageCollector;
+	private final PriceSliceRetryDrainer retryDrainer;
+	private final PriceSliceTracker sliceTracker;
+	private final PriceRefreshLock refreshLock;
+	private final PriceSliceRetryQueue retryQueue;
+
+	private volatile PriceRefreshResult lastResult;
+
+	/**
+	 * 아이템 x 시장 조합 전체의 가격 정보를 갱신 (조합별 1회 호출)
+	 * 마감된 달에서 이미 마감 이후 수집한 조합은 호출하지 않습니다.
+	 */
+	public PriceRefreshResult refresh(List<String> itemNames, List<String> marketNames, String yearMonth) {
+		String owner = "engine:" + yearMonth;
+		refreshLock.acquire(owner);
+		try (PriceRefreshPipeline.Run run = pipeline.open(sliceTracker.open(yearMonth))) {
+			log.info("가격 일괄 갱신 시작 - 아이템: {}개, 시장: {}개, 년월: {}, 동시 호출: {}개",
+				itemNames.size(), marketNames.size(), yearMonth, pipeline.fetchThreads());
+
+			List<PriceRefreshPipeline.FetchRequest> requests = new ArrayList<>();
+			int skipped = 0;
+			for (String itemName : itemNames) {
+				for (String marketName : marketNames) {
+					if (run.fingerprints().isSettled(marketName, itemName)) {
+						skipped++;
+					} else {
+						requests.add(new PriceRefreshPipeline.FetchRequest(marketName, itemName, yearMonth, 1, 100));
+					}
+				}
+			}
+			if (skipped > 0) {
+				run.addSkipped(skipped);
+				log.info("마감된 조합 {}개는 호출하지 않습니다 (년월: {})", skipped, yearMonth);
+			}
+
+			run.addTotalRequests(requests.size());
+			for (PriceRefreshPipeline.FetchRequest request : requests) {
+				run.submit(request);
+			}
+			return lastResult = run.finish();
+		} finally {
+			refreshLock.release(owner);
+		}
+	}
+
+	/**
+	 * 한 달치 전체 가격 정보를 페이지 단위로 수집 (PriceMonthPageCollector)
+	 */
+	public PriceRefreshResult refreshMonth(String yearMonth) {
+		String owner = "engine-month:" + yearMonth;
+		refreshLock.acquire(owner);
+		try {
+			return lastResult = monthPageCollector.collect(yearMonth);
+		} finally {
+			refreshLock.release(owner);
+		}
+	}
+
+	/**
+	 * 재시도 큐에서 재시도 시각이 지난 요청을 최대 limit 건 다시 호출 (PriceSliceRetryDrainer)
+	 * 성공한 요청은 큐에서 제거되고, 다시 실패하면 재시도 간격을 늘려서 남겨둡니다.
+	 */
+	public PriceRefreshResult retryFailed(int limit) {
+		List<FailedPriceSlice> due = retryQueue.findDue(limit);
+		if (due.isEmpty()) {
+			return null;
+		}
+
+		String owner = "engine-retry";
+		refreshLock.acquire(owner);
+		try {
+			return lastResult = retryDrainer.drain(due);
+		} finally {
+			refreshLock.release(owner);
+		}
+	}
+
+	/**
+	 * 현재 갱신 진행 상태 (실행 중이 아니면 마지막 결과만 포함)
+	 */
+	public PriceRefreshStatus getStatus() {
+		PriceRefreshPipeline.Run run = pipeline.current();
+		PriceRefreshStatus.PriceRefreshStatusBuilder status = PriceRefreshStatus.builder()
+			.running(refreshLock.isHeld())
+			.owner(refreshLock.owner())
+			.lastResult(lastResult);
+		if (run == null) {
+			return status.build();
+		}
+		return run.describe(status).build();
+	}
+}
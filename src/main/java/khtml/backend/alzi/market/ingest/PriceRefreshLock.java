@@ -0,0 +1,44 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.exception.ErrorCode;
+
+/**
+ * 가격 갱신 single-flight 잠금
+ * 갱신 엔진, 배치 작업, 스케줄러가 공유하며 한 번에 하나의 갱신만 실행되도록 보장합니다.
+ * 배치 작업은 시작한 스레드와 끝나는 스레드가 다르므로 스레드와 무관한 소유자 문자열로 관리합니다.
+ */
+@Component
+public class PriceRefreshLock {
+
+	private final AtomicReference<String> owner = new AtomicReference<>();
+
+	/**
+	 * 잠금 획득 (이미 다른 갱신이 실행 중이면 예외)
+	 */
+	public void acquire(String newOwner) {
+		if (!owner.compareAndSet(null, newOwner)) {
+			throw new CustomException(ErrorCode.PRICE_REFRESH_IN_PROGRESS,
+				"이미 가격 갱신이 진행 중입니다: " + owner.get());
+		}
+	}
+
+	public void release(String currentOwner) {
+		owner.compareAndSet(currentOwner, null);
+	}
+
+	public boolean isHeld() {
+		return owner.get() != null;
+	}
+
+	/**
+	 * 현재 실행 중인 갱신 (없으면 null)
+	 */
+	public String owner() {
+		return owner.get();
+	}
+}
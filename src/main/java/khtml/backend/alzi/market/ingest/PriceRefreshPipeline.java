@@ -0,0 +1,529 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import khtml.backend.alzi.market.dto.response.PriceRefreshResult;
+import khtml.backend.alzi.market.dto.response.PriceRefreshStatus;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 가격 갱신 파이프라인: fetch 단계(병렬, Rate Limit) -> bounded queue -> writer 단계(단일 스레드)
+ * fetch 스레드풀과 writer 스레드는 애플리케이션 수명 동안 재사용하고, 갱신 1회마다 open()으로 Run을 만들어 씁니다.
+ * 갱신은 PriceRefreshLock으로 한 번에 하나만 실행되므로 한 시점에 열린 Run은 하나입니다.
+ * 저장 큐가 포화되면 새 호출을 내보내지 않고 writer가 따라올 때까지 기다리며 (backpressure),
+ * 재시도 후에도 실패한 요청과 저장에 실패한 요청은 PriceSliceRetryQueue에 적재합니다.
+ * 요청은 마지막 청크까지 저장된 뒤에 성공으로 집계합니다.
+ */
+@Component
+@Slf4j
+public class PriceRefreshPipeline {
+
+	// writer 종료 신호 (identity 비교)
+	private static final WriteChunk END_OF_STREAM = new WriteChunk(List.of(), List.of(), null, false);
+
+	private final ResilientSeoulApiClient seoulApiClient;
+	private final PriceInfoWriter priceInfoWriter;
+	private final PriceSliceTracker sliceTracker;
+	private final PriceSliceRetryQueue retryQueue;
+	private final int fetchThreads;
+	private final int writeQueueCapacity;
+	private final int writeBatchRows;
+	private final int streamChunkRows;
+	private final ExecutorService fetchPool;
+	private final ExecutorService writerPool;
+
+	// 진행 중인 갱신 (상태 조회용)
+	private volatile Run current;
+
+	public PriceRefreshPipeline(ResilientSeoulApiClient seoulApiClient,
+		PriceInfoWriter priceInfoWriter,
+		PriceSliceTracker sliceTracker,
+		PriceSliceRetryQueue retryQueue,
+		@Value("${seoul-api.refresh.fetch-threads:8}") int fetchThreads,
+		@Value("${seoul-api.refresh.write-queue-capacity:256}") int writeQueueCapacity,
+		@Value("${seoul-api.refresh.write-batch-rows:2000}") int writeBatchRows,
+		@Value("${seoul-api.refresh.stream-chunk-rows:200}") int streamChunkRows) {
+		this.seoulApiClient = seoulApiClient;
+		this.priceInfoWriter = priceInfoWriter;
+		this.sliceTracker = sliceTracker;
+		this.retryQueue = retryQueue;
+		this.fetchThreads = fetchThreads;
+		this.writeQueueCapacity = writeQueueCapacity;
+		this.writeBatchRows = writeBatchRows;
+		this.streamChunkRows = streamChunkRows;
+		this.fetchPool = Executors.newFixedThreadPool(fetchThreads, new CustomizableThreadFactory("seoul-api-fetch-"));
+		this.writerPool = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("seoul-api-writer-"));
+	}
+
+	/**
+	 * 대상 년월의 갱신 1회 시작 (writer 작업을 바로 띄움)
+	 * 반환된 Run은 finish()로 결과를 받은 뒤 close()로 닫아야 합니다.
+	 */
+	public Run open(PriceSliceTracker.MonthFingerprints fingerprints) {
+		return new Run(fingerprints);
+	}
+
+	public int fetchThreads() {
+		return fetchThreads;
+	}
+
+	/**
+	 * 진행 중인 갱신 (없으면 null)
+	 */
+	public Run current() {
+		return current;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		fetchPool.shutdownNow();
+		writerPool.shutdownNow();
+	}
+
+	/**
+	 * 갱신 1회 - 요청 발송, 저장, 집계 상태
+	 */
+	public class Run implements AutoCloseable {
+
+		private final long startedAt = System.nanoTime();
+		private final LocalDateTime startedDateTime = LocalDateTime.now();
+		// 갱신 1회 동안 공유되는 시장/품목 식별 맵
+		private final MarketItemResolver resolver = priceInfoWriter.openResolver();
+		// 갱신 대상 년월의 수집 지문
+		private final PriceSliceTracker.MonthFingerprints fingerprints;
+		// 월간 수집 페이지별 해시 (startIdx 순)
+		private final Map<Integer, String> pageHashes = new ConcurrentSkipListMap<>();
+		private final AtomicInteger totalRequests = new AtomicInteger();
+		private final AtomicInteger successCount = new AtomicInteger();
+		private final AtomicInteger failCount = new AtomicInteger();
+		private final AtomicInteger skippedCount = new AtomicInteger();
+		private final AtomicInteger unchangedCount = new AtomicInteger();
+		private final AtomicInteger savedRowCount = new AtomicInteger();
+		private final AtomicInteger dispatchedCount = new AtomicInteger();
+		// 호출 또는 저장에 실패한 요청 (한 요청의 청크가 여러 번 실패해도 한 번만 집계)
+		private final Set<FetchRequest> failedRequests = ConcurrentHashMap.newKeySet();
+		// 동시에 호출 중이거나 실행 대기 중인 요청 수 제한 (스레드풀 작업 큐가 무한정 쌓이지 않도록)
+		private final int maxInFlight = fetchThreads * 2;
+		private final Semaphore inFlight = new Semaphore(maxInFlight);
+		// 아직 끝나지 않은 fetch 작업 (닫을 때 취소)
+		private final Set<Future<?>> pendingFetches = ConcurrentHashMap.newKeySet();
+		// writer가 저장 큐를 비울 때마다 깨우는 신호
+		private final Object drained = new Object();
+		private volatile boolean backpressured;
+		private final BlockingQueue<WriteChunk> writeQueue = new ArrayBlockingQueue<>(writeQueueCapacity);
+		private final Future<?> writer;
+
+		private Run(PriceSliceTracker.MonthFingerprints fingerprints) {
+			this.fingerprints = fingerprints;
+			this.writer = writerPool.submit(this::runWriter);
+			current = this;
+		}
+
+		public PriceSliceTracker.MonthFingerprints fingerprints() {
+			return fingerprints;
+		}
+
+		public void addTotalRequests(int count) {
+			totalRequests.addAndGet(count);
+		}
+
+		public void addSkipped(int count) {
+			skippedCount.addAndGet(count);
+		}
+
+		/**
+		 * 성공적으로 받은 월간 페이지 해시 (startIdx 순)
+		 */
+		public List<String> pageHashes() {
+			return new ArrayList<>(pageHashes.values());
+		}
+
+		/**
+		 * 요청 발송 - 동시 요청 수가 한도에 도달했거나 저장 큐가 포화 상태면 여유가 생길 때까지 대기
+		 */
+		public void submit(FetchRequest request) {
+			try {
+				inFlight.acquire();
+				awaitWriteCapacity();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				inFlight.release();
+				throw new IllegalStateException("요청 발송 대기 중 인터럽트 발생", e);
+			}
+
+			FutureTask<Void> task = new FutureTask<>(() -> fetchNow(request), null) {
+				@Override
+				protected void done() {
+					pendingFetches.remove(this);
+					inFlight.release();
+				}
+			};
+			pendingFetches.add(task);
+			fetchPool.execute(task);
+		}
+
+		// 저장 큐가 90% 이상 차 있으면 writer가 비울 때까지 새 호출을 보내지 않음
+		private void awaitWriteCapacity() throws InterruptedException {
+			int highWater = Math.max(writeQueueCapacity * 9 / 10, 1);
+			if (writeQueue.size() < highWater) {
+				return;
+			}
+			backpressured = true;
+			log.debug("저장 큐 포화 ({}개) - 호출 발송 대기", writeQueue.size());
+			synchronized (drained) {
+				while (writeQueue.size() >= highWater && !writer.isDone()) {
+					drained.wait(1000);
+				}
+			}
+			backpressured = false;
+		}
+
+		/**
+		 * 단일 요청 호출
+		 * - 월간 페이지: 응답 row를 streamChunkRows 단위로 잘라서 바로 저장 큐로 전달
+		 * - 시장 x 품목 조합: 응답(최대 100건)을 모아 해시를 비교하고, 바뀐 경우에만 저장 큐로 전달
+		 * 어느 쪽이든 마지막 청크(last)를 저장 큐에 넣고, 성공 집계는 writer가 그 청크를 저장한 뒤에 합니다.
+		 *
+		 * @return 응답 헤더 (실패 시 null)
+		 */
+		public SeoulApiResponse fetchNow(FetchRequest request) {
+			dispatchedCount.incrementAndGet();
+			SeoulApiResponse header = null;
+			try {
+				header = request.isMonthPage() ? fetchPage(request) : fetchSlice(request);
+
+				if (!SeoulApiClient.isSuccess(header) && header != null && header.getResult() != null) {
+					log.debug("API 호출 결과 없음 - {}: {}", request, header.getResult().getMessage());
+				}
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			} catch (Exception e) {
+				if (Thread.currentThread().isInterrupted()) {
+					return null;
+				}
+				log.warn("가격 정보 조회 실패 - {}: {}", request, e.getMessage());
+				markFailed(request, e);
+			}
+			return header;
+		}
+
+		/**
+		 * 요청의 마지막 청크까지 저장됨 - 성공 집계 (앞선 청크 저장이 실패한 요청은 제외)
+		 */
+		private void markSucceeded(FetchRequest request) {
+			if (failedRequests.contains(request)) {
+				return;
+			}
+			successCount.incrementAndGet();
+			if (request.retryId() != null) {
+				try {
+					retryQueue.resolve(request.retryId());
+				} catch (Exception e) {
+					log.error("재시도 큐 항목 제거 실패 - {}", request, e);
+				}
+			}
+			logProgress();
+		}
+
+		/**
+		 * 호출 또는 저장 실패 - 실패로 집계하고 재시도 큐에 적재 (요청당 한 번)
+		 * 월간 페이지는 해시도 지워서 월 전체 지문이 기록되지 않도록 합니다.
+		 */
+		private void markFailed(FetchRequest request, Exception e) {
+			if (!failedRequests.add(request)) {
+				return;
+			}
+			failCount.incrementAndGet();
+			if (request.isMonthPage()) {
+				pageHashes.remove(request.startIdx());
+			}
+			enqueueRetry(request, e);
+			logProgress();
+		}
+
+		private void logProgress() {
+			int done = successCount.get() + failCount.get();
+			if (done % 100 == 0) {
+				log.info("진행상황: {}/{} (성공: {}, 실패: {})",
+					done, totalRequests.get(), successCount.get(), failCount.get());
+			}
+		}
+
+		private void enqueueRetry(FetchRequest request, Exception e) {
+			try {
+				retryQueue.enqueue(request.retryId(), request.marketName(), request.itemName(), request.yearMonth(),
+					request.startIdx(), request.endIdx(), e.getClass().getSimpleName() + ": " + e.getMessage());
+			} catch (Exception queueError) {
+				log.error("재시도 큐 적재 실패 - {}", request, queueError);
+			}
+		}
+
+		private SeoulApiResponse fetchPage(FetchRequest request) throws Exception {
+			// 행은 청크 단위로 바로 저장 큐로 흘려보내고, 페이지 해시는 행을 모으지 않고 누적
+			ChunkingConsumer chunker = new ChunkingConsumer(writeQueue, streamChunkRows, request);
+			PriceSliceTracker.RowHasher pageHasher = new PriceSliceTracker.RowHasher();
+			SeoulApiResponse header = seoulApiClient.fetchStreaming(request.marketName(), request.itemName(),
+				request.yearMonth(), request.startIdx(), request.endIdx(), streamChunkRows,
+				pageHasher.andThen(chunker));
+			if (SeoulApiClient.isDefinitive(header)) {
+				pageHashes.put(request.startIdx(), pageHasher.value());
+			}
+			chunker.finish();
+			return header;
+		}
+
+		private SeoulApiResponse fetchSlice(FetchRequest request) throws Exception {
+			SeoulApiResponse header = seoulApiClient.fetch(request.marketName(), request.itemName(),
+				request.yearMonth(), request.startIdx(), request.endIdx());
+			List<SeoulApiResponse.PriceInfo> rows = header.getPriceInfos();
+			if (!SeoulApiClient.isDefinitive(header)) {
+				// 오류 응답은 지문을 남기지 않음 (다음 갱신 때 다시 호출)
+				writeQueue.put(new WriteChunk(List.of(), List.of(), request, true));
+				return header;
+			}
+
+			PriceSliceTracker.SliceDigest digest = new PriceSliceTracker.SliceDigest(request.marketName(),
+				request.itemName(), PriceSliceTracker.hash(rows), rows.size());
+			if (fingerprints.isUnchanged(digest)) {
+				// 내용이 같으면 수집 시각만 갱신
+				unchangedCount.incrementAndGet();
+				writeQueue.put(new WriteChunk(List.of(), List.of(digest), request, true));
+			} else {
+				writeQueue.put(new WriteChunk(rows, List.of(digest), request, true));
+			}
+			return header;
+		}
+
+		/**
+		 * 발송한 fetch 작업과 저장이 모두 끝날 때까지 대기 후 결과 반환
+		 */
+		public PriceRefreshResult finish() {
+			try {
+				// 발송한 작업이 모두 끝나면 동시 요청 허가가 전부 돌아옴
+				while (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+					if (writer.isDone()) {
+						// writer가 먼저 끝나면 저장 큐를 비울 쪽이 없으므로 기다리지 않음 (닫을 때 fetch 취소)
+						break;
+					}
+					log.info("진행상황: {}/{} (성공: {}, 실패: {}, 저장 대기: {})",
+						successCount.get() + failCount.get(), totalRequests.get(),
+						successCount.get(), failCount.get(), writeQueue.size());
+				}
+				if (!writer.isDone()) {
+					inFlight.release(maxInFlight);
+					writeQueue.put(END_OF_STREAM);
+				}
+				writer.get();
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				log.warn("스레드 인터럽트 발생 - 가격 일괄 갱신을 중단합니다");
+			} catch (ExecutionException e) {
+				log.error("가격 저장 단계에서 오류 발생", e.getCause());
+			} finally {
+				close();
+			}
+
+			long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+			log.info("가격 일괄 갱신 완료 - 총 {}개 요청 (성공: {}, 실패: {}, 변경 없음: {}), 건너뜀: {}, 저장: {}건, 소요: {}ms",
+				totalRequests.get(), successCount.get(), failCount.get(), unchangedCount.get(),
+				skippedCount.get(), savedRowCount.get(), elapsedMillis);
+
+			return PriceRefreshResult.of(totalRequests.get(), successCount.get(), failCount.get(),
+				skippedCount.get(), unchangedCount.get(), savedRowCount.get(), elapsedMillis);
+		}
+
+		/**
+		 * 남은 fetch 작업과 writer를 취소 (finish() 전에 발송이 중단된 경우 포함, 여러 번 불러도 됨)
+		 * 스레드풀은 다음 갱신에서 다시 쓰므로 종료하지 않습니다.
+		 */
+		@Override
+		public void close() {
+			for (Future<?> fetch : pendingFetches) {
+				fetch.cancel(true);
+			}
+			writer.cancel(true);
+			if (current == this) {
+				current = null;
+			}
+		}
+
+		/**
+		 * 진행 상태 채우기 (요청 수, 예상 남은 시간, 저장 큐 상태)
+		 */
+		public PriceRefreshStatus.PriceRefreshStatusBuilder describe(PriceRefreshStatus.PriceRefreshStatusBuilder status) {
+			int total = totalRequests.get();
+			int dispatched = dispatchedCount.get();
+			int completed = successCount.get() + failCount.get();
+			long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+			Long etaSeconds = completed > 0 ? elapsedSeconds * (total - completed) / completed : null;
+
+			return status
+				.yearMonth(fingerprints.yearMonth())
+				.startedAt(startedDateTime)
+				.totalRequests(total)
+				.dispatchedCount(dispatched)
+				.completedCount(completed)
+				.queuedCount(Math.max(total - dispatched, 0))
+				.writeQueueDepth(writeQueue.size())
+				.backpressured(backpressured)
+				.etaSeconds(etaSeconds);
+		}
+
+		/**
+		 * 저장 단계 - 큐에 쌓인 청크를 최대 writeBatchRows 건까지 묶어서 한 트랜잭션으로 저장
+		 * 저장에 성공한 청크의 수집 지문만 기록하고, 저장에 실패하면 묶음에 포함된 요청을 모두 실패로 집계해서
+		 * 재시도 큐에 적재합니다.
+		 */
+		private void runWriter() {
+			List<WriteChunk> chunks = new ArrayList<>();
+			boolean finished = false;
+
+			while (!finished) {
+				try {
+					chunks.add(writeQueue.take());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				writeQueue.drainTo(chunks, Math.max(writeBatchRows / Math.max(streamChunkRows, 1) - 1, 0));
+
+				List<WriteChunk> batch = new ArrayList<>();
+				List<SeoulApiResponse.PriceInfo> rows = new ArrayList<>();
+				List<PriceSliceTracker.SliceDigest> digests = new ArrayList<>();
+				for (WriteChunk chunk : chunks) {
+					if (chunk == END_OF_STREAM) {
+						finished = true;
+					} else {
+						batch.add(chunk);
+						rows.addAll(chunk.rows());
+						digests.addAll(chunk.digests());
+					}
+				}
+				chunks.clear();
+				synchronized (drained) {
+					drained.notifyAll();
+				}
+
+				try {
+					if (!rows.isEmpty()) {
+						savedRowCount.addAndGet(priceInfoWriter.write(rows, resolver));
+					}
+					sliceTracker.record(fingerprints, digests);
+				} catch (Exception e) {
+					log.error("가격 정보 일괄 저장 실패 - {}건, 요청 {}개를 재시도 큐에 적재합니다", rows.size(),
+						batch.stream().map(WriteChunk::source).distinct().count(), e);
+					for (WriteChunk chunk : batch) {
+						markFailed(chunk.source(), e);
+					}
+					continue;
+				}
+				for (WriteChunk chunk : batch) {
+					if (chunk.last()) {
+						markSucceeded(chunk.source());
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 스트리밍 파서에서 받은 row를 일정 건수씩 모아 저장 큐로 넘기는 consumer
+	 * 큐가 가득 차 있으면 writer가 따라올 때까지 fetch 스레드가 대기합니다 (backpressure).
+	 */
+	private static class ChunkingConsumer implements Consumer<SeoulApiResponse.PriceInfo> {
+
+		private final BlockingQueue<WriteChunk> queue;
+		private final int chunkSize;
+		private final FetchRequest source;
+		private List<SeoulApiResponse.PriceInfo> chunk;
+
+		ChunkingConsumer(BlockingQueue<WriteChunk> queue, int chunkSize, FetchRequest source) {
+			this.queue = queue;
+			this.chunkSize = chunkSize;
+			this.source = source;
+			this.chunk = new ArrayList<>(chunkSize);
+		}
+
+		@Override
+		public void accept(SeoulApiResponse.PriceInfo priceInfo) {
+			chunk.add(priceInfo);
+			if (chunk.size() >= chunkSize) {
+				put(false);
+			}
+		}
+
+		/**
+		 * 남은 row를 마지막 청크로 전달 (row가 없어도 요청 완료 표시용으로 전달)
+		 */
+		void finish() {
+			put(true);
+		}
+
+		private void put(boolean last) {
+			try {
+				queue.put(new WriteChunk(chunk, List.of(), source, last));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("저장 큐 대기 중 인터럽트 발생", e);
+			}
+			chunk = new ArrayList<>(chunkSize);
+		}
+	}
+
+	/**
+	 * 저장 큐 단위 - 저장할 행과, 저장 후 기록할 수집 지문
+	 * source는 행을 받아온 요청이고, last는 그 요청의 마지막 청크인지 여부입니다.
+	 */
+	private record WriteChunk(List<SeoulApiResponse.PriceInfo> rows, List<PriceSliceTracker.SliceDigest> digests,
+							  FetchRequest source, boolean last) {
+	}
+
+	/**
+	 * 서울 API 호출 단위 (시장, 품목, 년월, 조회 구간)
+	 * 시장/품목이 모두 와일드카드면 월 전체 페이지 요청입니다.
+	 */
+	public record FetchRequest(String marketName, String itemName, String yearMonth, int startIdx, int endIdx,
+							   Long retryId) {
+
+		// 시장/품목 조건 생략용 와일드카드 (공백)
+		static final String WILDCARD = " ";
+
+		public FetchRequest(String marketName, String itemName, String yearMonth, int startIdx, int endIdx) {
+			this(marketName, itemName, yearMonth, startIdx, endIdx, null);
+		}
+
+		static FetchRequest monthPage(String yearMonth, int startIdx, int endIdx) {
+			return new FetchRequest(WILDCARD, WILDCARD, yearMonth, startIdx, endIdx);
+		}
+
+		boolean isMonthPage() {
+			return WILDCARD.equals(marketName) && WILDCARD.equals(itemName);
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 서울 API 수집 단위(시장, 품목, 년월)별 마지막 응답 지문
+ * 다음 갱신 때 마감된 달은 다시 호출하지 않고, 내용이 같은 응답은 저장을 건너뛰는 데 사용합니다.
+ * 시장/품목을 와일드카드(공백)로 둔 행은 월 전체 페이지 수집의 지문입니다.
+ */
+@Entity
+@Table(name = "price_slice_fingerprint", uniqueConstraints = {
+	@UniqueConstraint(name = "uk_price_slice_fingerprint", columnNames = {"market_name", "item_name", "survey_month"})
+})
+@NoArgsConstructor
+@Data
+public class PriceSliceFingerprint {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "market_name", nullable = false)
+	private String marketName;
+
+	@Column(name = "item_name", nullable = false)
+	private String itemName;
+
+	@Column(name = "survey_month", nullable = false, length = 7)
+	private String yearMonth; // 조사년월 (예: 2025-08)
+
+	@Column(name = "content_hash", nullable = false, length = 64)
+	private String contentHash; // 응답 행 SHA-256 (hex)
+
+	@Column(name = "row_count")
+	private int rowCount;
+
+	@Column(name = "last_fetched_at")
+	private LocalDateTime lastFetchedAt; // 마지막 호출 시각
+
+	@Column(name = "last_changed_at")
+	private LocalDateTime lastChangedAt; // 마지막으로 내용이 바뀐 시각
+
+	@Builder
+	public PriceSliceFingerprint(String marketName, String itemName, String yearMonth,
+		String contentHash, int rowCount) {
+		this.marketName = marketName;
+		this.itemName = itemName;
+		this.yearMonth = yearMonth;
+		this.contentHash = contentHash;
+		this.rowCount = rowCount;
+		this.lastFetchedAt = LocalDateTime.now();
+		this.lastChangedAt = this.lastFetchedAt;
+	}
+
+	public void updateContent(String contentHash, int rowCount) {
+		this.contentHash = contentHash;
+		this.rowCount = rowCount;
+		this.lastFetchedAt = LocalDateTime.now();
+		this.lastChangedAt = this.lastFetchedAt;
+	}
+
+	public void touch() {
+		this.lastFetchedAt = LocalDateTime.now();
+	}
+}
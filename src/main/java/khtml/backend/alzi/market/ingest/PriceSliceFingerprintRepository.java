@@ -0,0 +1,11 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PriceSliceFingerprintRepository extends JpaRepository<PriceSliceFingerprint, Long> {
+
+	// 특정 년월의 수집 지문 전체 조회
+	List<PriceSliceFingerprint> findAllByYearMonth(String yearMonth);
+}
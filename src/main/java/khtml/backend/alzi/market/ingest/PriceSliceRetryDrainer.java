@@ -0,0 +1,59 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.dto.response.PriceRefreshResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재시도 큐(PriceSliceRetryQueue)에 쌓인 요청 다시 호출
+ * 수집 지문이 년월 단위라 요청을 년월별로 묶어 파이프라인을 한 번씩 돌리고 결과를 합칩니다.
+ * 성공한 요청은 파이프라인이 큐에서 제거하고, 다시 실패하면 재시도 간격을 늘려서 남겨둡니다.
+ * 갱신 잠금은 호출하는 쪽(PriceRefreshEngine)에서 잡습니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceSliceRetryDrainer {
+
+	private final PriceRefreshPipeline pipeline;
+	private final PriceSliceTracker sliceTracker;
+
+	public PriceRefreshResult drain(List<FailedPriceSlice> due) {
+		log.info("재시도 큐 처리 시작 - {}건", due.size());
+		Map<String, List<PriceRefreshPipeline.FetchRequest>> requestsByMonth = new TreeMap<>();
+		for (FailedPriceSlice failed : due) {
+			requestsByMonth.computeIfAbsent(failed.getYearMonth(), ym -> new ArrayList<>())
+				.add(new PriceRefreshPipeline.FetchRequest(failed.getMarketName(), failed.getItemName(),
+					failed.getYearMonth(), failed.getStartIdx(), failed.getEndIdx(), failed.getId()));
+		}
+
+		PriceRefreshResult total = null;
+		for (Map.Entry<String, List<PriceRefreshPipeline.FetchRequest>> entry : requestsByMonth.entrySet()) {
+			try (PriceRefreshPipeline.Run run = pipeline.open(sliceTracker.open(entry.getKey()))) {
+				run.addTotalRequests(entry.getValue().size());
+				for (PriceRefreshPipeline.FetchRequest request : entry.getValue()) {
+					run.submit(request);
+				}
+				total = merge(total, run.finish());
+			}
+		}
+		return total;
+	}
+
+	private static PriceRefreshResult merge(PriceRefreshResult a, PriceRefreshResult b) {
+		if (a == null) {
+			return b;
+		}
+		return PriceRefreshResult.of(a.getTotalRequests() + b.getTotalRequests(),
+			a.getSuccessCount() + b.getSuccessCount(), a.getFailCount() + b.getFailCount(),
+			a.getSkippedCount() + b.getSkippedCount(), a.getUnchangedCount() + b.getUnchangedCount(),
+			a.getSavedRowCount() + b.getSavedRowCount(), a.getElapsedMillis() + b.getElapsedMillis());
+	}
+}
@@ -0,0 +1,86 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 실패한 서울 API 호출 단위 재시도 큐 (DB 저장)
+ * 실패 횟수에 따라 재시도 간격을 지수적으로 늘리고, maxAttempts를 넘으면 자동 재시도를 중단합니다.
+ */
+@Component
+@Slf4j
+public class PriceSliceRetryQueue {
+
+	private final FailedPriceSliceRepository failedPriceSliceRepository;
+	private final int maxAttempts;
+	private final long baseDelayMinutes;
+	private final long maxDelayMinutes;
+
+	public PriceSliceRetryQueue(FailedPriceSliceRepository failedPriceSliceRepository,
+		@Value("${seoul-api.retry-queue.max-attempts:8}") int maxAttempts,
+		@Value("${seoul-api.retry-queue.base-delay-minutes:10}") long baseDelayMinutes,
+		@Value("${seoul-api.retry-queue.max-delay-minutes:720}") long maxDelayMinutes) {
+		this.failedPriceSliceRepository = failedPriceSliceRepository;
+		this.maxAttempts = maxAttempts;
+		this.baseDelayMinutes = baseDelayMinutes;
+		this.maxDelayMinutes = maxDelayMinutes;
+	}
+
+	/**
+	 * 실패한 호출 단위 적재 (이미 있는 항목이면 실패 횟수 증가)
+	 * @param retryId 재시도 큐에서 꺼내 다시 호출한 경우 해당 항목 ID (새 실패면 null)
+	 */
+	@Transactional
+	public void enqueue(Long retryId, String marketName, String itemName, String yearMonth,
+		int startIdx, int endIdx, String error) {
+		FailedPriceSlice failed = (retryId != null ? failedPriceSliceRepository.findById(retryId)
+			: failedPriceSliceRepository.findByMarketNameAndItemNameAndYearMonthAndStartIdx(
+				marketName, itemName, yearMonth, startIdx))
+			.orElseGet(() -> FailedPriceSlice.builder()
+				.marketName(marketName)
+				.itemName(itemName)
+				.yearMonth(yearMonth)
+				.startIdx(startIdx)
+				.endIdx(endIdx)
+				.build());
+
+		int attempts = failed.getAttempts() + 1;
+		long delayMinutes = Math.min(maxDelayMinutes, baseDelayMinutes << Math.min(attempts - 1, 20));
+		boolean exhausted = attempts >= maxAttempts;
+		failed.recordFailure(error, LocalDateTime.now().plusMinutes(delayMinutes), exhausted);
+		failedPriceSliceRepository.save(failed);
+
+		if (exhausted) {
+			log.warn("재시도 횟수 초과 - 자동 재시도 중단: 시장={}, 품목={}, 년월={}, 구간={}~{}, 오류={}",
+				marketName, itemName, yearMonth, startIdx, endIdx, error);
+		}
+	}
+
+	/**
+	 * 재시도 성공 - 큐에서 제거
+	 */
+	@Transactional
+	public void resolve(Long retryId) {
+		failedPriceSliceRepository.deleteById(retryId);
+	}
+
+	/**
+	 * 재시도 시각이 지난 항목 조회
+	 */
+	@Transactional(readOnly = true)
+	public List<FailedPriceSlice> findDue(int limit) {
+		return failedPriceSliceRepository.findDue(LocalDateTime.now(), PageRequest.of(0, limit));
+	}
+
+	@Transactional(readOnly = true)
+	public long pendingCount() {
+		return failedPriceSliceRepository.countByExhaustedFalse();
+	}
+}
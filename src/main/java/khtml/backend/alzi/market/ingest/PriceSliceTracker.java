@@ -0,0 +1,222 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * (시장, 품목, 년월) 수집 단위별 응답 지문 관리
+ * - 마감된 달(월말 + 유예 기간 이후에 한 번이라도 수집한 달)은 다시 호출하지 않음
+ * - 응답 내용 해시가 이전과 같으면 저장 단계로 넘기지 않음
+ */
+@Component
+@Slf4j
+public class PriceSliceTracker {
+
+	private final PriceSliceFingerprintRepository fingerprintRepository;
+	private final int closedMonthGraceDays;
+
+	public PriceSliceTracker(PriceSliceFingerprintRepository fingerprintRepository,
+		@Value("${seoul-api.refresh.closed-month-grace-days:5}") int closedMonthGraceDays) {
+		this.fingerprintRepository = fingerprintRepository;
+		this.closedMonthGraceDays = closedMonthGraceDays;
+	}
+
+	/**
+	 * 특정 년월의 저장된 지문 전체 적재 (갱신 1회 동안 사용)
+	 */
+	@Transactional(readOnly = true)
+	public MonthFingerprints open(String yearMonth) {
+		MonthFingerprints fingerprints = new MonthFingerprints(yearMonth, settledAfter(yearMonth));
+		for (PriceSliceFingerprint fingerprint : fingerprintRepository.findAllByYearMonth(yearMonth)) {
+			fingerprints.put(fingerprint);
+		}
+		log.debug("년월 '{}' 수집 지문 {}건 적재", yearMonth, fingerprints.size());
+		return fingerprints;
+	}
+
+	/**
+	 * 수집 결과 반영 - 내용이 바뀐 단위는 해시 갱신, 같은 단위는 수집 시각만 갱신
+	 */
+	@Transactional
+	public void record(MonthFingerprints fingerprints, Collection<SliceDigest> digests) {
+		if (digests.isEmpty()) {
+			return;
+		}
+		List<PriceSliceFingerprint> toSave = new ArrayList<>(digests.size());
+		for (SliceDigest digest : digests) {
+			PriceSliceFingerprint fingerprint = fingerprints.get(digest.marketName(), digest.itemName());
+			if (fingerprint == null) {
+				fingerprint = PriceSliceFingerprint.builder()
+					.marketName(digest.marketName())
+					.itemName(digest.itemName())
+					.yearMonth(fingerprints.yearMonth())
+					.contentHash(digest.contentHash())
+					.rowCount(digest.rowCount())
+					.build();
+			} else if (fingerprint.getContentHash().equals(digest.contentHash())) {
+				fingerprint.touch();
+			} else {
+				fingerprint.updateContent(digest.contentHash(), digest.rowCount());
+			}
+			toSave.add(fingerprint);
+		}
+		for (PriceSliceFingerprint saved : fingerprintRepository.saveAll(toSave)) {
+			fingerprints.put(saved);
+		}
+	}
+
+	/**
+	 * 응답 행 목록의 내용 해시 (행 순서와 무관)
+	 */
+	public static String hash(Collection<SeoulApiResponse.PriceInfo> rows) {
+		List<String> lines = new ArrayList<>(rows.size());
+		for (SeoulApiResponse.PriceInfo row : rows) {
+			lines.add(line(row));
+		}
+		return hashLines(lines);
+	}
+
+	private static String line(SeoulApiResponse.PriceInfo row) {
+		return String.join("\u001f", String.valueOf(row.getMarketName()), String.valueOf(row.getItemName()),
+			String.valueOf(row.getItemUnit()), String.valueOf(row.getPrice()),
+			String.valueOf(row.getAdditionalInfo()), String.valueOf(row.getPriceDate()));
+	}
+
+	/**
+	 * 여러 해시를 순서대로 합친 해시 (월간 페이지 해시 -> 월 전체 해시)
+	 */
+	public static String combine(List<String> hashes) {
+		MessageDigest digest = sha256();
+		for (String hash : hashes) {
+			digest.update(hash.getBytes(StandardCharsets.US_ASCII));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static String hashLines(List<String> lines) {
+		lines.sort(null);
+		MessageDigest digest = sha256();
+		for (String line : lines) {
+			digest.update(line.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) '\n');
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 미지원 환경", e);
+		}
+	}
+
+	// 이 시각 이후에 수집한 지문이 있으면 해당 월은 마감된 것으로 봄 (진행 중인 달은 null)
+	private LocalDateTime settledAfter(String yearMonth) {
+		YearMonth month = YearMonth.parse(yearMonth);
+		if (!month.isBefore(YearMonth.now())) {
+			return null;
+		}
+		return month.plusMonths(1).atDay(1).atStartOfDay().plusDays(closedMonthGraceDays);
+	}
+
+	/**
+	 * 수집 단위 1건의 응답 해시
+	 */
+	public record SliceDigest(String marketName, String itemName, String contentHash, int rowCount) {
+	}
+
+	/**
+	 * 특정 년월의 수집 지문 맵 (갱신 1회 동안 여러 스레드에서 공유)
+	 */
+	public static class MonthFingerprints {
+
+		private final String yearMonth;
+		private final LocalDateTime settledAfter;
+		private final Map<String, PriceSliceFingerprint> bySlice = new ConcurrentHashMap<>();
+
+		MonthFingerprints(String yearMonth, LocalDateTime settledAfter) {
+			this.yearMonth = yearMonth;
+			this.settledAfter = settledAfter;
+		}
+
+		public String yearMonth() {
+			return yearMonth;
+		}
+
+		/**
+		 * 마감된 달에 대해 마감 이후 수집한 지문이 있으면 다시 호출할 필요 없음
+		 */
+		public boolean isSettled(String marketName, String itemName) {
+			if (settledAfter == null) {
+				return false;
+			}
+			PriceSliceFingerprint fingerprint = get(marketName, itemName);
+			return fingerprint != null && fingerprint.getLastFetchedAt() != null
+				&& fingerprint.getLastFetchedAt().isAfter(settledAfter);
+		}
+
+		/**
+		 * 이전 수집과 응답 내용이 같은지 확인
+		 */
+		public boolean isUnchanged(SliceDigest digest) {
+			PriceSliceFingerprint fingerprint = get(digest.marketName(), digest.itemName());
+			return fingerprint != null && fingerprint.getContentHash().equals(digest.contentHash());
+		}
+
+		PriceSliceFingerprint get(String marketName, String itemName) {
+			return bySlice.get(key(marketName, itemName));
+		}
+
+		void put(PriceSliceFingerprint fingerprint) {
+			bySlice.put(key(fingerprint.getMarketName(), fingerprint.getItemName()), fingerprint);
+		}
+
+		int size() {
+			return bySlice.size();
+		}
+
+		private static String key(String marketName, String itemName) {
+			return marketName + "|" + itemName;
+		}
+	}
+
+	/**
+	 * 스트리밍으로 받는 행의 내용 해시 (행 순서와 무관, 행 목록을 들고 있지 않음)
+	 * 행마다 SHA-256을 구해 2^256 으로 나눈 나머지로 더합니다. hash(rows)와 값이 다르므로 월간 페이지 해시에만 씁니다.
+	 */
+	public static class RowHasher implements Consumer<SeoulApiResponse.PriceInfo> {
+
+		private static final BigInteger MODULUS = BigInteger.ONE.shiftLeft(256);
+
+		private BigInteger total = BigInteger.ZERO;
+
+		@Override
+		public void accept(SeoulApiResponse.PriceInfo row) {
+			byte[] rowHash = sha256().digest(line(row).getBytes(StandardCharsets.UTF_8));
+			total = total.add(new BigInteger(1, rowHash)).mod(MODULUS);
+		}
+
+		public String value() {
+			return String.format("%064x", total);
+		}
+	}
+}
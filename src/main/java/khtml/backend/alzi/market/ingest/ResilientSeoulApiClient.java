@@ -0,0 +1,240 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서울 API 호출 보호 계층 (갱신 엔진 / 배치 작업 공용)
+ * - bulkhead: 수집 쪽 동시 호출 수를 제한해서 HTTP 커넥션과 스레드를 사용자 요청 몫까지 쓰지 않도록 함
+ * - 서킷 브레이커: 실패율이 치솟으면 갱신 전체를 일시 정지
+ * - 재시도: 일시적 오류(네트워크, 5xx, 429, 서울 API 서버/DB 오류 코드)는 지수 백오프 + full jitter로 재시도
+ * 응답 행은 청크 단위로 모아서 청크가 찰 때마다 넘기고, 시도가 실패하면 덜 찬 청크만 버립니다.
+ * 재시도할 때는 앞선 시도에서 이미 넘긴 행 수만큼 건너뛰므로 (같은 조회 구간은 같은 순서로 응답) 행이 중복 전달되지 않습니다.
+ * bulkhead 허가는 HTTP 호출 동안만 잡고, 백오프 대기나 서킷 OPEN 대기 중에는 놓습니다.
+ * 사용자 요청으로 한 건만 조회하는 경로(fetchFailFast)는 서킷이 열려 있으면 기다리지 않고 바로 실패하고,
+ * 재시도 횟수와 대기 시간도 seoul-api.interactive 설정으로 짧게 제한합니다.
+ */
+@Component
+@Slf4j
+public class ResilientSeoulApiClient {
+
+	private final SeoulApiClient seoulApiClient;
+	private final TokenBucketRateLimiter rateLimiter;
+	private final SeoulApiCircuitBreaker circuitBreaker;
+	private final Semaphore bulkhead;
+	private final long baseBackoffMs;
+	// 갱신 엔진/배치 작업용 (서킷 OPEN 동안 최대 maxPauseMs까지 대기)
+	private final CallPolicy refreshPolicy;
+	// 사용자 요청용 (서킷 OPEN이면 바로 실패)
+	private final CallPolicy interactivePolicy;
+
+	public ResilientSeoulApiClient(SeoulApiClient seoulApiClient, TokenBucketRateLimiter rateLimiter,
+		SeoulApiCircuitBreaker circuitBreaker,
+		@Value("${seoul-api.bulkhead.max-concurrent-calls:16}") int maxConcurrentCalls,
+		@Value("${seoul-api.bulkhead.max-wait-ms:30000}") long bulkheadWaitMs,
+		@Value("${seoul-api.retry.max-attempts:4}") int maxAttempts,
+		@Value("${seoul-api.retry.base-backoff-ms:500}") long baseBackoffMs,
+		@Value("${seoul-api.retry.max-backoff-ms:10000}") long maxBackoffMs,
+		@Value("${seoul-api.circuit.max-pause-ms:600000}") long maxPauseMs,
+		@Value("${seoul-api.interactive.max-attempts:1}") int interactiveMaxAttempts,
+		@Value("${seoul-api.interactive.max-wait-ms:1000}") long interactiveMaxWaitMs) {
+		this.seoulApiClient = seoulApiClient;
+		this.rateLimiter = rateLimiter;
+		this.circuitBreaker = circuitBreaker;
+		this.bulkhead = new Semaphore(maxConcurrentCalls);
+		this.baseBackoffMs = baseBackoffMs;
+		this.refreshPolicy = new CallPolicy(Math.max(maxAttempts, 1), TimeUnit.MILLISECONDS.toNanos(maxPauseMs),
+			bulkheadWaitMs, maxBackoffMs);
+		this.interactivePolicy = new CallPolicy(Math.max(interactiveMaxAttempts, 1), 0,
+			Math.min(bulkheadWaitMs, interactiveMaxWaitMs), Math.min(maxBackoffMs, interactiveMaxWaitMs));
+	}
+
+	/**
+	 * 조회 구간 전체 행을 받아서 반환 (priceInfos 포함, 최대 100건 단위 조회용)
+	 * 재시도 후에도 실패하면 마지막 오류를 던집니다.
+	 */
+	public SeoulApiResponse fetch(String marketName, String itemName, String yearMonth, int startIdx, int endIdx)
+		throws Exception {
+		return fetch(refreshPolicy, marketName, itemName, yearMonth, startIdx, endIdx);
+	}
+
+	/**
+	 * 사용자 요청 경로용 fetch - 서킷이 OPEN이면 CircuitOpenException으로 바로 실패하고,
+	 * 재시도 횟수와 bulkhead/백오프 대기 시간은 seoul-api.interactive 설정으로 제한합니다.
+	 */
+	public SeoulApiResponse fetchFailFast(String marketName, String itemName, String yearMonth, int startIdx,
+		int endIdx) throws Exception {
+		return fetch(interactivePolicy, marketName, itemName, yearMonth, startIdx, endIdx);
+	}
+
+	private SeoulApiResponse fetch(CallPolicy policy, String marketName, String itemName, String yearMonth,
+		int startIdx, int endIdx) throws Exception {
+		List<SeoulApiResponse.PriceInfo> rows = new ArrayList<>();
+		// 조회 구간 전체를 한 청크로 두어 성공한 시도의 행만 전달
+		SeoulApiResponse response = fetchStreaming(policy, marketName, itemName, yearMonth, startIdx, endIdx,
+			Math.max(endIdx - startIdx + 1, 1), rows::add);
+		response.setPriceInfos(rows);
+		return response;
+	}
+
+	/**
+	 * 응답 행을 chunkRows 건씩 모아 consumer로 넘기면서 조회 (월간 페이지 수집용)
+	 * 재시도 후에도 실패하면 마지막 오류를 던지며, 그때까지 넘긴 청크는 되돌리지 않습니다.
+	 *
+	 * @return list_total_count와 RESULT만 채워진 응답 헤더
+	 */
+	public SeoulApiResponse fetchStreaming(String marketName, String itemName, String yearMonth, int startIdx,
+		int endIdx, int chunkRows, Consumer<SeoulApiResponse.PriceInfo> consumer) throws Exception {
+		return fetchStreaming(refreshPolicy, marketName, itemName, yearMonth, startIdx, endIdx, chunkRows, consumer);
+	}
+
+	private SeoulApiResponse fetchStreaming(CallPolicy policy, String marketName, String itemName,
+		String yearMonth, int startIdx, int endIdx, int chunkRows, Consumer<SeoulApiResponse.PriceInfo> consumer)
+		throws Exception {
+		int delivered = 0;
+		for (int attempt = 1; ; attempt++) {
+			// 서킷/호출 속도 대기는 bulkhead 허가 없이
+			circuitBreaker.acquirePermission(policy.maxPauseNanos());
+			rateLimiter.acquire();
+			if (!bulkhead.tryAcquire(policy.bulkheadWaitMs(), TimeUnit.MILLISECONDS)) {
+				throw new IllegalStateException("서울 API 동시 호출 한도 초과 (bulkhead)");
+			}
+
+			ChunkBuffer buffer = new ChunkBuffer(consumer, chunkRows, delivered);
+			Exception failure;
+			boolean succeeded = false;
+			try {
+				SeoulApiResponse response = seoulApiClient.fetchStreaming(marketName, itemName, yearMonth,
+					startIdx, endIdx, buffer);
+				checkResultCode(response);
+				buffer.flush();
+				succeeded = true;
+				return response;
+
+			} catch (Exception e) {
+				failure = e;
+				delivered = buffer.delivered();
+
+			} finally {
+				bulkhead.release();
+				if (succeeded) {
+					circuitBreaker.onSuccess();
+				} else {
+					circuitBreaker.onFailure();
+				}
+			}
+
+			if (attempt >= policy.maxAttempts() || !isTransient(failure)) {
+				throw failure;
+			}
+			long backoffMs = backoffMillis(attempt, policy.maxBackoffMs());
+			log.debug("서울 API 일시 오류 - {}/{}/{} {}~{}, {}회차, {}ms 후 재시도 (전달한 행 {}건 건너뜀): {}",
+				marketName, itemName, yearMonth, startIdx, endIdx, attempt, backoffMs, delivered,
+				failure.getMessage());
+			TimeUnit.MILLISECONDS.sleep(backoffMs);
+		}
+	}
+
+	// full jitter: 0 ~ min(max, base * 2^(attempt-1))
+	private long backoffMillis(int attempt, long maxBackoffMs) {
+		long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+		return ThreadLocalRandom.current().nextLong(ceiling + 1);
+	}
+
+	// 서울 API는 오류도 HTTP 200 + RESULT 코드로 응답하므로 ERROR 코드는 예외로 변환
+	private static void checkResultCode(SeoulApiResponse response) {
+		if (response != null && response.getResult() != null && response.getResult().getCode() != null
+			&& response.getResult().getCode().startsWith("ERROR-")) {
+			throw new SeoulApiResultException(response.getResult().getCode(), response.getResult().getMessage());
+		}
+	}
+
+	private static boolean isTransient(Exception e) {
+		if (e instanceof SeoulApiResultException resultException) {
+			return resultException.isTransient();
+		}
+		return e instanceof IOException
+			|| e instanceof ResourceAccessException
+			|| e instanceof HttpServerErrorException
+			|| e instanceof HttpClientErrorException.TooManyRequests;
+	}
+
+	private record CallPolicy(int maxAttempts, long maxPauseNanos, long bulkheadWaitMs, long maxBackoffMs) {
+	}
+
+	/**
+	 * 한 번의 시도에서 받은 행을 청크 단위로 모아 넘기는 버퍼
+	 * 앞선 시도에서 이미 넘긴 행은 건너뛰고, 시도가 실패하면 덜 찬 청크는 넘기지 않고 버립니다.
+	 */
+	private static class ChunkBuffer implements Consumer<SeoulApiResponse.PriceInfo> {
+
+		private final Consumer<SeoulApiResponse.PriceInfo> consumer;
+		private final int chunkRows;
+		private final List<SeoulApiResponse.PriceInfo> chunk = new ArrayList<>();
+		private int skip;
+		private int delivered;
+
+		ChunkBuffer(Consumer<SeoulApiResponse.PriceInfo> consumer, int chunkRows, int alreadyDelivered) {
+			this.consumer = consumer;
+			this.chunkRows = Math.max(chunkRows, 1);
+			this.skip = alreadyDelivered;
+			this.delivered = alreadyDelivered;
+		}
+
+		@Override
+		public void accept(SeoulApiResponse.PriceInfo row) {
+			if (skip > 0) {
+				skip--;
+				return;
+			}
+			chunk.add(row);
+			if (chunk.size() >= chunkRows) {
+				flush();
+			}
+		}
+
+		void flush() {
+			for (SeoulApiResponse.PriceInfo row : chunk) {
+				consumer.accept(row);
+			}
+			delivered += chunk.size();
+			chunk.clear();
+		}
+
+		int delivered() {
+			return delivered;
+		}
+	}
+
+	/**
+	 * 서울 API가 ERROR 결과 코드로 응답한 경우
+	 * ERROR-5xx(서버 오류), ERROR-6xx(DB 연결/SQL 오류)는 일시적 오류로 보고 재시도합니다.
+	 */
+	public static class SeoulApiResultException extends RuntimeException {
+
+		private final String code;
+
+		public SeoulApiResultException(String code, String message) {
+			super(code + " " + message);
+			this.code = code;
+		}
+
+		public boolean isTransient() {
+			return code.startsWith("ERROR-5") || code.startsWith("ERROR-6");
+		}
+	}
+}
@@ -0,0 +1,153 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서울 API 서킷 브레이커
+ * 최근 windowSize 건의 호출 중 실패율이 임계치를 넘으면 OPEN 상태로 바뀌어 openDuration 동안 모든 호출을 멈춥니다
+ * (fetch 스레드가 대기하므로 갱신 전체가 일시 정지됩니다).
+ * 이후 HALF_OPEN 상태에서 한 건만 시험 호출해서 성공하면 CLOSED, 실패하면 다시 OPEN으로 돌아갑니다.
+ */
+@Component
+@Slf4j
+public class SeoulApiCircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	// HALF_OPEN에서 시험 호출 결과를 기다리는 동안 다른 호출의 재확인 간격
+	private static final long HALF_OPEN_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+	private final boolean[] window;
+	private final int minimumCalls;
+	private final double failureRateThreshold;
+	private final long openDurationNanos;
+
+	private State state = State.CLOSED;
+	private int windowIndex;
+	private int windowCount;
+	private int windowFailures;
+	private long openedAt;
+	private boolean probeInFlight;
+
+	public SeoulApiCircuitBreaker(@Value("${seoul-api.circuit.window-size:50}") int windowSize,
+		@Value("${seoul-api.circuit.minimum-calls:20}") int minimumCalls,
+		@Value("${seoul-api.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+		@Value("${seoul-api.circuit.open-duration-ms:30000}") long openDurationMs) {
+		this.window = new boolean[Math.max(windowSize, 1)];
+		this.minimumCalls = Math.min(Math.max(minimumCalls, 1), this.window.length);
+		this.failureRateThreshold = failureRateThreshold;
+		this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+	}
+
+	/**
+	 * 호출 허가를 받을 때까지 대기
+	 * @param maxWaitNanos 최대 대기 시간 - 넘기면 CircuitOpenException
+	 */
+	public void acquirePermission(long maxWaitNanos) throws InterruptedException {
+		long deadline = System.nanoTime() + maxWaitNanos;
+		while (true) {
+			long waitNanos = permissionWaitNanos();
+			if (waitNanos == 0) {
+				return;
+			}
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				throw new CircuitOpenException("서울 API 서킷 브레이커 OPEN 상태 - 호출을 중단합니다");
+			}
+			TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, remaining));
+		}
+	}
+
+	public synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			log.info("서울 API 시험 호출 성공 - 서킷 브레이커 CLOSED");
+			close();
+			return;
+		}
+		record(false);
+	}
+
+	public synchronized void onFailure() {
+		if (state == State.HALF_OPEN) {
+			log.warn("서울 API 시험 호출 실패 - 서킷 브레이커 다시 OPEN ({}ms)",
+				TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+			open();
+			return;
+		}
+		record(true);
+		if (state == State.CLOSED && windowCount >= minimumCalls
+			&& (double)windowFailures / windowCount >= failureRateThreshold) {
+			log.warn("서울 API 실패율 {}/{} - 서킷 브레이커 OPEN, {}ms 동안 호출 중단",
+				windowFailures, windowCount, TimeUnit.NANOSECONDS.toMillis(openDurationNanos));
+			open();
+		}
+	}
+
+	public synchronized State state() {
+		return state;
+	}
+
+	// 지금 호출해도 되면 0, 아니면 다시 확인하기까지 기다릴 시간
+	private synchronized long permissionWaitNanos() {
+		if (state == State.OPEN) {
+			long remaining = openedAt + openDurationNanos - System.nanoTime();
+			if (remaining > 0) {
+				return remaining;
+			}
+			state = State.HALF_OPEN;
+			probeInFlight = false;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probeInFlight) {
+				return HALF_OPEN_POLL_NANOS;
+			}
+			probeInFlight = true;
+		}
+		return 0;
+	}
+
+	private void record(boolean failure) {
+		if (windowCount == window.length) {
+			if (window[windowIndex]) {
+				windowFailures--;
+			}
+		} else {
+			windowCount++;
+		}
+		window[windowIndex] = failure;
+		if (failure) {
+			windowFailures++;
+		}
+		windowIndex = (windowIndex + 1) % window.length;
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = System.nanoTime();
+		probeInFlight = false;
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		windowIndex = 0;
+		windowCount = 0;
+		windowFailures = 0;
+		probeInFlight = false;
+	}
+
+	/**
+	 * 서킷 브레이커가 열려 있어 호출하지 못한 경우
+	 */
+	public static class CircuitOpenException extends RuntimeException {
+		public CircuitOpenException(String message) {
+			super(message);
+		}
+	}
+}
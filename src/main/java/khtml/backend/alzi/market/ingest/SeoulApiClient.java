@@ -0,0 +1,89 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+
+/**
+ * 서울 열린데이터광장 생필품 가격 API(ListNecessariesPricesService) 호출 전용 클라이언트
+ * DB 작업 없이 API 호출과 XML 파싱만 담당합니다.
+ * HTTP 호출은 커넥션 풀이 설정된 seoulApiRestTemplate을 사용하며 (SeoulApiHttpClientConfig),
+ * seoul-api.base-url로 호출 대상을 바꿔 로컬 stub 서버에 붙여 테스트할 수 있습니다.
+ */
+@Component
+public class SeoulApiClient {
+
+	public static final String SUCCESS_CODE = "INFO-000";
+	// 해당 조건의 데이터 없음
+	public static final String NO_DATA_CODE = "INFO-200";
+
+	private static final String PATH = "/{apiKey}/xml/ListNecessariesPricesService/{startIdx}/{endIdx}/{marketName}/{itemName}/{yearMonth}";
+
+	private final RestTemplate restTemplate;
+	private final SeoulApiXmlStreamParser streamParser;
+
+	// API KEY는 실제 환경에서는 application.properties에서 가져와야 합니다
+	@Value("${api-key}")
+	private String apiKey;
+
+	@Value("${seoul-api.base-url:http://openAPI.seoul.go.kr:8088}")
+	private String baseUrl;
+
+	public SeoulApiClient(SeoulApiXmlStreamParser streamParser,
+		@Qualifier("seoulApiRestTemplate") RestTemplate restTemplate) {
+		this.streamParser = streamParser;
+		this.restTemplate = restTemplate;
+	}
+
+	/**
+	 * 시장/품목/년월 조건으로 startIdx~endIdx 구간의 가격 정보를 조회
+	 * 응답 본문을 String으로 받지 않고 InputStream에서 바로 파싱하여 row마다 consumer로 전달합니다.
+	 * (대량 페이지(최대 1000건)도 응답 전체를 힙에 올리지 않음)
+	 *
+	 * @return list_total_count와 RESULT만 채워진 응답 헤더
+	 */
+	public SeoulApiResponse fetchStreaming(String marketName, String itemName, String yearMonth,
+		int startIdx, int endIdx, Consumer<SeoulApiResponse.PriceInfo> consumer) {
+		String url = buildUrl(marketName, itemName, yearMonth, startIdx, endIdx);
+
+		return restTemplate.execute(url, HttpMethod.GET, null, response -> {
+			try {
+				return streamParser.parse(response.getBody(), consumer);
+			} catch (XMLStreamException e) {
+				throw new IOException("서울 API XML 파싱 실패", e);
+			}
+		});
+	}
+
+	private String buildUrl(String marketName, String itemName, String yearMonth, int startIdx, int endIdx) {
+		return (baseUrl + PATH)
+			.replace("{apiKey}", apiKey)
+			.replace("{startIdx}", String.valueOf(startIdx))
+			.replace("{endIdx}", String.valueOf(endIdx))
+			.replace("{marketName}", marketName)
+			.replace("{itemName}", itemName)
+			.replace("{yearMonth}", yearMonth);
+	}
+
+	public static boolean isSuccess(SeoulApiResponse response) {
+		return response != null && response.getResult() != null
+			&& SUCCESS_CODE.equals(response.getResult().getCode());
+	}
+
+	/**
+	 * 정상 응답 여부 (데이터 없음 포함) - 오류 코드가 아니면 응답 내용을 신뢰할 수 있음
+	 */
+	public static boolean isDefinitive(SeoulApiResponse response) {
+		return isSuccess(response) || (response != null && response.getResult() != null
+			&& NO_DATA_CODE.equals(response.getResult().getCode()));
+	}
+}
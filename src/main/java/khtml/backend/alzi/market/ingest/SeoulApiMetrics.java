@@ -0,0 +1,80 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.dto.response.ApiLatencyStats;
+
+/**
+ * 서울 API 요청별 응답 시간 집계 (응답 헤더 수신까지의 시간)
+ * 고정 구간 히스토그램으로 백분위를 근사하며, 락 없이 여러 fetch 스레드에서 동시에 기록합니다.
+ */
+@Component
+public class SeoulApiMetrics {
+
+	// 히스토그램 구간 상한 (ms) - 마지막 구간은 상한 없음
+	private static final long[] BUCKET_BOUNDS_MILLIS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+	private final LongAdder requestCount = new LongAdder();
+	private final LongAdder errorCount = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+	public void record(long elapsedNanos, boolean error) {
+		requestCount.increment();
+		if (error) {
+			errorCount.increment();
+		}
+		totalNanos.add(elapsedNanos);
+		maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+
+		long millis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS_MILLIS.length && millis > BUCKET_BOUNDS_MILLIS[bucket]) {
+			bucket++;
+		}
+		buckets.incrementAndGet(bucket);
+	}
+
+	public ApiLatencyStats snapshot() {
+		long count = requestCount.sum();
+		long[] counts = new long[buckets.length()];
+		long bucketTotal = 0;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = buckets.get(i);
+			bucketTotal += counts[i];
+		}
+		long maxMillis = TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+
+		return ApiLatencyStats.builder()
+			.requestCount(count)
+			.errorCount(errorCount.sum())
+			.avgMillis(count > 0 ? totalNanos.sum() / 1_000_000.0 / count : 0)
+			.maxMillis(maxMillis)
+			.p50Millis(percentile(counts, bucketTotal, 0.50, maxMillis))
+			.p95Millis(percentile(counts, bucketTotal, 0.95, maxMillis))
+			.p99Millis(percentile(counts, bucketTotal, 0.99, maxMillis))
+			.build();
+	}
+
+	// 해당 백분위가 속한 구간의 상한 (마지막 구간이면 최대값)
+	private static long percentile(long[] counts, long total, double quantile, long maxMillis) {
+		if (total == 0) {
+			return 0;
+		}
+		long rank = (long)Math.ceil(total * quantile);
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return i < BUCKET_BOUNDS_MILLIS.length ? Math.min(BUCKET_BOUNDS_MILLIS[i], maxMillis) : maxMillis;
+			}
+		}
+		return maxMillis;
+	}
+}
@@ -0,0 +1,38 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 서울 API 요청마다 응답 시간을 SeoulApiMetrics에 기록하는 interceptor
+ * 응답 본문은 스트리밍으로 읽으므로 응답 헤더를 받을 때까지의 시간을 측정합니다.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SeoulApiMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+	private final SeoulApiMetrics metrics;
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+		throws IOException {
+		long startedAt = System.nanoTime();
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			long elapsedNanos = System.nanoTime() - startedAt;
+			metrics.record(elapsedNanos, response.getStatusCode().isError());
+			log.trace("서울 API 응답 {} - {}ms", response.getStatusCode(), elapsedNanos / 1_000_000);
+			return response;
+		} catch (IOException e) {
+			metrics.record(System.nanoTime() - startedAt, true);
+			throw e;
+		}
+	}
+}
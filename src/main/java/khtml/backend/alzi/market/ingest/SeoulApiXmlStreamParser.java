@@ -0,0 +1,115 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+
+/**
+ * 서울 API XML 응답 스트리밍 파서 (StAX)
+ * 응답 InputStream에서 row 요소를 하나씩 읽어 바로 consumer로 넘기므로
+ * 페이지 전체가 String이나 List로 메모리에 올라가지 않습니다.
+ */
+@Component
+public class SeoulApiXmlStreamParser {
+
+	private final XMLInputFactory inputFactory;
+
+	public SeoulApiXmlStreamParser() {
+		this.inputFactory = XMLInputFactory.newFactory();
+		// 외부 엔티티/DTD 처리 비활성화
+		this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+	}
+
+	/**
+	 * 응답을 파싱하면서 row마다 consumer 호출
+	 *
+	 * @return list_total_count와 RESULT만 채워진 응답 헤더 (priceInfos는 null)
+	 */
+	public SeoulApiResponse parse(InputStream in, Consumer<SeoulApiResponse.PriceInfo> consumer)
+		throws XMLStreamException {
+		XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+		SeoulApiResponse header = new SeoulApiResponse();
+		SeoulApiResponse.PriceInfo current = null;
+		boolean inResult = false;
+
+		try {
+			while (reader.hasNext()) {
+				int event = reader.next();
+
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String name = reader.getLocalName();
+					if ("row".equals(name)) {
+						current = new SeoulApiResponse.PriceInfo();
+					} else if (current != null) {
+						setField(current, name, reader.getElementText());
+					} else if ("RESULT".equals(name)) {
+						inResult = true;
+						header.setResult(new SeoulApiResponse.ApiResult());
+					} else if (inResult && "CODE".equals(name)) {
+						header.getResult().setCode(reader.getElementText().trim());
+					} else if (inResult && "MESSAGE".equals(name)) {
+						header.getResult().setMessage(reader.getElementText().trim());
+					} else if ("list_total_count".equals(name)) {
+						header.setListTotalCount(Integer.parseInt(reader.getElementText().trim()));
+					}
+
+				} else if (event == XMLStreamConstants.END_ELEMENT) {
+					String name = reader.getLocalName();
+					if ("row".equals(name) && current != null) {
+						consumer.accept(current);
+						current = null;
+					} else if ("RESULT".equals(name)) {
+						inResult = false;
+					}
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		return header;
+	}
+
+	private void setField(SeoulApiResponse.PriceInfo priceInfo, String name, String rawText) {
+		String text = rawText == null || rawText.trim().isEmpty() ? null : rawText.trim();
+		switch (name) {
+			case "P_SEQ" -> priceInfo.setPriceSeq(parseLong(text));
+			case "P_YEAR_MONTH" -> priceInfo.setYearMonth(text);
+			case "M_SEQ" -> priceInfo.setMarketSeq(parseLong(text));
+			case "M_NAME" -> priceInfo.setMarketName(text);
+			case "M_TYPE_CODE" -> priceInfo.setMarketTypeCode(text);
+			case "M_TYPE_NAME" -> priceInfo.setMarketTypeName(text);
+			case "M_GU_CODE" -> priceInfo.setDistrictCode(text);
+			case "M_GU_NAME" -> priceInfo.setDistrictName(text);
+			case "A_SEQ" -> priceInfo.setItemSeq(parseLong(text));
+			case "A_NAME" -> priceInfo.setItemName(text);
+			case "A_UNIT" -> priceInfo.setItemUnit(text);
+			case "A_PRICE" -> priceInfo.setPrice(text);
+			case "ADD_COL" -> priceInfo.setAdditionalInfo(text);
+			case "P_DATE" -> priceInfo.setPriceDate(text);
+			default -> {
+				// 알 수 없는 필드는 무시 (FAIL_ON_UNKNOWN_PROPERTIES = false 와 동일)
+			}
+		}
+	}
+
+	private Long parseLong(String text) {
+		if (text == null) {
+			return null;
+		}
+		try {
+			return Long.parseLong(text);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
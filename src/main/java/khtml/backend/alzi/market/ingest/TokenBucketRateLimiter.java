@@ -0,0 +1,55 @@
+package khtml.backend.alzi.market.ingest;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 서울 API 호출용 토큰 버킷 Rate Limiter
+ * 초당 permitsPerSecond 개의 토큰이 채워지고, 최대 burst 개까지 쌓아둘 수 있습니다.
+ * 고정 sleep 대신 허용된 호출 속도만큼만 대기합니다.
+ * 갱신 엔진과 배치 작업이 같은 인스턴스를 공유해서 API 호출 한도를 함께 지킵니다.
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+	private final long nanosPerPermit;
+	private final long maxBurstNanos;
+
+	// 다음 토큰이 사용 가능해지는 시각 (System.nanoTime 기준)
+	private long nextFreeNanos;
+
+	public TokenBucketRateLimiter(@Value("${seoul-api.refresh.permits-per-second:10}") double permitsPerSecond,
+		@Value("${seoul-api.refresh.burst:10}") int burst) {
+		if (permitsPerSecond <= 0) {
+			throw new IllegalArgumentException("permitsPerSecond는 0보다 커야 합니다: " + permitsPerSecond);
+		}
+		if (burst < 1) {
+			throw new IllegalArgumentException("burst는 1 이상이어야 합니다: " + burst);
+		}
+		this.nanosPerPermit = (long)(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+		this.maxBurstNanos = nanosPerPermit * (burst - 1);
+		this.nextFreeNanos = System.nanoTime() - maxBurstNanos;
+	}
+
+	/**
+	 * 토큰 하나를 획득할 때까지 대기
+	 */
+	public void acquire() throws InterruptedException {
+		long waitNanos;
+		synchronized (this) {
+			long now = System.nanoTime();
+			// 오래 쉬었더라도 burst 개수 이상은 쌓이지 않도록 제한
+			long earliest = now - maxBurstNanos;
+			if (nextFreeNanos < earliest) {
+				nextFreeNanos = earliest;
+			}
+			waitNanos = nextFreeNanos - now;
+			nextFreeNanos += nanosPerPermit;
+		}
+		if (waitNanos > 0) {
+			TimeUnit.NANOSECONDS.sleep(waitNanos);
+		}
+	}
+}
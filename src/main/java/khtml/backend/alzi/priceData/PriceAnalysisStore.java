@@ -0,0 +1,161 @@
+package khtml.backend.alzi.priceData;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+import khtml.backend.alzi.utils.OnlinePriceIndicators;
+import khtml.backend.alzi.utils.PricePredictionUtil;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PriceData 이력 기반 가격 분석(PricePredictionUtil.PriceAnalysis) 저장소
+ * (품목, 시장 또는 전체 시장, 데이터 버전)으로 보관하고, 가격 이력이 바뀌는 가져오기가 끝나면 데이터 버전을 올립니다.
+ * 이전 버전 항목은 버리고, 그중 조회된 적 있는 품목/시장은 백그라운드에서 새 버전으로 미리 계산합니다.
+ * 메모리에 없으면 가져오기가 갱신해 둔 시계열 상태(PriceSeriesStateStore)로 이력을 읽지 않고 계산하고,
+ * 상태도 없으면 이력으로 상태를 만들어 저장한 뒤 계산합니다.
+ * 계산 도중 버전이 바뀌면 결과는 이전 버전 키로 들어가서 읽히지 않습니다.
+ * 분석은 PriceData 이력만 쓰므로 ItemPrice 갱신으로는 무효화하지 않습니다.
+ * 반환하는 분석 객체는 여러 요청이 공유하므로 호출하는 쪽에서 수정하면 안 됩니다.
+ */
+@Component
+@Slf4j
+public class PriceAnalysisStore {
+	// 시장 구분 없이 전체 이력으로 계산한 분석
+	public static final String ALL_MARKETS = "*";
+
+	private final PricePredictionUtil pricePredictionUtil;
+	private final PriceHistoryService priceHistoryService;
+	private final PriceSeriesStateStore seriesStateStore;
+	private final boolean precompute;
+	private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicLong dataVersion = new AtomicLong();
+	private final ExecutorService precomputeExecutor = Executors.newSingleThreadExecutor(
+		new CustomizableThreadFactory("price-analysis-precompute-"));
+
+	public PriceAnalysisStore(PricePredictionUtil pricePredictionUtil, PriceHistoryService priceHistoryService,
+		PriceSeriesStateStore seriesStateStore, @Value("${price-data.analysis.precompute:true}") boolean precompute) {
+		this.pricePredictionUtil = pricePredictionUtil;
+		this.priceHistoryService = priceHistoryService;
+		this.seriesStateStore = seriesStateStore;
+		this.precompute = precompute;
+	}
+
+	/**
+	 * 분석 조회 (없으면 시계열 상태 또는 history로 계산해서 저장)
+	 * @param marketName 시장명 (null이면 전체 시장)
+	 * @param history 해당 품목/시장의 전체 가격 이력 (기간을 자른 이력은 넘기지 않음, 시계열 상태가 있으면 읽지 않음)
+	 * @return 이력이 없으면 null
+	 */
+	public PricePredictionUtil.PriceAnalysis get(String itemName, String marketName,
+		Supplier<List<MarketItemPriceResponse.PriceDataInfo>> history) {
+		Key key = new Key(itemName, marketName != null ? marketName : ALL_MARKETS, dataVersion.get());
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry(analyze(itemName, marketName, history));
+			entries.putIfAbsent(key, entry);
+		}
+		return entry.analysis();
+	}
+
+	private PricePredictionUtil.PriceAnalysis analyze(String itemName, String marketName,
+		Supplier<List<MarketItemPriceResponse.PriceDataInfo>> history) {
+		OnlinePriceIndicators indicators = seriesStateStore.find(itemName, marketName);
+		if (indicators != null) {
+			return pricePredictionUtil.analyzeIndicators(itemName, indicators);
+		}
+
+		List<MarketItemPriceResponse.PriceDataInfo> priceHistory = history.get();
+		indicators = OnlinePriceIndicators.from(priceHistory);
+		if (indicators == null) {
+			// price_won이 없는 이력은 상태 없이 계산
+			return pricePredictionUtil.analyzePriceHistory(itemName, priceHistory);
+		}
+		seriesStateStore.saveIfCurrent(itemName, marketName, indicators);
+		return pricePredictionUtil.analyzeIndicators(itemName, indicators);
+	}
+
+	public long dataVersion() {
+		return dataVersion.get();
+	}
+
+	/**
+	 * 가격 이력이 바뀐 뒤 호출 - 데이터 버전을 올리고 이전 버전 분석을 다시 계산
+	 */
+	public void invalidate() {
+		long version = dataVersion.incrementAndGet();
+		Set<String> items = new HashSet<>();
+		Set<String> markets = new HashSet<>();
+		for (Key key : entries.keySet()) {
+			if (key.version() >= version) {
+				continue;
+			}
+			if (ALL_MARKETS.equals(key.marketName())) {
+				items.add(key.itemName());
+			} else {
+				markets.add(key.marketName());
+			}
+		}
+		entries.keySet().removeIf(key -> key.version() < version);
+		log.info("가격 분석 무효화 - 데이터 버전: {}, 다시 계산할 품목: {}개, 시장: {}개", version, items.size(),
+			markets.size());
+
+		if (precompute && (!items.isEmpty() || !markets.isEmpty())) {
+			precomputeExecutor.execute(() -> precompute(items, markets, version));
+		}
+	}
+
+	private void precompute(Set<String> items, Set<String> markets, long version) {
+		long startedAt = System.currentTimeMillis();
+		try {
+			for (String marketName : markets) {
+				if (dataVersion.get() != version) {
+					return;
+				}
+				Map<String, List<MarketItemPriceResponse.PriceDataInfo>> historyByItem =
+					priceHistoryService.findByMarketName(marketName).stream()
+						.filter(info -> info.getItemName() != null)
+						.collect(Collectors.groupingBy(MarketItemPriceResponse.PriceDataInfo::getItemName));
+				historyByItem.forEach((itemName, history) -> entries.putIfAbsent(
+					new Key(itemName, marketName, version),
+					new Entry(analyze(itemName, marketName, () -> history))));
+			}
+			for (String itemName : items) {
+				if (dataVersion.get() != version) {
+					return;
+				}
+				entries.putIfAbsent(new Key(itemName, ALL_MARKETS, version),
+					new Entry(analyze(itemName, null, () -> priceHistoryService.findByItemName(itemName))));
+			}
+			log.info("가격 분석 미리 계산 완료 - 데이터 버전: {}, 품목: {}개, 시장: {}개 ({}ms)", version, items.size(),
+				markets.size(), System.currentTimeMillis() - startedAt);
+		} catch (RuntimeException e) {
+			log.warn("가격 분석 미리 계산 실패 - 조회 시 계산합니다: {}", e.getMessage());
+		}
+	}
+
+	@PreDestroy
+	void shutdown() {
+		precomputeExecutor.shutdownNow();
+	}
+
+	private record Key(String itemName, String marketName, long version) {
+	}
+
+	// 이력이 없어 분석이 null인 경우도 저장
+	private record Entry(PricePredictionUtil.PriceAnalysis analysis) {
+	}
+}
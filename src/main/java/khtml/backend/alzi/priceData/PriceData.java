@@ -1,31 +1,72 @@
 package khtml.backend.alzi.priceData;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
+/**
+ * serialNumber(자연 키)를 @Id로 씁니다. 대량 저장은 JPA save() 대신 PriceDataBulkWriter의 다중 행 upsert로 합니다.
+ * 시장명/품목명(및 시장 유형/자치구명)은 행마다 반복하지 않고 PriceDataMarket / PriceDataItem 차원 테이블의 id로 저장합니다.
+ * (가져오기 시 PriceDataDictionary가 이름을 id로 바꿈, 조회 쿼리는 차원을 JOIN FETCH)
+ * 조회는 모두 시장/품목으로 거르고 날짜순으로 정렬하므로 (시장, 품목, 날짜) / (시장, 날짜) / (품목, 날짜) 인덱스를 둡니다.
+ */
 @Entity
+@Table(indexes = {
+	@Index(name = "idx_price_data_market_item_date", columnList = "market_id, item_id, date"),
+	@Index(name = "idx_price_data_market_date", columnList = "market_id, date"),
+	@Index(name = "idx_price_data_item_date", columnList = "item_id, date")
+})
 @Data
 @NoArgsConstructor
 public class PriceData {
+	private static final byte[] NULL_MARKER = {0};
+	private static final byte FIELD_SEPARATOR = 0x1F;
+
 	@Id
 	private String serialNumber;
 	private String marketNumber;
-	private String marketName;
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "market_id")
+	@JsonIgnore
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private PriceDataMarket market;
 	private String itemNuber;
-	private String itemName;
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "item_id")
+	@JsonIgnore
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	private PriceDataItem item;
 	private String actualSalesSpecifications;
 	private String price;
+	// price 문자열에서 숫자만 남긴 원 단위 가격 (저장 시 채움, 파싱 불가/0원은 0)
+	private Integer priceWon;
 	private LocalDate date;
 	private String note;
 	private String marketTypeNumber;
-	private String marketType;
 	private String boroughCode;
-	private String boroughName;
+	// 가격/시장/품목 등 serialNumber 외 모든 컬럼의 내용 해시 (재가져오기 시 변경 여부 비교용)
+	private Long rowHash;
 
 	@Builder
 	public PriceData(String serialNumber, String marketNumber, String marketName, String itemNuber, String itemName,
@@ -33,16 +74,74 @@ public class PriceData {
 		String marketType, String boroughCode, String boroughName) {
 		this.serialNumber = serialNumber;
 		this.marketNumber = marketNumber;
-		this.marketName = marketName;
+		this.market = new PriceDataMarket(marketName, marketType, boroughName);
 		this.itemNuber = itemNuber;
-		this.itemName = itemName;
+		this.item = itemName != null ? new PriceDataItem(itemName) : null;
 		this.actualSalesSpecifications = actualSalesSpecifications;
 		this.price = price;
+		this.priceWon = parsePriceWon(price);
 		this.date = date;
 		this.note = note;
 		this.marketTypeNumber = marketTypeNumber;
-		this.marketType = marketType;
 		this.boroughCode = boroughCode;
-		this.boroughName = boroughName;
+	}
+
+	public String getMarketName() {
+		return market != null ? market.getName() : null;
+	}
+
+	public String getItemName() {
+		return item != null ? item.getName() : null;
+	}
+
+	public String getMarketType() {
+		return market != null ? market.getMarketType() : null;
+	}
+
+	public String getBoroughName() {
+		return market != null ? market.getBoroughName() : null;
+	}
+
+	public void setPrice(String price) {
+		this.price = price;
+		this.priceWon = parsePriceWon(price);
+	}
+
+	/**
+	 * 가격 문자열("1,500원", "2000" 등)을 원 단위 정수로 변환 (파싱할 수 없으면 0)
+	 */
+	public static int parsePriceWon(String price) {
+		if (price == null) {
+			return 0;
+		}
+		String digits = price.replaceAll("[^0-9.]", "");
+		if (digits.isEmpty()) {
+			return 0;
+		}
+		try {
+			return new BigDecimal(digits).setScale(0, RoundingMode.HALF_UP).intValueExact();
+		} catch (ArithmeticException | NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * serialNumber를 제외한 컬럼 내용의 64비트 해시 (SHA-256 앞 8바이트)
+	 */
+	public long computeRowHash() {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256을 사용할 수 없습니다", e);
+		}
+		for (Object field : new Object[] {marketNumber, getMarketName(), itemNuber, getItemName(),
+			actualSalesSpecifications, price, date, note, marketTypeNumber, getMarketType(), boroughCode,
+			getBoroughName()}) {
+			// null과 빈 문자열을 구분하고, 필드 경계를 구분자로 표시
+			digest.update(field == null ? NULL_MARKER : field.toString().getBytes(StandardCharsets.UTF_8));
+			digest.update(FIELD_SEPARATOR);
+		}
+		return ByteBuffer.wrap(digest.digest()).getLong();
 	}
 }
@@ -0,0 +1,92 @@
+package khtml.backend.alzi.priceData;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.market.MarketItemPriceCache;
+import khtml.backend.alzi.priceData.snapshot.PriceSnapshotStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PriceData 백필(PriceWonBackfill, PriceDataDimensionBackfill) 공통 처리
+ * 대상 행을 serial_number 순으로 chunk 단위로 읽어 갱신하고(keyset 페이징), 끝나면 가격 조회 쪽 캐시를 버립니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceDataBackfillSupport {
+
+	// chunk 몇 개마다 진행 로그를 남길지
+	private static final int PROGRESS_LOG_CHUNKS = 20;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final MarketItemPriceCache marketItemPriceCache;
+	private final PriceAnalysisStore priceAnalysisStore;
+	private final PriceSeriesStateStore seriesStateStore;
+	private final PriceSnapshotStore priceSnapshotStore;
+
+	/**
+	 * selectSql로 읽은 행마다 updateSql 파라미터를 만들어 chunk 단위 batch로 갱신
+	 * selectSql은 serial_number 컬럼을 돌려주고, (직전 chunk의 마지막 serial_number, chunkSize)를 파라미터로 받아
+	 * serial_number 순으로 정렬해야 합니다.
+	 * 실패하면 그때까지 갱신한 행 수를 남기고 예외를 그대로 던집니다.
+	 * @param name 로그에 쓸 작업 이름
+	 * @return 갱신한 행 수
+	 */
+	public int updateInChunks(String name, String selectSql, String updateSql, int chunkSize,
+		RowMapper<Object[]> updateParams) {
+		int total = 0;
+		String lastSerialNumber = "";
+		try {
+			while (true) {
+				List<Object[]> updates = new ArrayList<>(chunkSize);
+				List<String> serialNumbers = new ArrayList<>(chunkSize);
+				jdbcTemplate.query(selectSql,
+					rs -> {
+						serialNumbers.add(rs.getString("serial_number"));
+						updates.add(updateParams.mapRow(rs, updates.size()));
+					},
+					lastSerialNumber, chunkSize);
+				if (updates.isEmpty()) {
+					break;
+				}
+
+				jdbcTemplate.batchUpdate(updateSql, updates);
+				total += updates.size();
+				lastSerialNumber = serialNumbers.get(serialNumbers.size() - 1);
+				if (total == updates.size() || total % (chunkSize * PROGRESS_LOG_CHUNKS) < chunkSize) {
+					log.info("PriceData {} 진행 - {}건", name, total);
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("PriceData {} 중단 - {}건 갱신 후", name, total);
+			throw e;
+		}
+		if (total > 0) {
+			log.info("PriceData {} 완료 - {}건", name, total);
+		}
+		return total;
+	}
+
+	/**
+	 * 백필이 바꾼 행이 다음 조회부터 보이도록 가격 스냅샷(바뀐 달)과 시계열 상태/시장별 응답/분석 캐시를 버림
+	 * 백필은 가져오기와 달리 품목/시장을 가리지 않고 바꾸므로 캐시는 전부 비웁니다.
+	 */
+	public void invalidate(String name, Collection<YearMonth> changedMonths) {
+		try {
+			priceSnapshotStore.invalidate(changedMonths);
+			seriesStateStore.clear();
+			marketItemPriceCache.invalidateAll();
+			priceAnalysisStore.invalidate();
+		} catch (RuntimeException e) {
+			log.error("PriceData {} 후 캐시 무효화 실패", name, e);
+		}
+	}
+}
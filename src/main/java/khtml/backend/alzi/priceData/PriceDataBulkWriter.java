@@ -0,0 +1,213 @@
+package khtml.backend.alzi.priceData;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.utils.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PriceData 대량 upsert writer
+ * PriceData는 serialNumber(String)가 @Id라 save()마다 merge()가 SELECT 후 INSERT/UPDATE를 결정하므로,
+ * serialNumber 기준 다중 행 INSERT ... ON DUPLICATE KEY UPDATE(MySQL) / MERGE(H2) 한 문장으로 batchSize 건씩 씁니다.
+ * (JDBC 드라이버의 배치 재작성 옵션과 무관하게 batchSize 건당 DB 왕복 1회)
+ * 배치마다 기존 행의 row_hash를 PK로 한 번에 조회해서, 새 행과 내용이 바뀐 행만 씁니다.
+ * 시장/품목은 PriceDataDictionary로 차원 테이블 id를 받아 쓰고, 쓴 뒤 가격 시계열 상태(PriceSeriesStateStore)를 갱신합니다.
+ * 호출하는 쪽의 트랜잭션에 참여합니다.
+ */
+@Component
+@Slf4j
+public class PriceDataBulkWriter {
+
+	private static final String COLUMNS = "serial_number, market_number, market_id, item_nuber, item_id,"
+		+ " actual_sales_specifications, price, price_won, date, note, market_type_number, borough_code, row_hash";
+	private static final String ROW_PLACEHOLDER = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+	private static final int PARAMS_PER_ROW = 13;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PriceDataDictionary dictionary;
+	private final PriceSeriesStateStore seriesStateStore;
+	private final int batchSize;
+	private final SqlDialect dialect;
+
+	public PriceDataBulkWriter(JdbcTemplate jdbcTemplate, PriceDataDictionary dictionary,
+		PriceSeriesStateStore seriesStateStore, SqlDialect dialect,
+		@Value("${price-data.import.upsert-batch-size:500}") int batchSize) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dictionary = dictionary;
+		this.seriesStateStore = seriesStateStore;
+		this.dialect = dialect;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * 가격 데이터 일괄 upsert (기존 내용과 같은 행 제외)
+	 * rowHash가 채워진 행을 받습니다. (비어 있으면 여기서 계산)
+	 * @return 추가/갱신/변경 없음 행 수 (같은 serialNumber가 중복되면 마지막 값만 반영)
+	 */
+	public UpsertResult upsert(Collection<PriceData> rows) {
+		if (rows.isEmpty()) {
+			return UpsertResult.EMPTY;
+		}
+
+		// 같은 배치 안의 중복 키 제거 (마지막 값 우선)
+		Map<String, PriceData> uniqueRows = new LinkedHashMap<>();
+		for (PriceData row : rows) {
+			uniqueRows.put(row.getSerialNumber(), row);
+		}
+
+		UpsertResult result = UpsertResult.EMPTY;
+		List<PriceData> batch = new ArrayList<>(batchSize);
+		for (PriceData row : uniqueRows.values()) {
+			if (row.getRowHash() == null) {
+				row.setRowHash(row.computeRowHash());
+			}
+			batch.add(row);
+			if (batch.size() == batchSize) {
+				result = result.plus(executeBatch(batch));
+				batch.clear();
+			}
+		}
+		if (!batch.isEmpty()) {
+			result = result.plus(executeBatch(batch));
+		}
+		log.debug("PriceData upsert - 추가: {}건, 갱신: {}건, 변경 없음: {}건",
+			result.inserted(), result.updated(), result.unchanged());
+		return result;
+	}
+
+	private UpsertResult executeBatch(List<PriceData> rows) {
+		Map<String, ExistingRow> existingRows = findExistingRows(rows);
+		List<PriceData> batch = new ArrayList<>(rows.size());
+		List<PriceData> insertedRows = new ArrayList<>();
+		List<PriceData> updatedRows = new ArrayList<>();
+		for (PriceData row : rows) {
+			ExistingRow existing = existingRows.get(row.getSerialNumber());
+			if (existing == null) {
+				insertedRows.add(row);
+				batch.add(row);
+			} else if (!row.getRowHash().equals(existing.rowHash())) {
+				// 해시가 없는 기존 행(해시 도입 이전 데이터)도 한 번 갱신해서 해시를 채움
+				updatedRows.add(row);
+				batch.add(row);
+			}
+		}
+		if (!batch.isEmpty()) {
+			dictionary.resolve(batch);
+			write(batch);
+			seriesStateStore.apply(insertedRows, changedSeries(updatedRows, existingRows));
+		}
+		return new UpsertResult(insertedRows.size(), updatedRows.size(), rows.size() - batch.size());
+	}
+
+	/**
+	 * 배치에 포함된 serialNumber의 기존 행 조회 (PK IN 조회 1회, 해시가 없는 행은 rowHash null)
+	 */
+	private Map<String, ExistingRow> findExistingRows(List<PriceData> rows) {
+		String sql = "SELECT serial_number, row_hash, market_id, item_id, price_won, date FROM price_data"
+			+ " WHERE serial_number IN (" + String.join(", ", Collections.nCopies(rows.size(), "?")) + ")";
+		Object[] params = rows.stream().map(PriceData::getSerialNumber).toArray();
+
+		Map<String, ExistingRow> existingRows = new HashMap<>(rows.size() * 2);
+		jdbcTemplate.query(sql, rs -> {
+			Date date = rs.getDate("date");
+			existingRows.put(rs.getString("serial_number"), new ExistingRow(
+				rs.getObject("row_hash", Long.class),
+				rs.getObject("market_id", Integer.class),
+				rs.getObject("item_id", Integer.class),
+				rs.getObject("price_won", Integer.class),
+				date != null ? date.toLocalDate() : null));
+		}, params);
+		return existingRows;
+	}
+
+	/**
+	 * 갱신된 행 중 가격/날짜/시장/품목이 바뀐 행의 이전/새 시계열 (비고 등만 바뀐 행은 시계열에 영향 없음)
+	 */
+	private static Set<PriceSeriesStateStore.SeriesKey> changedSeries(List<PriceData> updatedRows,
+		Map<String, ExistingRow> existingRows) {
+		Set<PriceSeriesStateStore.SeriesKey> keys = new HashSet<>();
+		for (PriceData row : updatedRows) {
+			ExistingRow existing = existingRows.get(row.getSerialNumber());
+			Integer marketId = row.getMarket() != null ? row.getMarket().getId() : null;
+			Integer itemId = row.getItem() != null ? row.getItem().getId() : null;
+			if (Objects.equals(existing.priceWon(), row.getPriceWon()) && Objects.equals(existing.date(), row.getDate())
+				&& Objects.equals(existing.marketId(), marketId) && Objects.equals(existing.itemId(), itemId)) {
+				continue;
+			}
+			keys.addAll(PriceSeriesStateStore.SeriesKey.of(existing.itemId(), existing.marketId()));
+			keys.addAll(PriceSeriesStateStore.SeriesKey.of(itemId, marketId));
+		}
+		return keys;
+	}
+
+	private void write(List<PriceData> batch) {
+		Object[] params = new Object[batch.size() * PARAMS_PER_ROW];
+		int i = 0;
+		for (PriceData row : batch) {
+			params[i++] = row.getSerialNumber();
+			params[i++] = row.getMarketNumber();
+			params[i++] = row.getMarket() != null ? row.getMarket().getId() : null;
+			params[i++] = row.getItemNuber();
+			params[i++] = row.getItem() != null ? row.getItem().getId() : null;
+			params[i++] = row.getActualSalesSpecifications();
+			params[i++] = row.getPrice();
+			params[i++] = row.getPriceWon();
+			params[i++] = row.getDate() != null ? Date.valueOf(row.getDate()) : null;
+			params[i++] = row.getNote();
+			params[i++] = row.getMarketTypeNumber();
+			params[i++] = row.getBoroughCode();
+			params[i++] = row.getRowHash();
+		}
+		jdbcTemplate.update(buildSql(batch.size()), params);
+	}
+
+	private String buildSql(int rowCount) {
+		StringBuilder values = new StringBuilder(rowCount * (ROW_PLACEHOLDER.length() + 2));
+		for (int i = 0; i < rowCount; i++) {
+			if (i > 0) {
+				values.append(", ");
+			}
+			values.append(ROW_PLACEHOLDER);
+		}
+
+		if (dialect == SqlDialect.H2) {
+			// H2 호환 경로 (로컬 테스트용)
+			return "MERGE INTO price_data (" + COLUMNS + ") KEY (serial_number) VALUES " + values;
+		}
+		return "INSERT INTO price_data (" + COLUMNS + ") VALUES " + values
+			+ " ON DUPLICATE KEY UPDATE market_number = VALUES(market_number), market_id = VALUES(market_id),"
+			+ " item_nuber = VALUES(item_nuber), item_id = VALUES(item_id),"
+			+ " actual_sales_specifications = VALUES(actual_sales_specifications), price = VALUES(price),"
+			+ " price_won = VALUES(price_won), date = VALUES(date), note = VALUES(note), market_type_number = VALUES(market_type_number),"
+			+ " borough_code = VALUES(borough_code), row_hash = VALUES(row_hash)";
+	}
+
+	private record ExistingRow(Long rowHash, Integer marketId, Integer itemId, Integer priceWon, LocalDate date) {
+	}
+
+	/**
+	 * upsert 결과 (추가 / 갱신 / 변경 없음 행 수)
+	 */
+	public record UpsertResult(int inserted, int updated, int unchanged) {
+		static final UpsertResult EMPTY = new UpsertResult(0, 0, 0);
+
+		UpsertResult plus(UpsertResult other) {
+			return new UpsertResult(inserted + other.inserted, updated + other.updated, unchanged + other.unchanged);
+		}
+	}
+}
@@ -14,6 +14,7 @@ import org.springframework.web.multipart.MultipartFile;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import khtml.backend.alzi.csvimport.dto.CsvImportJobStatus;
 import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
 import khtml.backend.alzi.priceData.dto.ItemListResponse;
 import khtml.backend.alzi.priceData.dto.PriceDataResponse;
@@ -53,6 +54,28 @@ public class PriceDataController {
 	// 	}
 	// }
 
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	@Operation(summary = "가격 데이터 CSV 가져오기 (비동기)",
+		description = "CSV 파일을 디스크에 저장한 뒤 바로 작업 ID를 반환합니다. "
+			+ "진행 상황은 GET /api/import-jobs/{jobId} 또는 WebSocket /topic/import-jobs/{jobId} 로 확인합니다.")
+	public ApiResponse<CsvImportJobStatus> startCsvImport(
+		@Parameter(description = "업로드할 CSV 파일 (.csv)")
+		@RequestParam("file") MultipartFile file
+	) {
+		try {
+			log.info("가격 데이터 CSV 가져오기 요청 - 파일명: {}", file.getOriginalFilename());
+
+			CsvImportJobStatus status = priceDataService.startCsvImport(file);
+
+			return ApiResponse.success("가격 데이터 가져오기 작업이 등록되었습니다.", status);
+
+		} catch (Exception e) {
+			log.error("가격 데이터 가져오기 작업 등록 실패: {}", e.getMessage(), e);
+			return ApiResponse.failure("PRICE_DATA_IMPORT_FAILED",
+				"가격 데이터 가져오기 작업 등록 중 오류가 발생했습니다: " + e.getMessage());
+		}
+	}
+
 	@GetMapping("/items")
 	@Operation(summary = "아이템 목록 조회", description = "모든 고유한 아이템명과 마켓명을 조회합니다.")
 	public ApiResponse<ItemListResponse> getItemLists() {
@@ -0,0 +1,527 @@
+package khtml.backend.alzi.priceData;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.opencsv.CSVParserBuilder;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVReaderBuilder;
+import com.opencsv.exceptions.CsvValidationException;
+
+import khtml.backend.alzi.csvimport.CsvImportProgress;
+import khtml.backend.alzi.exception.CustomException;
+import khtml.backend.alzi.exception.ErrorCode;
+import khtml.backend.alzi.market.MarketItemPriceCache;
+import khtml.backend.alzi.market.dto.response.MarketUpdateResult;
+import khtml.backend.alzi.priceData.snapshot.PriceSnapshotStore;
+import khtml.backend.alzi.utils.CsvCharsetDetector;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 가격 데이터 CSV 가져오기 파이프라인
+ * 읽기(요청 스레드) → 파싱/검증(병렬 워커) → 저장(단일 JDBC 배치 writer) 3단계를 제한된 크기의 큐로 연결합니다.
+ * 큐가 가득 차면 앞 단계가 대기하므로 메모리 사용량은 큐 용량 x 청크 크기로 제한되고,
+ * 파싱은 코어 수만큼, 저장은 DB 왕복 대신 배치 단위로 처리됩니다.
+ * 파싱 단계에서 행마다 내용 해시를 계산하고, 저장 단계는 기존 해시와 비교해서 새 행/바뀐 행만 씁니다.
+ * (대부분 겹치는 파일을 다시 올려도 테이블 전체를 다시 쓰지 않음)
+ * 읽기 단계에서 청크마다 순번을 붙이고 writer는 파싱이 끝난 순서와 관계없이 순번대로 저장하므로,
+ * 같은 serialNumber가 파일에 여러 번 나오면 항상 파일에서 마지막 행이 저장됩니다.
+ */
+@Component
+@Slf4j
+public class PriceDataCsvImporter {
+	// 결과에 담는 오류 메시지 최대 건수 (대용량 파일에서 메모리 사용량 제한)
+	private static final int MAX_ERROR_MESSAGES = 1000;
+	private static final DateTimeFormatter YEAR_MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM");
+
+	// 파싱 워커 종료 신호
+	private static final RowChunk END_OF_ROWS = new RowChunk(-1, 0, List.of());
+	// writer 종료 신호
+	private static final ParsedChunk END_OF_CHUNKS = new ParsedChunk(-1, 0, List.of());
+
+	private final CsvCharsetDetector csvCharsetDetector;
+	private final PriceDataBulkWriter priceDataBulkWriter;
+	private final TransactionTemplate transactionTemplate;
+	private final PriceSnapshotStore priceSnapshotStore;
+	private final MarketItemPriceCache marketItemPriceCache;
+	private final PriceAnalysisStore priceAnalysisStore;
+	private final int chunkSize;
+	private final int parserThreads;
+	private final int queueCapacity;
+
+	public PriceDataCsvImporter(CsvCharsetDetector csvCharsetDetector,
+		PriceDataBulkWriter priceDataBulkWriter,
+		TransactionTemplate transactionTemplate,
+		PriceSnapshotStore priceSnapshotStore,
+		MarketItemPriceCache marketItemPriceCache,
+		PriceAnalysisStore priceAnalysisStore,
+		@Value("${price-data.import.chunk-size:1000}") int chunkSize,
+		@Value("${price-data.import.parser-threads:0}") int parserThreads,
+		@Value("${price-data.import.queue-capacity:8}") int queueCapacity) {
+		this.csvCharsetDetector = csvCharsetDetector;
+		this.priceDataBulkWriter = priceDataBulkWriter;
+		this.transactionTemplate = transactionTemplate;
+		this.priceSnapshotStore = priceSnapshotStore;
+		this.marketItemPriceCache = marketItemPriceCache;
+		this.priceAnalysisStore = priceAnalysisStore;
+		this.chunkSize = chunkSize;
+		// 0이면 CPU 코어 수만큼 (writer/reader 몫으로 1개는 남겨둠)
+		this.parserThreads = parserThreads > 0 ? parserThreads
+			: Math.max(Runtime.getRuntime().availableProcessors() - 1, 1);
+		this.queueCapacity = queueCapacity;
+	}
+
+	/**
+	 * CSV 파일 가져오기
+	 * 청크마다 별도 트랜잭션으로 커밋하므로, 중간에 실패해도 앞선 청크는 저장된 상태로 남습니다.
+	 * @param file 업로드 파일 또는 디스크에 임시 저장된 파일
+	 * @param progress 파싱/저장/실패 행 수 수신 (비동기 가져오기 작업 진행 상황)
+	 */
+	public MarketUpdateResult importCsv(InputStreamSource file, CsvImportProgress progress) {
+		Pipeline pipeline = new Pipeline(progress);
+		String encoding = null;
+
+		// 앞부분 샘플로 인코딩을 한 번만 감지하고 같은 스트림을 이어서 디코딩 (한글 깨짐 방지)
+		try (CsvCharsetDetector.DetectedReader source = csvCharsetDetector.open(file.getInputStream());
+			 CSVReader csvReader = buildCsvReader(source.reader())) {
+			pipeline.read(csvReader);
+			// 앞부분이 ASCII뿐이면 읽는 도중에 인코딩이 정해지므로 다 읽은 뒤에 조회
+			encoding = source.charset().name();
+
+		} catch (IOException e) {
+			pipeline.abort();
+			log.error("CSV 파일 읽기 실패 ({}행까지 처리, 성공: {})", pipeline.totalCount + 1,
+				pipeline.successCount.get(), e);
+			throw new CustomException(ErrorCode.FILE_PROCESSING_FAILED,
+				String.format("CSV 파일 읽기 중 오류가 발생했습니다. (%d행까지 처리, %d건 저장됨): %s",
+					pipeline.totalCount + 1, pipeline.successCount.get(), e.getMessage()));
+		} catch (RuntimeException e) {
+			pipeline.abort();
+			throw e;
+		}
+
+		MarketUpdateResult result = pipeline.finish();
+		log.info("가격 데이터 CSV 갱신 완료 - 총 {}행 (추가: {}, 갱신: {}, 변경 없음: {}, 실패: {}), 인코딩: {}, 소요: {}ms",
+			result.getTotalCount(), result.getInsertedCount(), result.getUpdatedCount(), result.getUnchangedCount(),
+			result.getFailCount(), encoding, pipeline.elapsedMillis());
+		return result;
+	}
+
+	private CSVReader buildCsvReader(BufferedReader reader) {
+		return new CSVReaderBuilder(reader)
+			.withCSVParser(new CSVParserBuilder()
+				.withSeparator(',')
+				.withIgnoreQuotations(false)
+				.build())
+			.withSkipLines(1) // 첫 번째 행(헤더) 건너뛰기
+			.build();
+	}
+
+	/**
+	 * 가져오기 1회 분량의 파이프라인 상태
+	 */
+	private class Pipeline {
+		private final long startedAt = System.nanoTime();
+		private final BlockingQueue<RowChunk> parseQueue = new ArrayBlockingQueue<>(queueCapacity);
+		private final BlockingQueue<ParsedChunk> writeQueue = new ArrayBlockingQueue<>(queueCapacity);
+		private final ExecutorService parserPool = Executors.newFixedThreadPool(parserThreads,
+			new CustomizableThreadFactory("price-data-parse-"));
+		private final ExecutorService writerPool = Executors.newSingleThreadExecutor(
+			new CustomizableThreadFactory("price-data-writer-"));
+		private final List<Future<?>> parsers = new ArrayList<>(parserThreads);
+		private final Future<?> writer;
+		private final CsvImportProgress progress;
+		// 읽기 ~ 저장 사이에 떠 있는 청크 수 제한 (writer가 순번을 맞추려고 먼저 도착한 청크를 들고 있어도 메모리 제한)
+		private final Semaphore inFlightChunks = new Semaphore(queueCapacity * 2 + parserThreads);
+		// 다음에 읽을 청크 순번 (읽기 단계에서만 갱신)
+		private int nextSequence;
+
+		private final AtomicInteger successCount = new AtomicInteger();
+		private final AtomicInteger insertedCount = new AtomicInteger();
+		private final AtomicInteger updatedCount = new AtomicInteger();
+		private final AtomicInteger unchangedCount = new AtomicInteger();
+		// 새 행/바뀐 행이 있었던 달 (가격 스냅샷 무효화 대상)
+		private final Set<YearMonth> changedMonths = ConcurrentHashMap.newKeySet();
+		// 새 행/바뀐 행이 있었던 시장 (시장별 아이템 가격 캐시 무효화 대상)
+		private final Set<String> changedMarkets = ConcurrentHashMap.newKeySet();
+		private final AtomicInteger failCount = new AtomicInteger();
+		private final List<RowError> errors = new ArrayList<>();
+		private int omittedErrorCount;
+		// 읽기 단계(요청 스레드)에서만 갱신
+		private volatile int totalCount;
+
+		Pipeline(CsvImportProgress progress) {
+			this.progress = progress;
+			for (int i = 0; i < parserThreads; i++) {
+				parsers.add(parserPool.submit(this::runParser));
+			}
+			writer = writerPool.submit(this::runWriter);
+		}
+
+		/**
+		 * 읽기 단계 - CSV 행을 chunkSize 단위로 묶어 파싱 큐로 전달
+		 */
+		void read(CSVReader csvReader) throws IOException {
+			List<String[]> rows = new ArrayList<>(chunkSize);
+			int rowNumber = 1; // CSV의 실제 행 번호 (헤더 = 1행)
+			int firstRowNumber = 2;
+
+			while (true) {
+				String[] row;
+				try {
+					row = csvReader.readNext();
+				} catch (CsvValidationException e) {
+					rowNumber++;
+					totalCount++;
+					fail(1);
+					addError(rowNumber, e.getMessage());
+					// 청크 안의 행 번호가 연속되도록 오류 행 앞에서 청크를 끊음
+					if (!rows.isEmpty()) {
+						submitRows(firstRowNumber, rows);
+						rows = new ArrayList<>(chunkSize);
+					}
+					continue;
+				}
+				if (row == null) {
+					break;
+				}
+				rowNumber++;
+				totalCount++;
+
+				if (rows.isEmpty()) {
+					firstRowNumber = rowNumber;
+				}
+				rows.add(row);
+				if (rows.size() >= chunkSize) {
+					submitRows(firstRowNumber, rows);
+					rows = new ArrayList<>(chunkSize);
+				}
+			}
+			if (!rows.isEmpty()) {
+				submitRows(firstRowNumber, rows);
+			}
+		}
+
+		// 순번을 붙여 파싱 큐로 전달 (떠 있는 청크가 한도에 도달하면 writer가 저장할 때까지 대기)
+		private void submitRows(int firstRowNumber, List<String[]> rows) {
+			try {
+				while (!inFlightChunks.tryAcquire(1, TimeUnit.SECONDS)) {
+					if (writer.isDone() || parserPool.isShutdown()) {
+						throw new IllegalStateException("CSV 가져오기 파이프라인이 중단되었습니다.");
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("CSV 가져오기 대기 중 인터럽트 발생", e);
+			}
+			put(parseQueue, new RowChunk(nextSequence++, firstRowNumber, rows));
+		}
+
+		/**
+		 * 파싱/검증 단계 - 행을 PriceData로 변환하고 오류 행은 결과 메시지로 수집
+		 */
+		private void runParser() {
+			try {
+				while (true) {
+					RowChunk chunk = parseQueue.take();
+					if (chunk == END_OF_ROWS) {
+						return;
+					}
+
+					List<PriceData> parsed = new ArrayList<>(chunk.rows().size());
+					int rowNumber = chunk.firstRowNumber();
+					for (String[] row : chunk.rows()) {
+						try {
+							PriceData priceData = parseRow(row);
+							if (priceData != null) {
+								priceData.setRowHash(priceData.computeRowHash());
+								parsed.add(priceData);
+							} else {
+								fail(1);
+								addError(rowNumber, "빈 행이거나 필수 데이터가 누락됨");
+							}
+						} catch (Exception e) {
+							fail(1);
+							addError(rowNumber, e.getMessage());
+							log.warn("가격 데이터 처리 실패 - {}행: {}", rowNumber, e.getMessage());
+						}
+						rowNumber++;
+					}
+					progress.rowsParsed(parsed.size());
+					// 모두 오류인 청크도 순번을 채우기 위해 전달
+					put(writeQueue, new ParsedChunk(chunk.sequence(), rowNumber - 1, parsed));
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		/**
+		 * 저장 단계 - 파싱된 청크를 순번대로 하나씩 별도 트랜잭션의 JDBC 배치로 저장
+		 * 앞 순번 청크가 아직 파싱 중이면 먼저 도착한 청크는 들고 기다립니다.
+		 */
+		private void runWriter() {
+			TreeMap<Integer, ParsedChunk> pending = new TreeMap<>();
+			int next = 0;
+			try {
+				while (true) {
+					ParsedChunk chunk = writeQueue.take();
+					if (chunk == END_OF_CHUNKS) {
+						if (!pending.isEmpty()) {
+							// 파싱 워커가 비정상 종료해서 순번이 빈 경우 - 남은 청크라도 순서대로 저장
+							log.warn("가격 데이터 청크 순번 {}이(가) 도착하지 않아 남은 청크 {}개를 순서대로 저장합니다",
+								next, pending.size());
+							pending.values().forEach(this::write);
+						}
+						return;
+					}
+					pending.put(chunk.sequence(), chunk);
+					while (!pending.isEmpty() && pending.firstKey() == next) {
+						write(pending.pollFirstEntry().getValue());
+						next++;
+						inFlightChunks.release();
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private void write(ParsedChunk chunk) {
+			if (chunk.rows().isEmpty()) {
+				return;
+			}
+			try {
+				PriceDataBulkWriter.UpsertResult result = transactionTemplate.execute(
+					status -> priceDataBulkWriter.upsert(chunk.rows()));
+				insertedCount.addAndGet(result.inserted());
+				updatedCount.addAndGet(result.updated());
+				unchangedCount.addAndGet(result.unchanged());
+				if (result.inserted() + result.updated() > 0) {
+					chunk.rows().forEach(row -> {
+						changedMonths.add(YearMonth.from(row.getDate()));
+						changedMarkets.add(row.getMarketName());
+					});
+				}
+				int saved = successCount.addAndGet(chunk.rows().size());
+				progress.rowsWritten(chunk.rows().size());
+				log.info("가격 데이터 저장 진행 - {}건 처리 (추가: {}, 갱신: {}, 변경 없음: {}, 읽음: {}행, 실패: {})",
+					saved, insertedCount.get(), updatedCount.get(), unchangedCount.get(), totalCount, failCount.get());
+			} catch (Exception e) {
+				fail(chunk.rows().size());
+				log.error("가격 데이터 청크 저장 실패 - {}행까지 {}건", chunk.lastRowNumber(), chunk.rows().size(), e);
+				addError(chunk.lastRowNumber(),
+					String.format("%d건 저장 실패 (%d행까지): %s", chunk.rows().size(), chunk.lastRowNumber(),
+						e.getMessage()));
+			}
+		}
+
+		/**
+		 * 읽기가 끝난 뒤 파싱/저장 단계가 모두 비워질 때까지 대기 후 결과 반환
+		 */
+		MarketUpdateResult finish() {
+			try {
+				for (int i = 0; i < parserThreads; i++) {
+					put(parseQueue, END_OF_ROWS);
+				}
+				for (Future<?> parser : parsers) {
+					parser.get();
+				}
+				put(writeQueue, END_OF_CHUNKS);
+				writer.get();
+
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CustomException(ErrorCode.FILE_PROCESSING_FAILED, "CSV 가져오기가 중단되었습니다.");
+			} catch (ExecutionException e) {
+				log.error("가격 데이터 가져오기 단계에서 오류 발생", e.getCause());
+				throw new CustomException(ErrorCode.FILE_PROCESSING_FAILED,
+					"CSV 가져오기 중 오류가 발생했습니다: " + e.getCause().getMessage());
+			} finally {
+				shutdown();
+				invalidateCaches();
+			}
+
+			return MarketUpdateResult.of(totalCount, failCount.get(), insertedCount.get(), updatedCount.get(),
+				unchangedCount.get(), errorMessages());
+		}
+
+		void abort() {
+			shutdown();
+			// 중단 전에 커밋된 청크가 있을 수 있음
+			invalidateCaches();
+		}
+
+		private void invalidateCaches() {
+			priceSnapshotStore.invalidate(changedMonths);
+			marketItemPriceCache.invalidate(changedMarkets);
+			if (!changedMarkets.isEmpty()) {
+				priceAnalysisStore.invalidate();
+			}
+		}
+
+		long elapsedMillis() {
+			return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+		}
+
+		private void fail(int count) {
+			failCount.addAndGet(count);
+			progress.rowsFailed(count);
+		}
+
+		private void shutdown() {
+			parserPool.shutdownNow();
+			writerPool.shutdownNow();
+		}
+
+		/**
+		 * 큐가 가득 차 있으면 대기 (다음 단계가 비정상 종료되면 무한 대기하지 않도록 중단)
+		 */
+		private <T> void put(BlockingQueue<T> queue, T item) {
+			try {
+				while (!queue.offer(item, 1, TimeUnit.SECONDS)) {
+					if (writer.isDone() || parserPool.isShutdown()) {
+						throw new IllegalStateException("CSV 가져오기 파이프라인이 중단되었습니다.");
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("CSV 가져오기 대기 중 인터럽트 발생", e);
+			}
+		}
+
+		/**
+		 * 오류 메시지 추가 (최대 MAX_ERROR_MESSAGES 건까지만 보관)
+		 */
+		private synchronized void addError(int rowNumber, String message) {
+			if (errors.size() < MAX_ERROR_MESSAGES) {
+				errors.add(new RowError(rowNumber, message));
+			} else {
+				omittedErrorCount++;
+			}
+		}
+
+		// 워커마다 처리 순서가 달라지므로 행 번호 순으로 정렬해서 반환
+		private synchronized List<String> errorMessages() {
+			List<String> messages = new ArrayList<>(errors.size() + 1);
+			errors.stream()
+				.sorted(Comparator.comparingInt(RowError::rowNumber))
+				.forEach(error -> messages.add(String.format("%d행: %s", error.rowNumber(), error.message())));
+			if (omittedErrorCount > 0) {
+				messages.add(String.format("... 외 %d건의 오류", omittedErrorCount));
+			}
+			return messages;
+		}
+	}
+
+	private PriceData parseRow(String[] row) {
+		try {
+			// 모든 필드가 비어있는지 확인
+			boolean hasData = false;
+			for (String field : row) {
+				if (field != null && !field.trim().isEmpty()) {
+					hasData = true;
+					break;
+				}
+			}
+
+			if (!hasData) {
+				return null; // 빈 행
+			}
+
+			// CSV는 최소 6개 컬럼이 있어야 함
+			if (row.length < 6) {
+				throw new RuntimeException("컬럼 수가 부족합니다. 6개 컬럼이 필요합니다.");
+			}
+
+			// CSV 컬럼 순서: code, name, address, roadNameAddress, city, district
+			String serialNumber = getFieldValue(row, 0);
+			String marketNumber = getFieldValue(row, 1);
+			String marketName = getFieldValue(row, 2);
+			String itemNuber = getFieldValue(row, 3);
+			String itemName = getFieldValue(row, 4);
+			String actualSalesSpecifications = getFieldValue(row, 5);
+			String price = getFieldValue(row, 6);
+			YearMonth yearMonth = YearMonth.parse(getFieldValue(row, 7), YEAR_MONTH_FORMAT);
+			LocalDate date = yearMonth.atDay(1); // 해당 월의 1일
+			String note = getFieldValue(row, 8);
+			String marketTypeNumber = getFieldValue(row, 9);
+			String marketType = getFieldValue(row, 10);
+			String boroughCode = getFieldValue(row, 11);
+			String boroughName = getFieldValue(row, 12);
+
+			// 필수 필드 검증 (code, name)
+			if (serialNumber == null || serialNumber.trim().isEmpty()) {
+				throw new RuntimeException("시장 코드가 비어있습니다.");
+			}
+			if (marketName == null || marketName.trim().isEmpty()) {
+				throw new RuntimeException("시장명이 비어있습니다.");
+			}
+
+			return PriceData.builder()
+				.serialNumber(serialNumber)
+				.marketNumber(marketNumber)
+				.marketName(marketName)
+				.itemNuber(itemNuber)
+				.itemName(itemName)
+				.actualSalesSpecifications(actualSalesSpecifications)
+				.price(price)
+				.date(date)
+				.note(note)
+				.marketTypeNumber(marketTypeNumber)
+				.marketType(marketType)
+				.boroughCode(boroughCode)
+				.boroughName(boroughName)
+				.build();
+		} catch (Exception e) {
+			throw new RuntimeException("데이터 파싱 오류: " + e.getMessage());
+		}
+	}
+
+	private String getFieldValue(String[] row, int index) {
+		if (index < row.length) {
+			String value = row[index];
+			return (value != null && !value.trim().isEmpty()) ? value : null;
+		}
+		return null;
+	}
+
+	/**
+	 * 파싱 대기 중인 원본 행 묶음 (firstRowNumber부터 연속된 CSV 행, sequence는 읽은 순번)
+	 */
+	private record RowChunk(int sequence, int firstRowNumber, List<String[]> rows) {
+	}
+
+	/**
+	 * 저장 대기 중인 파싱 결과 묶음 (sequence는 원본 청크의 순번)
+	 */
+	private record ParsedChunk(int sequence, int lastRowNumber, List<PriceData> rows) {
+	}
+
+	private record RowError(int rowNumber, String message) {
+	}
+}
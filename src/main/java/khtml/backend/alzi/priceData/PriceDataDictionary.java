@@ -0,0 +1,188 @@
+package khtml.backend.alzi.priceData;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import khtml.backend.alzi.utils.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PriceData 시장명/품목명 -> 차원 테이블 id 사전 (메모리 캐시)
+ * 처음 쓸 때 price_data_market / price_data_item 전체를 한 번 읽어두고,
+ * 가져오기 배치마다 새 이름(또는 시장 유형/자치구명이 바뀐 시장)만 모아서 한 문장으로 upsert한 뒤 id를 다시 읽습니다.
+ * 호출하는 쪽의 트랜잭션에 참여하며, 롤백되면 아직 없는 id를 들고 있지 않도록 캐시를 비웁니다.
+ */
+@Component
+@Slf4j
+public class PriceDataDictionary {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final SqlDialect dialect;
+	private final Map<String, PriceDataMarket> marketsByName = new ConcurrentHashMap<>();
+	private final Map<String, PriceDataItem> itemsByName = new ConcurrentHashMap<>();
+	private volatile boolean loaded;
+
+	public PriceDataDictionary(JdbcTemplate jdbcTemplate, SqlDialect dialect) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.dialect = dialect;
+	}
+
+	/**
+	 * 행들의 시장/품목을 id가 채워진 차원 엔티티로 교체 (없는 시장/품목은 생성)
+	 */
+	public synchronized void resolve(Collection<PriceData> rows) {
+		if (!loaded) {
+			load();
+		}
+
+		Map<String, PriceDataMarket> changedMarkets = new LinkedHashMap<>();
+		Map<String, PriceDataItem> newItems = new LinkedHashMap<>();
+		for (PriceData row : rows) {
+			PriceDataMarket market = row.getMarket();
+			if (market != null && market.getName() != null) {
+				PriceDataMarket known = marketsByName.get(market.getName());
+				if (known == null || !Objects.equals(known.getMarketType(), market.getMarketType())
+					|| !Objects.equals(known.getBoroughName(), market.getBoroughName())) {
+					// 같은 배치 안에서는 마지막 값 우선
+					changedMarkets.put(market.getName(), market);
+				}
+			}
+			PriceDataItem item = row.getItem();
+			if (item != null && item.getName() != null && !itemsByName.containsKey(item.getName())) {
+				newItems.putIfAbsent(item.getName(), item);
+			}
+		}
+
+		if (!changedMarkets.isEmpty() || !newItems.isEmpty()) {
+			registerRollbackCleanup();
+			upsertMarkets(changedMarkets.values());
+			insertItems(newItems.keySet());
+			reload(changedMarkets.keySet(), newItems.keySet());
+			log.info("PriceData 차원 갱신 - 시장: {}개, 신규 품목: {}개", changedMarkets.size(), newItems.size());
+		}
+
+		for (PriceData row : rows) {
+			if (row.getMarket() != null && row.getMarket().getName() != null) {
+				row.setMarket(marketsByName.get(row.getMarket().getName()));
+			}
+			if (row.getItem() != null && row.getItem().getName() != null) {
+				row.setItem(itemsByName.get(row.getItem().getName()));
+			}
+		}
+	}
+
+	private void load() {
+		jdbcTemplate.query("SELECT id, name, market_type, borough_name FROM price_data_market",
+			rs -> {
+				cacheMarket(rs.getInt("id"), rs.getString("name"), rs.getString("market_type"),
+					rs.getString("borough_name"));
+			});
+		jdbcTemplate.query("SELECT id, name FROM price_data_item",
+			rs -> {
+				cacheItem(rs.getInt("id"), rs.getString("name"));
+			});
+		loaded = true;
+		log.info("PriceData 사전 적재 완료 - 시장: {}개, 품목: {}개", marketsByName.size(), itemsByName.size());
+	}
+
+	private void upsertMarkets(Collection<PriceDataMarket> markets) {
+		if (markets.isEmpty()) {
+			return;
+		}
+		String values = String.join(", ", Collections.nCopies(markets.size(), "(?, ?, ?)"));
+		Object[] params = new Object[markets.size() * 3];
+		int i = 0;
+		for (PriceDataMarket market : markets) {
+			params[i++] = market.getName();
+			params[i++] = market.getMarketType();
+			params[i++] = market.getBoroughName();
+		}
+
+		if (dialect == SqlDialect.H2) {
+			jdbcTemplate.update("MERGE INTO price_data_market (name, market_type, borough_name) KEY (name) VALUES "
+				+ values, params);
+		} else {
+			jdbcTemplate.update("INSERT INTO price_data_market (name, market_type, borough_name) VALUES " + values
+				+ " ON DUPLICATE KEY UPDATE market_type = VALUES(market_type), borough_name = VALUES(borough_name)",
+				params);
+		}
+	}
+
+	private void insertItems(Collection<String> names) {
+		if (names.isEmpty()) {
+			return;
+		}
+		String values = String.join(", ", Collections.nCopies(names.size(), "(?)"));
+		if (dialect == SqlDialect.H2) {
+			jdbcTemplate.update("MERGE INTO price_data_item (name) KEY (name) VALUES " + values, names.toArray());
+		} else {
+			jdbcTemplate.update("INSERT IGNORE INTO price_data_item (name) VALUES " + values, names.toArray());
+		}
+	}
+
+	private void reload(Collection<String> marketNames, Collection<String> itemNames) {
+		if (!marketNames.isEmpty()) {
+			jdbcTemplate.query("SELECT id, name, market_type, borough_name FROM price_data_market WHERE name IN ("
+					+ placeholders(marketNames.size()) + ")",
+				rs -> {
+					cacheMarket(rs.getInt("id"), rs.getString("name"), rs.getString("market_type"),
+						rs.getString("borough_name"));
+				},
+				marketNames.toArray());
+		}
+		if (!itemNames.isEmpty()) {
+			jdbcTemplate.query("SELECT id, name FROM price_data_item WHERE name IN ("
+					+ placeholders(itemNames.size()) + ")",
+				rs -> {
+					cacheItem(rs.getInt("id"), rs.getString("name"));
+				},
+				itemNames.toArray());
+		}
+	}
+
+	// 트랜잭션이 롤백되면 방금 만든 id가 사라지므로 다음 호출 때 전체를 다시 읽음
+	private void registerRollbackCleanup() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				if (status != STATUS_COMMITTED) {
+					clear();
+				}
+			}
+		});
+	}
+
+	private synchronized void clear() {
+		marketsByName.clear();
+		itemsByName.clear();
+		loaded = false;
+	}
+
+	private void cacheMarket(int id, String name, String marketType, String boroughName) {
+		PriceDataMarket market = new PriceDataMarket(name, marketType, boroughName);
+		market.setId(id);
+		marketsByName.put(name, market);
+	}
+
+	private void cacheItem(int id, String name) {
+		PriceDataItem item = new PriceDataItem(name);
+		item.setId(id);
+		itemsByName.put(name, item);
+	}
+
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+}
@@ -0,0 +1,192 @@
+package khtml.backend.alzi.priceData;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.backfill.SchemaInspector;
+import khtml.backend.alzi.backfill.StartupBackfillExecutor;
+import khtml.backend.alzi.utils.SqlDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 시장/품목 차원 테이블 분리 이전에 저장된 PriceData 행의 market_id/item_id 채우기 (1회성)
+ * ddl-auto는 차원 테이블과 id 컬럼만 추가하므로, 기존 행은 id가 NULL이라 조회에서 빠집니다.
+ * 기동 시 백필 실행기에서 예전 문자열 컬럼(market_name, item_name, market_type, borough_name)으로
+ * 차원 행을 만들고, id가 비어 있는 행만 serial_number 순으로 chunkSize 건씩 갱신합니다.
+ * 예전 컬럼이 없는 DB(새로 만든 스키마)에서는 아무 것도 하지 않으므로 매 기동마다 실행해도 됩니다.
+ * 예전 컬럼 삭제는 모든 행이 채워진 것을 확인한 뒤, drop-legacy-columns 설정을 켠 경우에만 합니다.
+ */
+@Component
+@Slf4j
+public class PriceDataDimensionBackfill implements ApplicationRunner {
+
+	private static final String NAME = "시장/품목 id 채우기";
+	private static final String[] LEGACY_COLUMNS = {"market_name", "item_name", "market_type", "borough_name"};
+
+	// 예전 스키마에서 이름 컬럼으로 만들어진 인덱스 (ddl-auto는 같은 이름의 인덱스를 다시 만들지 않음)
+	private static final Map<String, String> INDEXES = Map.of(
+		"idx_price_data_market_item_date", "market_id, item_id, date",
+		"idx_price_data_market_date", "market_id, date",
+		"idx_price_data_item_date", "item_id, date");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PriceDataBackfillSupport backfillSupport;
+	private final SchemaInspector schemaInspector;
+	private final StartupBackfillExecutor startupBackfillExecutor;
+	private final SqlDialect dialect;
+	private final boolean enabled;
+	private final int chunkSize;
+	private final boolean dropLegacyColumns;
+
+	public PriceDataDimensionBackfill(JdbcTemplate jdbcTemplate, PriceDataBackfillSupport backfillSupport,
+		SchemaInspector schemaInspector, StartupBackfillExecutor startupBackfillExecutor, SqlDialect dialect,
+		@Value("${price-data.dimension-backfill.enabled:true}") boolean enabled,
+		@Value("${price-data.dimension-backfill.chunk-size:5000}") int chunkSize,
+		@Value("${price-data.dimension-backfill.drop-legacy-columns:false}") boolean dropLegacyColumns) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.backfillSupport = backfillSupport;
+		this.schemaInspector = schemaInspector;
+		this.startupBackfillExecutor = startupBackfillExecutor;
+		this.dialect = dialect;
+		this.enabled = enabled;
+		this.chunkSize = chunkSize;
+		this.dropLegacyColumns = dropLegacyColumns;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (enabled) {
+			startupBackfillExecutor.submit(NAME, this::backfill);
+		}
+	}
+
+	/**
+	 * 예전 문자열 컬럼이 남아 있으면 차원 id를 채우고 인덱스를 id 컬럼 기준으로 다시 만듦
+	 * @return 갱신한 행 수
+	 */
+	public int backfill() {
+		int total = 0;
+		// id가 채워져 조회 결과에 새로 나타나는 행이 있는 달
+		Set<YearMonth> changedMonths = new HashSet<>();
+		try {
+			if (!hasLegacyColumn("market_name") || !hasLegacyColumn("item_name")) {
+				return 0;
+			}
+			insertMissingDimensions();
+			total = fillIds(changedMonths);
+			rebuildIndexes();
+
+			long remaining = countUnresolved();
+			if (remaining > 0) {
+				log.warn("PriceData 시장/품목 id가 비어 있는 행 {}건 - 예전 컬럼을 유지합니다", remaining);
+			} else if (dropLegacyColumns) {
+				dropLegacyColumns();
+			}
+		} catch (RuntimeException e) {
+			log.error("PriceData 시장/품목 id 채우기 실패 (다음 기동 때 이어서 진행)", e);
+		} finally {
+			if (!changedMonths.isEmpty()) {
+				backfillSupport.invalidate(NAME, changedMonths);
+			}
+		}
+		return total;
+	}
+
+	// 예전 행에만 있는 시장/품목명을 차원 테이블에 추가 (시장 유형/자치구명은 시장명당 MAX 값)
+	private void insertMissingDimensions() {
+		int markets = jdbcTemplate.update(
+			"INSERT INTO price_data_market (name, market_type, borough_name)"
+				+ " SELECT market_name, MAX(market_type), MAX(borough_name) FROM price_data"
+				+ " WHERE market_name IS NOT NULL"
+				+ " AND market_name NOT IN (SELECT name FROM price_data_market)"
+				+ " GROUP BY market_name");
+		int items = jdbcTemplate.update(
+			"INSERT INTO price_data_item (name)"
+				+ " SELECT DISTINCT item_name FROM price_data"
+				+ " WHERE item_name IS NOT NULL"
+				+ " AND item_name NOT IN (SELECT name FROM price_data_item)");
+		if (markets > 0 || items > 0) {
+			log.info("PriceData 차원 테이블 추가 - 시장 {}건, 품목 {}건", markets, items);
+		}
+	}
+
+	private int fillIds(Set<YearMonth> changedMonths) {
+		Map<String, Integer> marketIds = loadIds("price_data_market");
+		Map<String, Integer> itemIds = loadIds("price_data_item");
+		// 그 사이 가져오기로 채워진 id는 덮어쓰지 않음
+		return backfillSupport.updateInChunks(NAME,
+			"SELECT serial_number, market_name, item_name, date FROM price_data"
+				+ " WHERE ((market_id IS NULL AND market_name IS NOT NULL)"
+				+ " OR (item_id IS NULL AND item_name IS NOT NULL))"
+				+ " AND serial_number > ? ORDER BY serial_number LIMIT ?",
+			"UPDATE price_data SET market_id = COALESCE(market_id, ?), item_id = COALESCE(item_id, ?)"
+				+ " WHERE serial_number = ?",
+			chunkSize,
+			(rs, rowNum) -> {
+				Date date = rs.getDate("date");
+				if (date != null) {
+					changedMonths.add(YearMonth.from(date.toLocalDate()));
+				}
+				return new Object[] {marketIds.get(rs.getString("market_name")),
+					itemIds.get(rs.getString("item_name")), rs.getString("serial_number")};
+			});
+	}
+
+	private Map<String, Integer> loadIds(String table) {
+		Map<String, Integer> ids = new HashMap<>();
+		jdbcTemplate.query("SELECT id, name FROM " + table,
+			rs -> {
+				ids.put(rs.getString("name"), rs.getInt("id"));
+			});
+		return ids;
+	}
+
+	// 이름은 있는데 id가 없거나, id가 가리키는 차원의 이름이 예전 컬럼과 다른 행 수
+	private long countUnresolved() {
+		Long count = jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM price_data p"
+				+ " LEFT JOIN price_data_market m ON m.id = p.market_id"
+				+ " LEFT JOIN price_data_item i ON i.id = p.item_id"
+				+ " WHERE (p.market_name IS NOT NULL AND (m.id IS NULL OR m.name <> p.market_name))"
+				+ " OR (p.item_name IS NOT NULL AND (i.id IS NULL OR i.name <> p.item_name))",
+			Long.class);
+		return count != null ? count : 0;
+	}
+
+	private void rebuildIndexes() {
+		for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+			String firstColumn = schemaInspector.firstIndexColumn("price_data", index.getKey());
+			if (firstColumn == null || !firstColumn.endsWith("_name")) {
+				continue;
+			}
+			jdbcTemplate.execute(dialect == SqlDialect.H2
+				? "DROP INDEX " + index.getKey()
+				: "DROP INDEX " + index.getKey() + " ON price_data");
+			jdbcTemplate.execute("CREATE INDEX " + index.getKey() + " ON price_data (" + index.getValue() + ")");
+			log.info("PriceData 인덱스 재생성 - {} ({})", index.getKey(), index.getValue());
+		}
+	}
+
+	private void dropLegacyColumns() {
+		for (String column : LEGACY_COLUMNS) {
+			if (hasLegacyColumn(column)) {
+				jdbcTemplate.execute("ALTER TABLE price_data DROP COLUMN " + column);
+			}
+		}
+		log.info("PriceData 예전 시장/품목 컬럼 삭제 완료");
+	}
+
+	private boolean hasLegacyColumn(String column) {
+		return schemaInspector.hasColumn("price_data", column);
+	}
+}
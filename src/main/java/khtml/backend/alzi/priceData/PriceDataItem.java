@@ -0,0 +1,28 @@
+package khtml.backend.alzi.priceData;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PriceData 품목 차원 테이블 (품목명당 1행)
+ */
+@Entity
+@NoArgsConstructor
+@Data
+public class PriceDataItem {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer id;
+
+	@Column(nullable = false, unique = true)
+	private String name;
+
+	public PriceDataItem(String name) {
+		this.name = name;
+	}
+}
@@ -0,0 +1,34 @@
+package khtml.backend.alzi.priceData;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * PriceData 시장 차원 테이블 (시장명당 1행)
+ * 시장 유형/자치구명은 시장의 속성이라 가격 행마다 반복하지 않고 여기에 한 번만 저장합니다. (가장 최근 가져오기 값)
+ */
+@Entity
+@NoArgsConstructor
+@Data
+public class PriceDataMarket {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer id;
+
+	@Column(nullable = false, unique = true)
+	private String name;
+
+	private String marketType;
+	private String boroughName;
+
+	public PriceDataMarket(String name, String marketType, String boroughName) {
+		this.name = name;
+		this.marketType = marketType;
+		this.boroughName = boroughName;
+	}
+}
@@ -1,37 +1,78 @@
 package khtml.backend.alzi.priceData;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface PriceDataRepository extends JpaRepository<PriceData, String> {
-	List<PriceData> findDistinctByMarketName(String marketName);
+	// 시장/품목은 차원 테이블이므로 이름 조건은 JOIN으로 걸고, 결과에서 이름을 쓰므로 JOIN FETCH
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m LEFT JOIN FETCH p.item WHERE m.name = :marketName")
+	List<PriceData> findDistinctByMarketName(@Param("marketName") String marketName);
 	
-	// 모든 고유한 아이템명 조회
-	@Query("SELECT DISTINCT p.itemName FROM PriceData p WHERE p.itemName IS NOT NULL ORDER BY p.itemName")
+	// 모든 고유한 아이템명 조회 (품목 차원 테이블)
+	@Query("SELECT i.name FROM PriceDataItem i ORDER BY i.name")
 	List<String> findDistinctItemNames();
 	
-	// 모든 고유한 마켓명 조회
-	@Query("SELECT DISTINCT p.marketName FROM PriceData p WHERE p.marketName IS NOT NULL ORDER BY p.marketName")
+	// 모든 고유한 마켓명 조회 (시장 차원 테이블)
+	@Query("SELECT m.name FROM PriceDataMarket m ORDER BY m.name")
 	List<String> findDistinctMarketNames();
 	
-	// marketName과 itemName으로 데이터 조회 (0원 제외)
-	@Query("SELECT p FROM PriceData p WHERE p.marketName = :marketName AND p.itemName = :itemName " +
-		   "AND p.price IS NOT NULL AND p.price != '' AND p.price != '0' AND p.price NOT LIKE '0원' " +
-		   "AND p.price NOT LIKE '0%' ORDER BY p.date DESC")
+	// 이하 이력 조회는 최신순이고 같은 날짜는 serialNumber 역순 (가격 시계열 상태를 덧붙이는 순서와 같게)
+	
+	// marketName과 itemName으로 데이터 조회 (0원 제외 - 숫자 가격 컬럼 priceWon 기준)
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m JOIN FETCH p.item i " +
+		   "WHERE m.name = :marketName AND i.name = :itemName " +
+		   "AND p.priceWon > 0 ORDER BY p.date DESC, p.serialNumber DESC")
 	List<PriceData> findByMarketNameAndItemNameOrderByDateDesc(@Param("marketName") String marketName, @Param("itemName") String itemName);
 	
 	// marketName으로만 데이터 조회 (0원 제외)
-	@Query("SELECT p FROM PriceData p WHERE p.marketName = :marketName " +
-		   "AND p.price IS NOT NULL AND p.price != '' AND p.price != '0' AND p.price NOT LIKE '0원' " +
-		   "AND p.price NOT LIKE '0%' ORDER BY p.date DESC")
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m LEFT JOIN FETCH p.item WHERE m.name = :marketName " +
+		   "AND p.priceWon > 0 ORDER BY p.date DESC, p.serialNumber DESC")
 	List<PriceData> findByMarketNameOrderByDateDesc(@Param("marketName") String marketName);
 	
 	// itemName으로만 데이터 조회 (0원 제외)
-	@Query("SELECT p FROM PriceData p WHERE p.itemName = :itemName " +
-		   "AND p.price IS NOT NULL AND p.price != '' AND p.price != '0' AND p.price NOT LIKE '0원' " +
-		   "AND p.price NOT LIKE '0%' ORDER BY p.date DESC")
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market JOIN FETCH p.item i WHERE i.name = :itemName " +
+		   "AND p.priceWon > 0 ORDER BY p.date DESC, p.serialNumber DESC")
 	List<PriceData> findByItemNameOrderByDateDesc(@Param("itemName") String itemName);
+
+	// 특정 날짜 이후 데이터만 조회 (0원 제외) - 이전 달은 가격 스냅샷에서 읽음
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m LEFT JOIN FETCH p.item " +
+		   "WHERE m.name = :marketName AND p.date >= :from " +
+		   "AND p.priceWon > 0 ORDER BY p.date DESC, p.serialNumber DESC")
+	List<PriceData> findByMarketNameSince(@Param("marketName") String marketName, @Param("from") LocalDate from);
+
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market JOIN FETCH p.item i " +
+		   "WHERE i.name = :itemName AND p.date >= :from " +
+		   "AND p.priceWon > 0 ORDER BY p.date DESC, p.serialNumber DESC")
+	List<PriceData> findByItemNameSince(@Param("itemName") String itemName, @Param("from") LocalDate from);
+
+	// 시장의 품목명을 이름순으로 cursor 다음부터 조회 (커서 페이지, since가 있으면 그 이후 데이터가 있는 품목만)
+	@Query("SELECT DISTINCT i.name FROM PriceData p JOIN p.market m JOIN p.item i WHERE m.name = :marketName " +
+		   "AND p.priceWon > 0 AND (:since IS NULL OR p.date >= :since) " +
+		   "AND (:cursor IS NULL OR i.name > :cursor) ORDER BY i.name")
+	List<String> findItemNamesByMarketName(@Param("marketName") String marketName, @Param("cursor") String cursor,
+		@Param("since") LocalDate since, Pageable pageable);
+
+	// 시장의 여러 품목 이력 한 번에 조회 (since가 있으면 그 이후만)
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m JOIN FETCH p.item i " +
+		   "WHERE m.name = :marketName AND i.name IN :itemNames " +
+		   "AND p.priceWon > 0 AND (:since IS NULL OR p.date >= :since) " +
+		   "ORDER BY p.date DESC, p.serialNumber DESC")
+	List<PriceData> findByMarketNameAndItemNames(@Param("marketName") String marketName,
+		@Param("itemNames") Collection<String> itemNames, @Param("since") LocalDate since);
+
+	// 시장의 여러 품목 각각의 최신 가격만 조회 (같은 날짜의 행이 여러 개면 모두 반환)
+	@Query("SELECT p FROM PriceData p JOIN FETCH p.market m JOIN FETCH p.item i " +
+		   "WHERE m.name = :marketName AND i.name IN :itemNames " +
+		   "AND p.priceWon > 0 AND (:since IS NULL OR p.date >= :since) " +
+		   "AND p.date = (SELECT MAX(p2.date) FROM PriceData p2 " +
+		   "WHERE p2.market = p.market AND p2.item = p.item AND p2.priceWon > 0) " +
+		   "ORDER BY p.date DESC, p.serialNumber DESC")
+	List<PriceData> findLatestByMarketNameAndItemNames(@Param("marketName") String marketName,
+		@Param("itemNames") Collection<String> itemNames, @Param("since") LocalDate since);
 }
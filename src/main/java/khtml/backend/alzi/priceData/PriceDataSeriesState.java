@@ -0,0 +1,68 @@
+package khtml.backend.alzi.priceData;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 가격 시계열별 온라인 지표 상태 (OnlinePriceIndicators 저장 형태)
+ * (품목, 시장) 시계열과 (품목, 전체 시장 = market_id 0) 시계열마다 1행이며, PriceSeriesStateStore가 JDBC로 읽고 씁니다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_price_data_series_state", columnNames = {"item_id",
+	"market_id"}))
+@NoArgsConstructor
+@Data
+public class PriceDataSeriesState {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "item_id", nullable = false)
+	private Integer itemId;
+
+	// 0이면 전체 시장
+	@Column(name = "market_id", nullable = false)
+	private Integer marketId;
+
+	private int pointCount;
+	private long priceSum;
+	private double mean;
+	private double m2;
+	private int minPrice;
+	private int maxPrice;
+	private LocalDate lastDate;
+
+	// 최신 7/20/30건 합
+	private long sum7;
+	private long sum20;
+	private long sum30;
+	// 최신 30건 회귀 Σxy
+	private long sumXy;
+	// 최신 14개 변화량의 상승/하락 합
+	private long gain14;
+	private long loss14;
+
+	// 최신순 최대 30건 ("3000,3100,...")
+	@Column(length = 400)
+	private String recentPrices;
+
+	// 1~12월 "합:건수"
+	@Column(length = 400)
+	private String monthStats;
+
+	// 가격 오름차순 "가격:건수"
+	@Column(columnDefinition = "MEDIUMTEXT")
+	private String priceHistogram;
+
+	// 마지막 날짜 행 중 순서가 가장 뒤인 serial_number (같은 날짜 행을 덧붙일 수 있는지 판단)
+	private String lastSerialNumber;
+}
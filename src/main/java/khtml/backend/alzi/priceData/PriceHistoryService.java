@@ -0,0 +1,85 @@
+package khtml.backend.alzi.priceData;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+import khtml.backend.alzi.priceData.snapshot.PriceSnapshot;
+import khtml.backend.alzi.priceData.snapshot.PriceSnapshotStore;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 분석용 PriceData 가격 이력 조회 (0원 제외, 최신순, 같은 날짜는 serial_number 역순)
+ * 스냅샷 cutoff 이하의 마감된 달은 메모리 매핑된 스냅샷 파일에서, 그 이후 달만 DB에서 읽습니다.
+ * 스냅샷에서 읽은 행은 가격/날짜/시장/품목만 채워집니다. (규격/비고는 분석에 쓰지 않아 저장하지 않음)
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+	private static final String SOURCE = "PriceData";
+
+	private final PriceDataRepository priceDataRepository;
+	private final PriceSnapshotStore priceSnapshotStore;
+
+	public List<MarketItemPriceResponse.PriceDataInfo> findByItemName(String itemName) {
+		YearMonth cutoff = priceSnapshotStore.cutoff();
+		if (cutoff == null) {
+			return toInfos(priceDataRepository.findByItemNameOrderByDateDesc(itemName));
+		}
+		List<MarketItemPriceResponse.PriceDataInfo> history = toInfos(
+			priceDataRepository.findByItemNameSince(itemName, firstDayAfter(cutoff)));
+		appendSnapshots(history, cutoff, null, itemName);
+		return history;
+	}
+
+	public List<MarketItemPriceResponse.PriceDataInfo> findByMarketName(String marketName) {
+		YearMonth cutoff = priceSnapshotStore.cutoff();
+		if (cutoff == null) {
+			return toInfos(priceDataRepository.findByMarketNameOrderByDateDesc(marketName));
+		}
+		List<MarketItemPriceResponse.PriceDataInfo> history = toInfos(
+			priceDataRepository.findByMarketNameSince(marketName, firstDayAfter(cutoff)));
+		appendSnapshots(history, cutoff, marketName, null);
+		return history;
+	}
+
+	// DB 결과(cutoff 이후, 최신순) 뒤에 같은 cutoff 이하의 스냅샷(최신 달 먼저)을 이어 붙임
+	private void appendSnapshots(List<MarketItemPriceResponse.PriceDataInfo> history, YearMonth cutoff,
+		String marketName, String itemName) {
+		for (PriceSnapshot snapshot : priceSnapshotStore.snapshotsUpToCutoff(cutoff)) {
+			int start = history.size();
+			snapshot.forEach(marketName, itemName, (rowMarket, rowItem, priceWon, epochDay) ->
+				history.add(MarketItemPriceResponse.PriceDataInfo.builder()
+					.itemName(rowItem)
+					.marketName(rowMarket)
+					.price(String.valueOf(priceWon))
+					.priceWon(priceWon)
+					.date(LocalDate.ofEpochDay(epochDay))
+					.source(SOURCE)
+					.build()));
+			// 스냅샷 안에서는 품목별 (날짜, serial_number) 오름차순이므로 뒤집은 뒤 최신순으로 정렬
+			// (안정 정렬이라 같은 날짜는 DB 조회와 같은 serial_number 역순)
+			List<MarketItemPriceResponse.PriceDataInfo> rows = history.subList(start, history.size());
+			Collections.reverse(rows);
+			rows.sort(Comparator.comparing(MarketItemPriceResponse.PriceDataInfo::getDate).reversed());
+		}
+	}
+
+	private static LocalDate firstDayAfter(YearMonth cutoff) {
+		return cutoff.plusMonths(1).atDay(1);
+	}
+
+	private static List<MarketItemPriceResponse.PriceDataInfo> toInfos(List<PriceData> priceDataList) {
+		List<MarketItemPriceResponse.PriceDataInfo> infos = new ArrayList<>(priceDataList.size());
+		for (PriceData priceData : priceDataList) {
+			infos.add(MarketItemPriceResponse.PriceDataInfo.from(priceData));
+		}
+		return infos;
+	}
+}
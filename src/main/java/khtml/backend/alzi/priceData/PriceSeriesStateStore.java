@@ -0,0 +1,385 @@
+package khtml.backend.alzi.priceData;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import khtml.backend.alzi.utils.OnlinePriceIndicators;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 가격 시계열별 온라인 지표 상태 저장소 (price_data_series_state)
+ * 시계열은 (품목, 시장)과 (품목, 전체 시장 = market_id 0) 두 가지이고, 조회 조건과 같이 0원 행은 넣지 않습니다.
+ * 시계열 순서는 (날짜, serial_number)이고, 이력 조회도 같은 순서(최신순이면 역순)로 읽습니다.
+ * 가져오기는 새 행을 기존 상태 뒤에 덧붙여 같은 트랜잭션에서 갱신하고(행당 O(1)),
+ * 덧붙일 수 없으면(마지막 행보다 앞 순서, 기존 행의 가격/날짜/시장/품목 변경) 상태를 지워서 다음 조회 때 이력으로 다시 만들게 합니다.
+ * 조회 쪽에서 이력으로 만든 상태는 그 시점 DB의 건수/합계와 맞을 때만 저장하고,
+ * 가져오기 트랜잭션이 끝난 뒤 상태가 없던 시계열을 한 번 더 지워서 커밋 전 이력으로 저장된 상태를 버립니다.
+ * (저장과 커밋 후 삭제는 같은 잠금으로 순서를 맞춤)
+ */
+@Component
+@Slf4j
+public class PriceSeriesStateStore {
+	// 전체 시장 시계열의 market_id
+	public static final int ALL_MARKETS = 0;
+
+	private static final String COLUMNS = "point_count, price_sum, mean, m2, min_price, max_price, last_date,"
+		+ " sum7, sum20, sum30, sum_xy, gain14, loss14, recent_prices, month_stats, price_histogram,"
+		+ " last_serial_number";
+	private static final String SELECT_STATE = "SELECT s.* FROM price_data_series_state s";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate requiresNew;
+	private final Object saveLock = new Object();
+
+	public PriceSeriesStateStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.requiresNew = new TransactionTemplate(transactionManager);
+		this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	/**
+	 * 상태 조회
+	 * @param marketName 시장명 (null이면 전체 시장)
+	 * @return 없으면 null
+	 */
+	public OnlinePriceIndicators find(String itemName, String marketName) {
+		List<StoredState> states = marketName == null
+			? jdbcTemplate.query(SELECT_STATE + " JOIN price_data_item i ON i.id = s.item_id"
+				+ " WHERE i.name = ? AND s.market_id = " + ALL_MARKETS, this::mapState, itemName)
+			: jdbcTemplate.query(SELECT_STATE + " JOIN price_data_item i ON i.id = s.item_id"
+				+ " JOIN price_data_market m ON m.id = s.market_id WHERE i.name = ? AND m.name = ?",
+				this::mapState, itemName, marketName);
+		return states.isEmpty() ? null : states.get(0).indicators();
+	}
+
+	/**
+	 * 이력으로 만든 상태 저장 (이미 있으면 두고, DB의 건수/합계와 다르면 저장하지 않음)
+	 * 조회 트랜잭션과 별도 트랜잭션으로 저장하며, 실패해도 조회에는 영향을 주지 않습니다.
+	 */
+	public void saveIfCurrent(String itemName, String marketName, OnlinePriceIndicators indicators) {
+		synchronized (saveLock) {
+			try {
+				requiresNew.executeWithoutResult(status -> {
+					SeriesKey key = findKey(itemName, marketName);
+					if (key == null || exists(key)) {
+						return;
+					}
+					// 이력을 읽은 뒤 커밋된 가져오기가 있으면 건수/합계가 달라짐
+					if (!matchesPriceData(key, indicators)) {
+						log.debug("가격 시계열 상태 저장 건너뜀 (이력 이후 변경) - {} / {}", itemName, marketName);
+						return;
+					}
+					jdbcTemplate.update("INSERT INTO price_data_series_state (item_id, market_id, " + COLUMNS
+							+ ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+						insertParams(key, indicators, lastSerialNumber(key, indicators)));
+				});
+			} catch (RuntimeException e) {
+				log.warn("가격 시계열 상태 저장 실패 - {} / {}: {}", itemName, marketName, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * 가져오기 반영 (PriceDataBulkWriter가 쓰기 직후 같은 트랜잭션에서 호출)
+	 * @param insertedRows 새로 추가된 행 (시장/품목 id가 채워진 상태)
+	 * @param changedSeries 기존 행의 가격/날짜/시장/품목이 바뀐 시계열 (다시 만들어야 함)
+	 */
+	public void apply(Collection<PriceData> insertedRows, Set<SeriesKey> changedSeries) {
+		Map<SeriesKey, List<PriceData>> appends = new LinkedHashMap<>();
+		for (PriceData row : insertedRows) {
+			if (row.getPriceWon() == null || row.getPriceWon() <= 0 || row.getDate() == null) {
+				continue;
+			}
+			for (SeriesKey key : SeriesKey.of(row)) {
+				appends.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+			}
+		}
+		Set<SeriesKey> stale = new HashSet<>(changedSeries);
+		if (appends.isEmpty() && stale.isEmpty()) {
+			return;
+		}
+
+		Set<SeriesKey> keys = new HashSet<>(appends.keySet());
+		keys.addAll(stale);
+		Map<SeriesKey, StoredState> states = lockStates(keys);
+
+		Set<SeriesKey> missing = new HashSet<>();
+		List<Object[]> updates = new ArrayList<>();
+		appends.forEach((key, rows) -> {
+			if (stale.contains(key)) {
+				return;
+			}
+			StoredState state = states.get(key);
+			if (state == null) {
+				missing.add(key);
+				return;
+			}
+			OnlinePriceIndicators indicators = state.indicators();
+			String lastSerialNumber = state.lastSerialNumber();
+			rows.sort(Comparator.comparing(PriceData::getDate).thenComparing(PriceData::getSerialNumber));
+			for (PriceData row : rows) {
+				// 마지막 날짜와 같은 날짜는 serial_number가 뒤일 때만 덧붙임 (모르면 다시 만듦)
+				boolean sameDate = row.getDate().equals(indicators.getLastDate());
+				boolean before = sameDate
+					&& (lastSerialNumber == null || row.getSerialNumber().compareTo(lastSerialNumber) < 0);
+				if (before || !indicators.append(row.getDate(), row.getPriceWon())) {
+					stale.add(key);
+					return;
+				}
+				lastSerialNumber = row.getSerialNumber();
+			}
+			updates.add(updateParams(key, indicators, lastSerialNumber));
+		});
+
+		if (!updates.isEmpty()) {
+			jdbcTemplate.batchUpdate("UPDATE price_data_series_state SET " + COLUMNS.replace(",", " = ?,")
+				+ " = ? WHERE item_id = ? AND market_id = ?", updates);
+		}
+		delete(stale);
+
+		Set<SeriesKey> evict = new HashSet<>(stale);
+		evict.addAll(missing);
+		deleteAfterCompletion(evict);
+		log.debug("가격 시계열 상태 반영 - 갱신: {}개, 재생성 대상: {}개, 상태 없음: {}개", updates.size(), stale.size(),
+			missing.size());
+	}
+
+	/**
+	 * 전체 삭제 (이미 있던 행의 가격이 한꺼번에 바뀐 경우, 다음 조회부터 이력으로 다시 만듦)
+	 */
+	public void clear() {
+		synchronized (saveLock) {
+			int deleted = jdbcTemplate.update("DELETE FROM price_data_series_state");
+			log.info("가격 시계열 상태 전체 삭제 - {}개", deleted);
+		}
+	}
+
+	// 덧붙일 상태를 잠그고 읽음 (동시에 다른 가져오기가 같은 상태를 덧붙이지 않도록)
+	private Map<SeriesKey, StoredState> lockStates(Set<SeriesKey> keys) {
+		Set<Integer> itemIds = new HashSet<>();
+		keys.forEach(key -> itemIds.add(key.itemId()));
+		List<StoredState> rows = jdbcTemplate.query(SELECT_STATE + " WHERE s.item_id IN ("
+			+ String.join(", ", Collections.nCopies(itemIds.size(), "?")) + ") FOR UPDATE", this::mapState,
+			itemIds.toArray());
+
+		Map<SeriesKey, StoredState> states = new LinkedHashMap<>();
+		for (StoredState row : rows) {
+			if (keys.contains(row.key())) {
+				states.put(row.key(), row);
+			}
+		}
+		return states;
+	}
+
+	private void delete(Set<SeriesKey> keys) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		List<Object[]> params = new ArrayList<>(keys.size());
+		keys.forEach(key -> params.add(new Object[] {key.itemId(), key.marketId()}));
+		jdbcTemplate.batchUpdate("DELETE FROM price_data_series_state WHERE item_id = ? AND market_id = ?", params);
+	}
+
+	// 가져오기 커밋 전 이력으로 조회 쪽에서 저장했을 수 있는 상태 삭제
+	private void deleteAfterCompletion(Set<SeriesKey> keys) {
+		if (keys.isEmpty()) {
+			return;
+		}
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				synchronized (saveLock) {
+					try {
+						requiresNew.executeWithoutResult(s -> delete(keys));
+					} catch (RuntimeException e) {
+						log.warn("가격 시계열 상태 삭제 실패 - {}개: {}", keys.size(), e.getMessage());
+					}
+				}
+			}
+		});
+	}
+
+	private SeriesKey findKey(String itemName, String marketName) {
+		List<Integer> itemIds = jdbcTemplate.queryForList("SELECT id FROM price_data_item WHERE name = ?",
+			Integer.class, itemName);
+		if (itemIds.isEmpty()) {
+			return null;
+		}
+		if (marketName == null) {
+			return new SeriesKey(itemIds.get(0), ALL_MARKETS);
+		}
+		List<Integer> marketIds = jdbcTemplate.queryForList("SELECT id FROM price_data_market WHERE name = ?",
+			Integer.class, marketName);
+		return marketIds.isEmpty() ? null : new SeriesKey(itemIds.get(0), marketIds.get(0));
+	}
+
+	private boolean exists(SeriesKey key) {
+		Integer count = jdbcTemplate.queryForObject(
+			"SELECT COUNT(*) FROM price_data_series_state WHERE item_id = ? AND market_id = ?", Integer.class,
+			key.itemId(), key.marketId());
+		return count != null && count > 0;
+	}
+
+	// 조회와 같은 조건 (전체 시장 이력은 시장이 있는 행만)
+	private boolean matchesPriceData(SeriesKey key, OnlinePriceIndicators indicators) {
+		String sql = "SELECT COUNT(*), COALESCE(SUM(price_won), 0) FROM price_data WHERE item_id = ?"
+			+ (key.marketId() == ALL_MARKETS ? " AND market_id IS NOT NULL" : " AND market_id = ?")
+			+ " AND price_won > 0";
+		Object[] params = key.marketId() == ALL_MARKETS
+			? new Object[] {key.itemId()}
+			: new Object[] {key.itemId(), key.marketId()};
+		Boolean matches = jdbcTemplate.query(sql,
+			rs -> rs.next() && rs.getLong(1) == indicators.getCount() && rs.getLong(2) == indicators.getSum(),
+			params);
+		return Boolean.TRUE.equals(matches);
+	}
+
+	// 이력의 마지막 날짜 행 중 순서가 가장 뒤인 serial_number (matchesPriceData와 같은 조건)
+	private String lastSerialNumber(SeriesKey key, OnlinePriceIndicators indicators) {
+		String sql = "SELECT MAX(serial_number) FROM price_data WHERE item_id = ?"
+			+ (key.marketId() == ALL_MARKETS ? " AND market_id IS NOT NULL" : " AND market_id = ?")
+			+ " AND price_won > 0 AND date = ?";
+		Date lastDate = Date.valueOf(indicators.getLastDate());
+		Object[] params = key.marketId() == ALL_MARKETS
+			? new Object[] {key.itemId(), lastDate}
+			: new Object[] {key.itemId(), key.marketId(), lastDate};
+		return jdbcTemplate.queryForObject(sql, String.class, params);
+	}
+
+	private StoredState mapState(ResultSet rs, int rowNum) throws SQLException {
+		SeriesKey key = new SeriesKey(rs.getInt("item_id"), rs.getInt("market_id"));
+		long[] monthSums = new long[13];
+		int[] monthCounts = new int[13];
+		String[] months = rs.getString("month_stats").split(",");
+		for (int month = 1; month <= 12; month++) {
+			String[] stat = months[month - 1].split(":");
+			monthSums[month] = Long.parseLong(stat[0]);
+			monthCounts[month] = Integer.parseInt(stat[1]);
+		}
+		Map<Integer, Integer> priceCounts = new TreeMap<>();
+		for (String entry : rs.getString("price_histogram").split(",")) {
+			if (!entry.isEmpty()) {
+				String[] priceCount = entry.split(":");
+				priceCounts.put(Integer.parseInt(priceCount[0]), Integer.parseInt(priceCount[1]));
+			}
+		}
+		String recent = rs.getString("recent_prices");
+		int[] recentPrices = recent.isEmpty()
+			? new int[0]
+			: Arrays.stream(recent.split(",")).mapToInt(Integer::parseInt).toArray();
+
+		OnlinePriceIndicators indicators = OnlinePriceIndicators.builder()
+			.count(rs.getInt("point_count"))
+			.sum(rs.getLong("price_sum"))
+			.mean(rs.getDouble("mean"))
+			.m2(rs.getDouble("m2"))
+			.min(rs.getInt("min_price"))
+			.max(rs.getInt("max_price"))
+			.lastDate(rs.getDate("last_date").toLocalDate())
+			.sum7(rs.getLong("sum7"))
+			.sum20(rs.getLong("sum20"))
+			.sum30(rs.getLong("sum30"))
+			.sumXY(rs.getLong("sum_xy"))
+			.gain14(rs.getLong("gain14"))
+			.loss14(rs.getLong("loss14"))
+			.recentPrices(recentPrices)
+			.monthSums(monthSums)
+			.monthCounts(monthCounts)
+			.priceCounts(priceCounts)
+			.build();
+		return new StoredState(key, indicators, rs.getString("last_serial_number"));
+	}
+
+	private static Object[] stateParams(OnlinePriceIndicators indicators, String lastSerialNumber) {
+		StringBuilder monthStats = new StringBuilder();
+		for (int month = 1; month <= 12; month++) {
+			if (month > 1) {
+				monthStats.append(',');
+			}
+			monthStats.append(indicators.getMonthSums()[month]).append(':').append(indicators.getMonthCounts()[month]);
+		}
+		StringBuilder histogram = new StringBuilder();
+		indicators.getPriceCounts().forEach((price, count) -> {
+			if (!histogram.isEmpty()) {
+				histogram.append(',');
+			}
+			histogram.append(price).append(':').append(count);
+		});
+		StringBuilder recent = new StringBuilder();
+		for (int price : indicators.getRecentPrices()) {
+			if (!recent.isEmpty()) {
+				recent.append(',');
+			}
+			recent.append(price);
+		}
+
+		return new Object[] {indicators.getCount(), indicators.getSum(), indicators.getMean(), indicators.getM2(),
+			indicators.getMin(), indicators.getMax(), Date.valueOf(indicators.getLastDate()), indicators.getSum7(),
+			indicators.getSum20(), indicators.getSum30(), indicators.getSumXY(), indicators.getGain14(),
+			indicators.getLoss14(), recent.toString(), monthStats.toString(), histogram.toString(), lastSerialNumber};
+	}
+
+	private static Object[] insertParams(SeriesKey key, OnlinePriceIndicators indicators, String lastSerialNumber) {
+		Object[] state = stateParams(indicators, lastSerialNumber);
+		Object[] params = new Object[state.length + 2];
+		params[0] = key.itemId();
+		params[1] = key.marketId();
+		System.arraycopy(state, 0, params, 2, state.length);
+		return params;
+	}
+
+	private static Object[] updateParams(SeriesKey key, OnlinePriceIndicators indicators, String lastSerialNumber) {
+		Object[] state = stateParams(indicators, lastSerialNumber);
+		Object[] params = new Object[state.length + 2];
+		System.arraycopy(state, 0, params, 0, state.length);
+		params[state.length] = key.itemId();
+		params[state.length + 1] = key.marketId();
+		return params;
+	}
+
+	/**
+	 * 시계열 키 (품목 id, 시장 id 또는 ALL_MARKETS)
+	 */
+	public record SeriesKey(int itemId, int marketId) {
+		/**
+		 * 행이 속한 시계열 - (품목, 시장)과 (품목, 전체 시장) (시장이나 품목이 없으면 조회되지 않으므로 없음)
+		 */
+		static List<SeriesKey> of(Integer itemId, Integer marketId) {
+			if (itemId == null || marketId == null) {
+				return List.of();
+			}
+			return List.of(new SeriesKey(itemId, marketId), new SeriesKey(itemId, ALL_MARKETS));
+		}
+
+		static List<SeriesKey> of(PriceData row) {
+			return of(row.getItem() != null ? row.getItem().getId() : null,
+				row.getMarket() != null ? row.getMarket().getId() : null);
+		}
+	}
+
+	private record StoredState(SeriesKey key, OnlinePriceIndicators indicators, String lastSerialNumber) {
+	}
+}
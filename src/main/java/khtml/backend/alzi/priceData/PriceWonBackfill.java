@@ -0,0 +1,81 @@
+package khtml.backend.alzi.priceData;
+
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import khtml.backend.alzi.backfill.StartupBackfillExecutor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * price_won 컬럼 도입 이전에 저장된 PriceData 행의 price_won 채우기 (1회성)
+ * 기동 시 백필 실행기에서 price_won이 NULL인 행만 serial_number 순으로 chunkSize 건씩 읽어 갱신합니다.
+ * 채울 행이 없으면 조회 1회로 끝나므로 매 기동마다 실행해도 됩니다.
+ * 완료 전까지 NULL인 행은 0원 제외 조건(price_won > 0)에 걸려 조회되지 않습니다.
+ * 그 사이 내보낸 가격 스냅샷에도 빠져 있으므로, 채운 행이 있는 달은 스냅샷을 무효화해서 다시 내보내게 합니다.
+ */
+@Component
+@Slf4j
+public class PriceWonBackfill implements ApplicationRunner {
+
+	private static final String NAME = "price_won 채우기";
+
+	private final PriceDataBackfillSupport backfillSupport;
+	private final StartupBackfillExecutor startupBackfillExecutor;
+	private final boolean enabled;
+	private final int chunkSize;
+
+	public PriceWonBackfill(PriceDataBackfillSupport backfillSupport, StartupBackfillExecutor startupBackfillExecutor,
+		@Value("${price-data.price-won-backfill.enabled:true}") boolean enabled,
+		@Value("${price-data.price-won-backfill.chunk-size:5000}") int chunkSize) {
+		this.backfillSupport = backfillSupport;
+		this.startupBackfillExecutor = startupBackfillExecutor;
+		this.enabled = enabled;
+		this.chunkSize = chunkSize;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (enabled) {
+			startupBackfillExecutor.submit(NAME, this::backfill);
+		}
+	}
+
+	/**
+	 * price_won이 비어 있는 행 전체를 chunk 단위로 채움
+	 * @return 갱신한 행 수
+	 */
+	public int backfill() {
+		// 0원이 아닌 가격으로 채워져 조회 결과에 새로 나타나는 행이 있는 달
+		Set<YearMonth> changedMonths = new HashSet<>();
+		try {
+			// 그 사이 가져오기로 채워진 행은 덮어쓰지 않음
+			return backfillSupport.updateInChunks(NAME,
+				"SELECT serial_number, price, date FROM price_data WHERE price_won IS NULL AND serial_number > ?"
+					+ " ORDER BY serial_number LIMIT ?",
+				"UPDATE price_data SET price_won = ? WHERE serial_number = ? AND price_won IS NULL",
+				chunkSize,
+				(rs, rowNum) -> {
+					int priceWon = PriceData.parsePriceWon(rs.getString("price"));
+					Date date = rs.getDate("date");
+					if (priceWon > 0 && date != null) {
+						changedMonths.add(YearMonth.from(date.toLocalDate()));
+					}
+					return new Object[] {priceWon, rs.getString("serial_number")};
+				});
+		} catch (RuntimeException e) {
+			log.error("PriceData price_won 채우기 실패 (다음 기동 때 이어서 진행)", e);
+			return 0;
+		} finally {
+			if (!changedMonths.isEmpty()) {
+				backfillSupport.invalidate(NAME, changedMonths);
+			}
+		}
+	}
+}
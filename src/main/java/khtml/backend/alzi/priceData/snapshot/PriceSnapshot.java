@@ -0,0 +1,160 @@
+package khtml.backend.alzi.priceData.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 마감된 한 달치 PriceData의 컬럼 형식 스냅샷 (읽기 전용, 메모리 매핑)
+ *
+ * 파일 구조 (big-endian)
+ * - 헤더: MAGIC, VERSION, 년월(yyyyMM), 행 수, 시장 사전 크기, 품목 사전 크기
+ * - 시장/품목 사전: (길이 2바이트 + UTF-8) 반복, 이름순으로 id 부여
+ * - 4바이트 정렬 후 int 컬럼 4개: 시장 id, 품목 id, 가격(원), epoch day
+ * 행은 (품목 id, 날짜, serial_number) 순으로 정렬되어 있어 품목 조회는 이진 탐색 후 연속 구간만 읽습니다.
+ * 컬럼은 매핑된 파일을 그대로 IntBuffer로 보므로 힙에 복사하지 않습니다.
+ */
+public final class PriceSnapshot {
+	static final int MAGIC = 0x50534E50; // "PSNP"
+	static final int VERSION = 1;
+
+	private final YearMonth yearMonth;
+	private final String[] marketNames;
+	private final String[] itemNames;
+	private final Map<String, Integer> marketIds;
+	private final Map<String, Integer> itemIds;
+	private final int rowCount;
+	private final IntBuffer marketColumn;
+	private final IntBuffer itemColumn;
+	private final IntBuffer priceColumn;
+	private final IntBuffer dayColumn;
+
+	private PriceSnapshot(ByteBuffer buffer) {
+		if (buffer.getInt() != MAGIC) {
+			throw new IllegalStateException("가격 스냅샷 파일 형식이 아닙니다");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IllegalStateException("지원하지 않는 가격 스냅샷 버전: " + version);
+		}
+		int encodedMonth = buffer.getInt();
+		this.yearMonth = YearMonth.of(encodedMonth / 100, encodedMonth % 100);
+		this.rowCount = buffer.getInt();
+		int marketCount = buffer.getInt();
+		int itemCount = buffer.getInt();
+
+		this.marketNames = readDictionary(buffer, marketCount);
+		this.itemNames = readDictionary(buffer, itemCount);
+		this.marketIds = indexOf(marketNames);
+		this.itemIds = indexOf(itemNames);
+
+		int position = align(buffer.position());
+		int columnBytes = rowCount * Integer.BYTES;
+		this.marketColumn = buffer.slice(position, columnBytes).asIntBuffer();
+		this.itemColumn = buffer.slice(position + columnBytes, columnBytes).asIntBuffer();
+		this.priceColumn = buffer.slice(position + columnBytes * 2, columnBytes).asIntBuffer();
+		this.dayColumn = buffer.slice(position + columnBytes * 3, columnBytes).asIntBuffer();
+	}
+
+	/**
+	 * 스냅샷 파일을 읽기 전용으로 매핑 (채널을 닫아도 매핑은 유지됨)
+	 */
+	static PriceSnapshot open(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return new PriceSnapshot(buffer);
+		}
+	}
+
+	public YearMonth yearMonth() {
+		return yearMonth;
+	}
+
+	public int rowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * 조건에 맞는 행 순회 (null 조건은 전체)
+	 */
+	public void forEach(String marketName, String itemName, RowVisitor visitor) {
+		int marketId = -1;
+		if (marketName != null) {
+			Integer id = marketIds.get(marketName);
+			if (id == null) {
+				return;
+			}
+			marketId = id;
+		}
+
+		int from = 0;
+		int to = rowCount;
+		if (itemName != null) {
+			Integer itemId = itemIds.get(itemName);
+			if (itemId == null) {
+				return;
+			}
+			from = lowerBound(itemId);
+			to = lowerBound(itemId + 1);
+		}
+
+		for (int row = from; row < to; row++) {
+			int rowMarket = marketColumn.get(row);
+			if (marketId >= 0 && rowMarket != marketId) {
+				continue;
+			}
+			visitor.visit(marketNames[rowMarket], itemNames[itemColumn.get(row)], priceColumn.get(row),
+				dayColumn.get(row));
+		}
+	}
+
+	// 품목 id 컬럼에서 itemId 이상인 첫 행 (행은 품목 id 순으로 정렬됨)
+	private int lowerBound(int itemId) {
+		int low = 0;
+		int high = rowCount;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (itemColumn.get(mid) < itemId) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	static int align(int position) {
+		return (position + Integer.BYTES - 1) & -Integer.BYTES;
+	}
+
+	private static String[] readDictionary(ByteBuffer buffer, int size) {
+		String[] names = new String[size];
+		for (int i = 0; i < size; i++) {
+			byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+			buffer.get(bytes);
+			names[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+		return names;
+	}
+
+	private static Map<String, Integer> indexOf(String[] names) {
+		Map<String, Integer> ids = new HashMap<>(names.length * 2);
+		for (int i = 0; i < names.length; i++) {
+			ids.put(names[i], i);
+		}
+		return ids;
+	}
+
+	@FunctionalInterface
+	public interface RowVisitor {
+		void visit(String marketName, String itemName, int priceWon, long epochDay);
+	}
+}
@@ -0,0 +1,186 @@
+package khtml.backend.alzi.priceData.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 마감된 달의 PriceData를 월별 컬럼 형식 스냅샷 파일로 내보내기
+ * 시장/품목명은 파일마다 사전 id로, 가격은 원 단위 int로, 날짜는 epoch day로 저장합니다. (형식은 PriceSnapshot 참고)
+ * 0원/파싱할 수 없는 가격(price_won = 0)은 조회 쿼리와 같게 제외합니다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceSnapshotExporter {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final PriceSnapshotStore store;
+
+	/**
+	 * 매일 새벽 마감된 달 중 스냅샷이 없거나 무효화된 달을 내보냄
+	 */
+	@Scheduled(cron = "${price-data.snapshot.cron:0 30 4 * * *}")
+	public void exportClosedMonths() {
+		if (!store.isEnabled()) {
+			return;
+		}
+		long version = store.version();
+		YearMonth lastClosed = YearMonth.now().minusMonths(1);
+		YearMonth cutoff = store.cutoff();
+
+		List<YearMonth> months = findMonthsWithData(lastClosed).stream()
+			.filter(month -> cutoff == null || month.isAfter(cutoff))
+			.toList();
+		if (cutoff != null && !cutoff.isBefore(lastClosed) && months.isEmpty()) {
+			return;
+		}
+
+		log.info("가격 스냅샷 내보내기 시작 - {}개월 (cutoff: {} → {})", months.size(), cutoff, lastClosed);
+		try {
+			for (YearMonth month : months) {
+				export(month);
+			}
+			if (store.advanceCutoff(lastClosed, version)) {
+				log.info("가격 스냅샷 내보내기 완료 - cutoff: {}", lastClosed);
+			} else {
+				log.info("내보내기 중 가격 데이터가 변경되어 cutoff를 유지합니다 (다음 실행 때 다시 내보냄)");
+			}
+		} catch (IOException | RuntimeException e) {
+			log.error("가격 스냅샷 내보내기 실패", e);
+		}
+	}
+
+	/**
+	 * 한 달치 스냅샷 파일 생성
+	 * @return 기록한 행 수
+	 */
+	public int export(YearMonth month) throws IOException {
+		Map<String, Integer> marketIds = new TreeMap<>();
+		Map<String, Integer> itemIds = new TreeMap<>();
+		List<Row> rows = new ArrayList<>();
+
+		List<String[]> names = new ArrayList<>();
+		List<int[]> values = new ArrayList<>();
+		jdbcTemplate.query(
+			"SELECT m.name AS market_name, i.name AS item_name, p.price_won, p.date FROM price_data p"
+				+ " JOIN price_data_market m ON m.id = p.market_id JOIN price_data_item i ON i.id = p.item_id"
+				+ " WHERE p.date >= ? AND p.date < ? AND p.price_won > 0 ORDER BY p.date, p.serial_number",
+			rs -> {
+				int price = rs.getInt("price_won");
+				String marketName = rs.getString("market_name");
+				String itemName = rs.getString("item_name");
+				marketIds.putIfAbsent(marketName, 0);
+				itemIds.putIfAbsent(itemName, 0);
+				names.add(new String[] {marketName, itemName});
+				values.add(new int[] {price, (int)rs.getDate("date").toLocalDate().toEpochDay()});
+			},
+			Date.valueOf(month.atDay(1)), Date.valueOf(month.plusMonths(1).atDay(1)));
+
+		// 이름순으로 사전 id 부여
+		assignIds(marketIds);
+		assignIds(itemIds);
+		for (int i = 0; i < names.size(); i++) {
+			rows.add(new Row(marketIds.get(names.get(i)[0]), itemIds.get(names.get(i)[1]), values.get(i)[0],
+				values.get(i)[1]));
+		}
+		// 안정 정렬이라 같은 품목/날짜 안에서는 조회 순서(serial_number) 유지
+		rows.sort(Comparator.comparingInt(Row::itemId).thenComparingInt(Row::epochDay));
+
+		Files.createDirectories(store.directory());
+		Path temp = Files.createTempFile(store.directory(), "price-data-" + month, ".tmp");
+		try {
+			write(temp, month, marketIds, itemIds, rows);
+			store.publish(month, temp);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+		log.info("가격 스냅샷 생성 - {} ({}행, 시장 {}개, 품목 {}개)", month, rows.size(), marketIds.size(), itemIds.size());
+		return rows.size();
+	}
+
+	private void write(Path file, YearMonth month, Map<String, Integer> marketIds, Map<String, Integer> itemIds,
+		List<Row> rows) throws IOException {
+		List<byte[]> marketNames = encode(marketIds);
+		List<byte[]> itemNames = encode(itemIds);
+		int headerBytes = Integer.BYTES * 6;
+		int dictionaryBytes = marketNames.stream().mapToInt(bytes -> Short.BYTES + bytes.length).sum()
+			+ itemNames.stream().mapToInt(bytes -> Short.BYTES + bytes.length).sum();
+		int columnStart = PriceSnapshot.align(headerBytes + dictionaryBytes);
+		int columnBytes = rows.size() * Integer.BYTES;
+
+		ByteBuffer buffer = ByteBuffer.allocate(columnStart + columnBytes * 4);
+		buffer.putInt(PriceSnapshot.MAGIC)
+			.putInt(PriceSnapshot.VERSION)
+			.putInt(month.getYear() * 100 + month.getMonthValue())
+			.putInt(rows.size())
+			.putInt(marketNames.size())
+			.putInt(itemNames.size());
+		for (byte[] name : marketNames) {
+			buffer.putShort((short)name.length).put(name);
+		}
+		for (byte[] name : itemNames) {
+			buffer.putShort((short)name.length).put(name);
+		}
+
+		buffer.position(columnStart);
+		rows.forEach(row -> buffer.putInt(row.marketId()));
+		rows.forEach(row -> buffer.putInt(row.itemId()));
+		rows.forEach(row -> buffer.putInt(row.priceWon()));
+		rows.forEach(row -> buffer.putInt(row.epochDay()));
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+			StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+	}
+
+	private List<YearMonth> findMonthsWithData(YearMonth lastClosed) {
+		TreeSet<YearMonth> months = new TreeSet<>();
+		jdbcTemplate.query("SELECT DISTINCT date FROM price_data WHERE date IS NOT NULL AND date < ?",
+			rs -> {
+				months.add(YearMonth.from(rs.getDate("date").toLocalDate()));
+			},
+			Date.valueOf(lastClosed.plusMonths(1).atDay(1)));
+		return new ArrayList<>(months);
+	}
+
+	private static void assignIds(Map<String, Integer> ids) {
+		int next = 0;
+		for (Map.Entry<String, Integer> entry : ids.entrySet()) {
+			entry.setValue(next++);
+		}
+	}
+
+	private static List<byte[]> encode(Map<String, Integer> ids) {
+		return ids.keySet().stream()
+			.map(name -> name.getBytes(StandardCharsets.UTF_8))
+			.toList();
+	}
+
+	private record Row(int marketId, int itemId, int priceWon, int epochDay) {
+	}
+}
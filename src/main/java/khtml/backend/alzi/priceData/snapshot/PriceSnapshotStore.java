@@ -0,0 +1,183 @@
+package khtml.backend.alzi.priceData.snapshot;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 월별 가격 스냅샷 파일 관리
+ * cutoff(마지막으로 전체 내보내기가 끝난 년월) 이하의 달은 스냅샷만 읽고, 그 이후 달은 DB에서 읽습니다.
+ * CSV 가져오기가 마감된 달을 바꾸면 해당 달부터 cutoff를 되돌려서 다음 내보내기 전까지 DB를 읽게 합니다.
+ */
+@Component
+@Slf4j
+public class PriceSnapshotStore {
+	private static final String CUTOFF_FILE = "cutoff";
+
+	private final Path directory;
+	private final boolean enabled;
+	private final Map<YearMonth, PriceSnapshot> mapped = new ConcurrentHashMap<>();
+	private volatile YearMonth cutoff;
+	// 무효화될 때마다 증가 (내보내기 도중 무효화되면 cutoff를 올리지 않음)
+	private volatile long version;
+
+	public PriceSnapshotStore(@Value("${price-data.snapshot.dir:snapshots/price-data}") String directory,
+		@Value("${price-data.snapshot.enabled:true}") boolean enabled) {
+		this.directory = Paths.get(directory);
+		this.enabled = enabled;
+		this.cutoff = enabled ? readCutoff() : null;
+	}
+
+	/**
+	 * 스냅샷으로 읽을 수 있는 마지막 년월 (없으면 null → 전부 DB)
+	 */
+	public YearMonth cutoff() {
+		return cutoff;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	long version() {
+		return version;
+	}
+
+	/**
+	 * cutoff 이하의 스냅샷 목록 (최신 달 먼저)
+	 * DB 조회 범위를 정할 때 읽은 cutoff를 넘겨야 합니다. (그 사이 무효화로 cutoff가 바뀌면 달이 빠짐)
+	 */
+	public List<PriceSnapshot> snapshotsUpToCutoff(YearMonth current) {
+		if (current == null) {
+			return List.of();
+		}
+		List<PriceSnapshot> snapshots = new ArrayList<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			files.map(this::parseMonth)
+				.filter(month -> month != null && !month.isAfter(current))
+				.sorted(Comparator.reverseOrder())
+				.forEach(month -> {
+					PriceSnapshot snapshot = get(month);
+					if (snapshot != null) {
+						snapshots.add(snapshot);
+					}
+				});
+		} catch (IOException e) {
+			log.warn("가격 스냅샷 목록 조회 실패: {}", e.getMessage());
+		}
+		return snapshots;
+	}
+
+	private PriceSnapshot get(YearMonth month) {
+		return mapped.computeIfAbsent(month, key -> {
+			try {
+				return PriceSnapshot.open(fileOf(key));
+			} catch (IOException | RuntimeException e) {
+				log.warn("가격 스냅샷 열기 실패 - {}: {}", key, e.getMessage());
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * 내보낸 임시 파일을 해당 달의 스냅샷으로 교체
+	 */
+	synchronized void publish(YearMonth month, Path tempFile) throws IOException {
+		Files.move(tempFile, fileOf(month), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		mapped.remove(month);
+	}
+
+	/**
+	 * 내보내기가 끝난 뒤 cutoff 갱신 (내보내기 시작 이후 무효화가 있었으면 건너뜀)
+	 */
+	synchronized boolean advanceCutoff(YearMonth newCutoff, long expectedVersion) throws IOException {
+		if (version != expectedVersion) {
+			return false;
+		}
+		writeCutoff(newCutoff);
+		cutoff = newCutoff;
+		return true;
+	}
+
+	/**
+	 * 가져오기로 바뀐 달의 스냅샷 무효화 - 가장 이른 달 이전으로 cutoff를 되돌림
+	 */
+	public synchronized void invalidate(Collection<YearMonth> changedMonths) {
+		version++;
+		YearMonth current = cutoff;
+		if (current == null || changedMonths.isEmpty()) {
+			return;
+		}
+		YearMonth earliest = changedMonths.stream().min(Comparator.naturalOrder()).get();
+		if (earliest.isAfter(current)) {
+			return;
+		}
+
+		YearMonth newCutoff = earliest.minusMonths(1);
+		try {
+			writeCutoff(newCutoff);
+		} catch (IOException e) {
+			log.warn("가격 스냅샷 cutoff 저장 실패: {}", e.getMessage());
+		}
+		cutoff = newCutoff;
+		mapped.keySet().removeIf(month -> month.isAfter(newCutoff));
+		log.info("가격 스냅샷 무효화 - {} 이후 달은 다음 내보내기 전까지 DB에서 조회", newCutoff);
+	}
+
+	Path directory() {
+		return directory;
+	}
+
+	Path fileOf(YearMonth month) {
+		return directory.resolve("price-data-" + month + ".snap");
+	}
+
+	private YearMonth parseMonth(Path file) {
+		String name = file.getFileName().toString();
+		if (!name.startsWith("price-data-") || !name.endsWith(".snap")) {
+			return null;
+		}
+		try {
+			return YearMonth.parse(name.substring("price-data-".length(), name.length() - ".snap".length()));
+		} catch (RuntimeException e) {
+			return null;
+		}
+	}
+
+	private YearMonth readCutoff() {
+		Path file = directory.resolve(CUTOFF_FILE);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try {
+			return YearMonth.parse(Files.readString(file, StandardCharsets.UTF_8).trim());
+		} catch (IOException | RuntimeException e) {
+			log.warn("가격 스냅샷 cutoff 읽기 실패 - 전체 DB 조회로 동작: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private void writeCutoff(YearMonth month) throws IOException {
+		Files.createDirectories(directory);
+		Path temp = directory.resolve(CUTOFF_FILE + ".tmp");
+		Files.writeString(temp, month.toString(), StandardCharsets.UTF_8);
+		Files.move(temp, directory.resolve(CUTOFF_FILE), StandardCopyOption.REPLACE_EXISTING,
+			StandardCopyOption.ATOMIC_MOVE);
+	}
+}
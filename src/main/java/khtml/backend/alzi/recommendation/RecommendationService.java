@@ -2,6 +2,7 @@ package khtml.backend.alzi.recommendation;
 
 import khtml.backend.alzi.market.MarketService;
 import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+import khtml.backend.alzi.priceData.PriceAnalysisStore;
 import khtml.backend.alzi.priceData.PriceDataRepository;
 import khtml.backend.alzi.shopping.ItemPrice;
 import khtml.backend.alzi.shopping.ItemPriceRepository;
@@ -27,7 +28,7 @@ import java.util.stream.Collectors;
 public class RecommendationService {
 
     private final SeasonalRecommendationUtil seasonalRecommendationUtil;
-    private final PricePredictionUtil pricePredictionUtil;
+    private final PriceAnalysisStore priceAnalysisStore;
     private final ItemRepository itemRepository;
     private final ItemPriceRepository itemPriceRepository;
     private final PriceDataRepository priceDataRepository;
@@ -415,8 +416,8 @@ public class RecommendationService {
     private void addPricePredictionInfo(MarketSavingRecommendation recommendation, MarketItemPriceResponse item) {
         try {
             if (!item.getPriceDataList().isEmpty()) {
-                PricePredictionUtil.PriceAnalysis analysis = 
-                    pricePredictionUtil.analyzePriceHistory(item.getItemName(), item.getPriceDataList());
+                PricePredictionUtil.PriceAnalysis analysis =
+                    priceAnalysisStore.get(item.getItemName(), item.getMarketName(), item::getPriceDataList);
                 
                 if (analysis != null) {
                     recommendation.setPriceLevel(analysis.getPriceLevel());
@@ -12,12 +12,18 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import khtml.backend.alzi.market.Market;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@Table(name = "item_price", uniqueConstraints = {
+    // 시장별 아이템 일자 가격은 한 건만 존재 (bulk upsert 키)
+    @UniqueConstraint(name = "uk_item_price_item_market_date", columnNames = {"item_id", "market_code", "survey_date"})
+})
 @NoArgsConstructor
 @Data
 public class ItemPrice {
@@ -2,9 +2,11 @@ package khtml.backend.alzi.shopping;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -80,4 +82,30 @@ public interface ItemPriceRepository extends JpaRepository<ItemPrice, Long> {
     // 특정 아이템의 최고 가격 조회 (0원 제외)
     @Query("SELECT MAX(ip.price) FROM ItemPrice ip WHERE ip.item = :item AND ip.price > 0")
     BigDecimal findMaxPriceByItemExcludingZero(@Param("item") Item item);
+
+    // 시장의 품목명을 이름순으로 cursor 다음부터 조회 (커서 페이지, since가 있으면 그 이후 시세가 있는 품목만)
+    @Query("SELECT DISTINCT i.name FROM ItemPrice ip JOIN ip.item i JOIN ip.market m WHERE m.name = :marketName " +
+           "AND ip.price > 0 AND (:since IS NULL OR ip.surveyDate >= :since) " +
+           "AND (:cursor IS NULL OR i.name > :cursor) ORDER BY i.name")
+    List<String> findItemNamesByMarketName(@Param("marketName") String marketName, @Param("cursor") String cursor,
+                                           @Param("since") LocalDate since, Pageable pageable);
+
+    // 시장의 여러 품목 시세 한 번에 조회 (since가 있으면 그 이후만, 0원 제외)
+    @Query("SELECT ip FROM ItemPrice ip JOIN FETCH ip.item i JOIN FETCH ip.market m " +
+           "WHERE m.name = :marketName AND i.name IN :itemNames AND ip.price > 0 " +
+           "AND (:since IS NULL OR ip.surveyDate >= :since) ORDER BY ip.surveyDate DESC, ip.updatedAt DESC")
+    List<ItemPrice> findByMarketNameAndItemNames(@Param("marketName") String marketName,
+                                                 @Param("itemNames") Collection<String> itemNames,
+                                                 @Param("since") LocalDate since);
+
+    // 시장의 여러 품목 각각의 최신 시세만 조회 (0원 제외)
+    @Query("SELECT ip FROM ItemPrice ip JOIN FETCH ip.item i JOIN FETCH ip.market m " +
+           "WHERE m.name = :marketName AND i.name IN :itemNames AND ip.price > 0 " +
+           "AND (:since IS NULL OR ip.surveyDate >= :since) " +
+           "AND ip.surveyDate = (SELECT MAX(ip2.surveyDate) FROM ItemPrice ip2 " +
+           "WHERE ip2.market = ip.market AND ip2.item = ip.item AND ip2.price > 0) " +
+           "ORDER BY ip.surveyDate DESC, ip.updatedAt DESC")
+    List<ItemPrice> findLatestByMarketNameAndItemNames(@Param("marketName") String marketName,
+                                                       @Param("itemNames") Collection<String> itemNames,
+                                                       @Param("since") LocalDate since);
 }
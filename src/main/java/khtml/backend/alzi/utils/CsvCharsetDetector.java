@@ -0,0 +1,311 @@
+package khtml.backend.alzi.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV 업로드 파일의 문자 인코딩 감지
+ * 파일 앞부분(최대 8KB)만 한 번 읽어서 BOM → UTF-8 유효성 → 한글 바이트 빈도 순으로 판단하고,
+ * 같은 스트림을 그대로 이어서 디코딩합니다. (인코딩마다 파일을 다시 여는 방식 대체)
+ * 앞부분이 ASCII뿐이면 아직 판단할 수 없으므로, 처음 나오는 비ASCII 바이트에서 다시 샘플을 읽어 감지합니다.
+ */
+@Component
+@Slf4j
+public class CsvCharsetDetector {
+
+    // 인코딩 판단에 사용할 앞부분 바이트 수
+    public static final int SAMPLE_SIZE = 8 * 1024;
+
+    public static final Charset EUC_KR = Charset.forName("EUC-KR");
+    public static final Charset MS949 = Charset.forName("MS949");
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 입력 스트림의 인코딩을 감지하고, 해당 인코딩으로 디코딩하는 Reader 반환
+     * BOM이 있으면 건너뛰고, 잘못된 바이트는 대체 문자(�)로 디코딩됩니다.
+     */
+    public DetectedReader open(InputStream inputStream) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(inputStream, READ_BUFFER_SIZE);
+
+        in.mark(SAMPLE_SIZE);
+        byte[] sample = in.readNBytes(SAMPLE_SIZE);
+        in.reset();
+
+        boolean truncated = sample.length == SAMPLE_SIZE;
+        if (truncated && isAscii(sample, sample.length)) {
+            // ASCII는 UTF-8/EUC-KR/MS949 모두 같으므로 그대로 읽다가 처음 나오는 비ASCII 바이트에서 판단
+            log.info("CSV 인코딩 감지 보류: 앞부분 {}바이트가 ASCII뿐이라 처음 나오는 한글에서 감지합니다", sample.length);
+            AsciiPrefixReader reader = new AsciiPrefixReader(in);
+            return new DetectedReader(reader::charset, new BufferedReader(reader));
+        }
+
+        Detection detection = detect(sample, sample.length, truncated);
+        in.skipNBytes(detection.bomLength());
+
+        log.info("CSV 인코딩 감지: {} ({})", detection.charset().name(), detection.reason());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, detection.charset()));
+        Charset charset = detection.charset();
+        return new DetectedReader(() -> charset, reader);
+    }
+
+    /**
+     * 샘플 바이트로 인코딩 판단
+     * @param truncated 샘플이 파일 중간에서 잘렸는지 여부 (마지막 멀티바이트 문자가 잘린 경우 허용)
+     */
+    Detection detect(byte[] sample, int length, boolean truncated) {
+        // 1. BOM
+        if (length >= 3 && (sample[0] & 0xFF) == 0xEF && (sample[1] & 0xFF) == 0xBB && (sample[2] & 0xFF) == 0xBF) {
+            return new Detection(StandardCharsets.UTF_8, 3, "UTF-8 BOM");
+        }
+        if (length >= 2 && (sample[0] & 0xFF) == 0xFE && (sample[1] & 0xFF) == 0xFF) {
+            return new Detection(StandardCharsets.UTF_16BE, 2, "UTF-16BE BOM");
+        }
+        if (length >= 2 && (sample[0] & 0xFF) == 0xFF && (sample[1] & 0xFF) == 0xFE) {
+            return new Detection(StandardCharsets.UTF_16LE, 2, "UTF-16LE BOM");
+        }
+        return detectText(sample, length, truncated);
+    }
+
+    /**
+     * BOM 없이 바이트 내용으로 판단 (UTF-8 유효성 → 한글 바이트 빈도)
+     */
+    Detection detectText(byte[] sample, int length, boolean truncated) {
+        // 2. UTF-8 유효성 (ASCII만 있는 경우 포함)
+        if (isValidUtf8(sample, length, truncated)) {
+            return new Detection(StandardCharsets.UTF_8, 0, "UTF-8 유효");
+        }
+
+        // 3. 한글 2바이트 코드 빈도 (EUC-KR 완성형 / MS949 확장 완성형)
+        int ksHangul = 0;   // EUC-KR 완성형 한글 (0xB0~0xC8, 0xA1~0xFE)
+        int ksOther = 0;    // EUC-KR 기호/한자 영역
+        int extHangul = 0;  // MS949 확장 영역 (EUC-KR에 없는 한글)
+        int invalid = 0;
+
+        int i = 0;
+        while (i < length) {
+            int lead = sample[i] & 0xFF;
+            if (lead < 0x80) {
+                i++;
+                continue;
+            }
+            if (i + 1 >= length) {
+                break; // 샘플 끝에서 잘린 문자
+            }
+            int trail = sample[i + 1] & 0xFF;
+            if (lead >= 0xB0 && lead <= 0xC8 && trail >= 0xA1 && trail <= 0xFE) {
+                ksHangul++;
+            } else if (lead >= 0xA1 && lead <= 0xFE && trail >= 0xA1 && trail <= 0xFE) {
+                ksOther++;
+            } else if (lead >= 0x81 && lead <= 0xC6 && isMs949ExtendedTrail(trail)) {
+                extHangul++;
+            } else {
+                invalid++;
+                i++;
+                continue;
+            }
+            i += 2;
+        }
+
+        int pairs = ksHangul + ksOther + extHangul;
+        String stats = String.format("한글 %d, 기호/한자 %d, 확장 %d, 오류 %d", ksHangul, ksOther, extHangul, invalid);
+
+        if (pairs == 0 || invalid > pairs) {
+            // 한글 파일로 보기 어려운 경우에도 서울시 공공데이터 기본 인코딩(MS949)으로 읽음
+            log.warn("CSV 인코딩을 확정하지 못해 MS949로 읽습니다 - {}", stats);
+            return new Detection(MS949, 0, "기본값, " + stats);
+        }
+        if (extHangul > 0) {
+            return new Detection(MS949, 0, stats);
+        }
+        return new Detection(EUC_KR, 0, stats);
+    }
+
+    /**
+     * MS949 확장 완성형의 두 번째 바이트 범위 (0x41~0x5A, 0x61~0x7A, 0x81~0xFE)
+     */
+    private boolean isMs949ExtendedTrail(int trail) {
+        return (trail >= 0x41 && trail <= 0x5A)
+            || (trail >= 0x61 && trail <= 0x7A)
+            || (trail >= 0x81 && trail <= 0xFE);
+    }
+
+    /**
+     * 엄격한 UTF-8 검사 (overlong, surrogate 범위 불허)
+     */
+    private boolean isValidUtf8(byte[] bytes, int length, boolean truncated) {
+        int i = 0;
+        while (i < length) {
+            int b = bytes[i] & 0xFF;
+            int continuation;
+            int min;
+            if (b < 0x80) {
+                i++;
+                continue;
+            } else if (b >= 0xC2 && b <= 0xDF) {
+                continuation = 1;
+                min = 0x80;
+            } else if (b >= 0xE0 && b <= 0xEF) {
+                continuation = 2;
+                min = 0x800;
+            } else if (b >= 0xF0 && b <= 0xF4) {
+                continuation = 3;
+                min = 0x10000;
+            } else {
+                return false;
+            }
+
+            if (i + continuation >= length) {
+                // 샘플 끝에서 잘린 문자는 잘린 샘플인 경우에만 허용
+                return truncated && isContinuationPrefix(bytes, i + 1, length);
+            }
+
+            int codePoint = b & (0x3F >> continuation);
+            for (int k = 1; k <= continuation; k++) {
+                int c = bytes[i + k] & 0xFF;
+                if ((c & 0xC0) != 0x80) {
+                    return false;
+                }
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (codePoint < min || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+                return false;
+            }
+            i += continuation + 1;
+        }
+        return true;
+    }
+
+    private static boolean isAscii(byte[] bytes, int length) {
+        return firstNonAscii(bytes, 0, length) == length;
+    }
+
+    // from 이후 처음 나오는 비ASCII 바이트 위치 (없으면 end)
+    private static int firstNonAscii(byte[] bytes, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (bytes[i] < 0) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private boolean isContinuationPrefix(byte[] bytes, int from, int length) {
+        for (int k = from; k < length; k++) {
+            if ((bytes[k] & 0xC0) != 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 감지 결과 (BOM 길이만큼 건너뛰고 디코딩)
+     */
+    record Detection(Charset charset, int bomLength, String reason) {
+    }
+
+    /**
+     * 앞부분이 ASCII뿐인 스트림용 Reader
+     * ASCII 바이트는 그대로 문자로 넘기고, 처음 나오는 비ASCII 바이트부터 SAMPLE_SIZE만큼 읽어 인코딩을 정한 뒤
+     * 나머지는 그 인코딩으로 디코딩합니다. (앞부분이 모두 ASCII라 문자 경계가 그 바이트에서 시작)
+     */
+    private class AsciiPrefixReader extends Reader {
+
+        private final BufferedInputStream in;
+        private final byte[] bytes = new byte[READ_BUFFER_SIZE];
+        private Reader decoder;
+        // 비ASCII 바이트가 나오기 전까지는 UTF-8로 보고함 (ASCII만 있는 파일)
+        private volatile Charset charset = StandardCharsets.UTF_8;
+
+        AsciiPrefixReader(BufferedInputStream in) {
+            this.in = in;
+        }
+
+        Charset charset() {
+            return charset;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            if (decoder != null) {
+                return decoder.read(cbuf, off, len);
+            }
+            if (len == 0) {
+                return 0;
+            }
+
+            in.mark(bytes.length);
+            int count = in.read(bytes, 0, Math.min(len, bytes.length));
+            if (count < 0) {
+                return -1;
+            }
+            int ascii = firstNonAscii(bytes, 0, count);
+            for (int i = 0; i < ascii; i++) {
+                cbuf[off + i] = (char) bytes[i];
+            }
+            if (ascii == count) {
+                return count;
+            }
+
+            // 비ASCII 바이트 위치로 되돌아가서 그 지점부터 다시 감지
+            in.reset();
+            in.skipNBytes(ascii);
+            in.mark(SAMPLE_SIZE);
+            byte[] sample = in.readNBytes(SAMPLE_SIZE);
+            in.reset();
+            Detection detection = detectText(sample, sample.length, sample.length == SAMPLE_SIZE);
+            log.info("CSV 인코딩 감지: {} ({}, 첫 비ASCII 바이트 이후 샘플)", detection.charset().name(),
+                detection.reason());
+            charset = detection.charset();
+            decoder = new InputStreamReader(in, detection.charset());
+
+            return ascii > 0 ? ascii : decoder.read(cbuf, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * 감지한 인코딩과 해당 인코딩으로 디코딩하는 Reader
+     * 앞부분이 ASCII뿐이면 인코딩은 처음 비ASCII 바이트를 읽은 뒤에 정해지므로, 다 읽은 뒤에 charset()을 조회합니다.
+     */
+    public static final class DetectedReader implements Closeable {
+
+        private final Supplier<Charset> charset;
+        private final BufferedReader reader;
+
+        DetectedReader(Supplier<Charset> charset, BufferedReader reader) {
+            this.charset = charset;
+            this.reader = reader;
+        }
+
+        public Charset charset() {
+            return charset.get();
+        }
+
+        public BufferedReader reader() {
+            return reader;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package khtml.backend.alzi.utils;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 가격 시계열 하나의 온라인 지표 상태 (새 가격 1건마다 O(1) 갱신)
+ * 전체 평균/분산(Welford), 최소/최대, 최신 7/20/30건 구간 합, 최신 14개 변화량의 상승/하락 합(RSI),
+ * 최신 30건 회귀 합(x = 최신부터 0, 1, ...), 월별 합계, 가격별 건수(중앙값)를 들고 있어서
+ * 이력을 다시 읽지 않고 PriceAnalysis를 만들 수 있습니다.
+ * 가장 최근 날짜보다 이른 가격은 덧붙일 수 없으므로(append가 false) 그때는 이력으로 다시 만들어야 합니다.
+ * 변동성만 Welford 합으로 계산해서 전체 재계산과 double 마지막 자리 정도 다를 수 있습니다.
+ */
+@Getter
+public class OnlinePriceIndicators implements PriceIndicators {
+
+    static final int WINDOW = 30;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private int count;
+    private long sum;
+    private double mean;
+    private double m2;
+    private int min;
+    private int max;
+    private LocalDate lastDate;
+    private long sum7;
+    private long sum20;
+    private long sum30;
+    private long sumXY;
+    private long gain14;
+    private long loss14;
+    // 최신순 최대 WINDOW건
+    private int[] recentPrices;
+    // 1~12월 (0번은 쓰지 않음)
+    private final long[] monthSums;
+    private final int[] monthCounts;
+    // 가격 -> 건수 (가격 종류 수만큼만 커짐)
+    private final NavigableMap<Integer, Integer> priceCounts;
+
+    @Builder
+    public OnlinePriceIndicators(int count, long sum, double mean, double m2, int min, int max, LocalDate lastDate,
+                                 long sum7, long sum20, long sum30, long sumXY, long gain14, long loss14,
+                                 int[] recentPrices, long[] monthSums, int[] monthCounts,
+                                 Map<Integer, Integer> priceCounts) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.m2 = m2;
+        this.min = min;
+        this.max = max;
+        this.lastDate = lastDate;
+        this.sum7 = sum7;
+        this.sum20 = sum20;
+        this.sum30 = sum30;
+        this.sumXY = sumXY;
+        this.gain14 = gain14;
+        this.loss14 = loss14;
+        this.recentPrices = recentPrices != null ? recentPrices : new int[0];
+        this.monthSums = monthSums != null ? monthSums : new long[13];
+        this.monthCounts = monthCounts != null ? monthCounts : new int[13];
+        this.priceCounts = priceCounts != null ? new TreeMap<>(priceCounts) : new TreeMap<>();
+    }
+
+    public static OnlinePriceIndicators empty() {
+        return OnlinePriceIndicators.builder().build();
+    }
+
+    /**
+     * 전체 이력으로 상태 생성
+     * @return 이력이 없거나 price_won이 없는 항목이 있으면 null
+     */
+    public static OnlinePriceIndicators from(List<MarketItemPriceResponse.PriceDataInfo> history) {
+        if (history == null || history.isEmpty()) {
+            return null;
+        }
+        PriceSeries series = PriceSeries.from(history);
+        return series != null ? series.toOnlineIndicators() : null;
+    }
+
+    /**
+     * 가장 최근 가격 뒤에 새 가격 추가
+     * @return 가장 최근 날짜보다 이른 가격이면 추가하지 않고 false
+     */
+    public boolean append(LocalDate date, int priceWon) {
+        if (lastDate != null && date.isBefore(lastDate)) {
+            return false;
+        }
+        add(date.getMonthValue(), priceWon);
+        lastDate = date;
+        return true;
+    }
+
+    void add(int month, int price) {
+        int window = recentPrices.length;
+
+        // 구간 합: 새 가격이 들어오고 구간 밖으로 밀려나는 가격이 빠짐
+        sum7 += price - (window >= 7 ? recentPrices[6] : 0);
+        sum20 += price - (window >= 20 ? recentPrices[19] : 0);
+        // 회귀 합: 기존 가격의 x가 1씩 늘고 (sum30만큼 증가) 30번째 가격은 빠짐
+        if (window == WINDOW) {
+            long dropped = recentPrices[WINDOW - 1];
+            sumXY += sum30 - WINDOW * dropped;
+            sum30 += price - dropped;
+        } else {
+            sumXY += sum30;
+            sum30 += price;
+        }
+        // RSI: 새 변화량이 들어오고 15번째 변화량이 빠짐
+        if (window >= 1) {
+            addChange(price - recentPrices[0], 1);
+        }
+        if (window >= 15) {
+            addChange(recentPrices[13] - recentPrices[14], -1);
+        }
+
+        int[] recent = new int[Math.min(window + 1, WINDOW)];
+        recent[0] = price;
+        System.arraycopy(recentPrices, 0, recent, 1, recent.length - 1);
+        recentPrices = recent;
+
+        // Welford
+        count++;
+        sum += price;
+        double delta = price - mean;
+        mean += delta / count;
+        m2 += delta * (price - mean);
+
+        if (count == 1 || price < min) {
+            min = price;
+        }
+        if (count == 1 || price > max) {
+            max = price;
+        }
+        monthSums[month] += price;
+        monthCounts[month]++;
+        priceCounts.merge(price, 1, Integer::sum);
+    }
+
+    void setLastDate(LocalDate lastDate) {
+        this.lastDate = lastDate;
+    }
+
+    private void addChange(long change, int sign) {
+        if (change > 0) {
+            gain14 += sign * change;
+        } else {
+            loss14 -= sign * change;
+        }
+    }
+
+    @Override
+    public BigDecimal currentPrice() {
+        return BigDecimal.valueOf(recentPrices[0]);
+    }
+
+    @Override
+    public BigDecimal average() {
+        return PriceIndicators.divide(sum, count);
+    }
+
+    /**
+     * 중앙값 - 가격별 건수를 오름차순으로 세어서 찾음 (가격 종류 수에 비례)
+     */
+    @Override
+    public BigDecimal median() {
+        long lowerIndex = (count - 1) / 2;
+        long upperIndex = count / 2;
+        int lower = 0;
+        int upper = 0;
+        long seen = 0;
+        for (Map.Entry<Integer, Integer> entry : priceCounts.entrySet()) {
+            long next = seen + entry.getValue();
+            if (seen <= lowerIndex && lowerIndex < next) {
+                lower = entry.getKey();
+            }
+            if (upperIndex < next) {
+                upper = entry.getKey();
+                break;
+            }
+            seen = next;
+        }
+        if (count % 2 == 0) {
+            return BigDecimal.valueOf((long) lower + upper).divide(TWO, 2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf(upper);
+    }
+
+    @Override
+    public BigDecimal min() {
+        return BigDecimal.valueOf(min);
+    }
+
+    @Override
+    public BigDecimal max() {
+        return BigDecimal.valueOf(max);
+    }
+
+    @Override
+    public BigDecimal movingAverage7Days() {
+        return count < 7 ? average() : PriceIndicators.divide(sum7, 7);
+    }
+
+    @Override
+    public BigDecimal movingAverage30Days() {
+        return count < 30 ? average() : PriceIndicators.divide(sum30, 30);
+    }
+
+    @Override
+    public BigDecimal bollingerAverage() {
+        return count < 20 ? average() : PriceIndicators.divide(sum20, 20);
+    }
+
+    @Override
+    public double bollingerStdDev() {
+        int period = Math.min(count, 20);
+        long averageCents = bollingerAverage().unscaledValue().longValueExact();
+        double total = 0;
+        double compensation = 0;
+        for (int i = 0; i < period; i++) {
+            double diff = ((long) recentPrices[i] * 100 - averageCents) / 100.0;
+            double term = diff * diff - compensation;
+            double next = total + term;
+            compensation = (next - total) - term;
+            total = next;
+        }
+        return Math.sqrt((total - compensation) / period);
+    }
+
+    /**
+     * 변동성 - 소수 둘째 자리로 반올림한 평균 a 기준 표준편차
+     * (Σ(p - a)² = M2 + n(mean - a)²)
+     */
+    @Override
+    public double volatility() {
+        double offset = mean - average().doubleValue();
+        return Math.sqrt(Math.max(0.0, m2 + count * offset * offset) / count);
+    }
+
+    @Override
+    public double trendSlope() {
+        if (count < 2) return 0.0;
+        int n = recentPrices.length;
+        double sumX = n * (n - 1) / 2.0;
+        double sumXX = (n - 1) * n * (2.0 * n - 1) / 6;
+        double denominator = n * sumXX - sumX * sumX;
+        if (denominator == 0) return 0.0;
+        return (n * (double) sumXY - sumX * sum30) / denominator;
+    }
+
+    @Override
+    public double rsi14() {
+        if (count < 15) return 50.0;
+        double avgGain = gain14 / 14.0;
+        double avgLoss = loss14 / 14.0;
+        if (avgLoss == 0) return 100.0;
+        return 100 - (100 / (1 + avgGain / avgLoss));
+    }
+
+    @Override
+    public double seasonalityScore() {
+        return PriceIndicators.seasonalityScore(count, monthSums, monthCounts, lastDate.getMonthValue());
+    }
+}
@@ -0,0 +1,63 @@
+package khtml.backend.alzi.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * PriceAnalysis를 만드는 데 필요한 지표 값
+ * 전체 이력을 한 번에 계산하는 PriceSeries와 가격이 들어올 때마다 갱신하는 OnlinePriceIndicators가 같은 값을 냅니다.
+ */
+interface PriceIndicators {
+
+    BigDecimal currentPrice();
+
+    BigDecimal average();
+
+    BigDecimal median();
+
+    BigDecimal min();
+
+    BigDecimal max();
+
+    BigDecimal movingAverage7Days();
+
+    BigDecimal movingAverage30Days();
+
+    BigDecimal bollingerAverage();
+
+    double bollingerStdDev();
+
+    double volatility();
+
+    double trendSlope();
+
+    double rsi14();
+
+    double seasonalityScore();
+
+    static BigDecimal divide(long total, int count) {
+        return BigDecimal.valueOf(total).divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * 계절성 점수 - 최신 항목이 속한 달의 평균 / 월별 평균의 평균
+     * @param monthSums 월별 가격 합 (1~12월, 0번은 쓰지 않음)
+     */
+    static double seasonalityScore(int size, long[] monthSums, int[] monthCounts, int currentMonth) {
+        if (size < 12) return 0.5; // 데이터 부족시 중립
+
+        BigDecimal monthlyAverageSum = BigDecimal.ZERO;
+        int monthCount = 0;
+        for (int month = 1; month <= 12; month++) {
+            if (monthCounts[month] > 0) {
+                monthlyAverageSum = monthlyAverageSum.add(divide(monthSums[month], monthCounts[month]));
+                monthCount++;
+            }
+        }
+        BigDecimal currentMonthAvg = divide(monthSums[currentMonth], monthCounts[currentMonth]);
+        BigDecimal overallAvg = monthlyAverageSum.divide(BigDecimal.valueOf(monthCount), 2, RoundingMode.HALF_UP);
+
+        double ratio = currentMonthAvg.divide(overallAvg, 4, RoundingMode.HALF_UP).doubleValue();
+        return Math.min(1.0, Math.max(0.0, (ratio - 0.5) * 2));
+    }
+}
@@ -59,6 +59,12 @@ public class PricePredictionUtil {
             return null;
         }
         
+        // 원 단위 가격(price_won)이 모두 있으면 원시 배열로 한 번에 계산
+        PriceSeries series = PriceSeries.from(priceHistory);
+        if (series != null) {
+            return analyzePriceSeries(name, series);
+        }
+        
         // 날짜순 정렬 (최신순)
         List<MarketItemPriceResponse.PriceDataInfo> sortedPrices = priceHistory.stream()
                 .sorted(Comparator.comparing(MarketItemPriceResponse.PriceDataInfo::getDate).reversed())
@@ -94,8 +100,8 @@ public class PricePredictionUtil {
         analysis.setMarketSentiment(determineMarketSentiment(analysis));
         
         // 가격 예측
-        analysis.setPredictedPrice7Days(predictPrice(sortedPrices, 7, analysis));
-        analysis.setPredictedPrice30Days(predictPrice(sortedPrices, 30, analysis));
+        analysis.setPredictedPrice7Days(predictPrice(7, analysis));
+        analysis.setPredictedPrice30Days(predictPrice(30, analysis));
         
         // 리스크 요인 분석
         analysis.setRiskFactors(identifyRiskFactors(analysis));
@@ -108,6 +114,58 @@ public class PricePredictionUtil {
         return analysis;
     }
     
+    /**
+     * 온라인 지표 상태로 분석 (이력을 다시 읽지 않음)
+     */
+    public PriceAnalysis analyzeIndicators(String name, OnlinePriceIndicators indicators) {
+        if (indicators == null || indicators.getCount() == 0) {
+            return null;
+        }
+        return analyzePriceSeries(name, indicators);
+    }
+    
+    /**
+     * 지표 값 기반 분석 (analyzePriceHistory 와 같은 결과)
+     */
+    private PriceAnalysis analyzePriceSeries(String name, PriceIndicators series) {
+        PriceAnalysis analysis = new PriceAnalysis();
+        analysis.setName(name);
+        
+        // 기본 통계
+        analysis.setCurrentPrice(series.currentPrice());
+        analysis.setAveragePrice(series.average());
+        analysis.setMedianPrice(series.median());
+        analysis.setMinPrice(series.min());
+        analysis.setMaxPrice(series.max());
+        
+        // 이동평균
+        analysis.setMovingAverage7Days(series.movingAverage7Days());
+        analysis.setMovingAverage30Days(series.movingAverage30Days());
+        
+        analysis.setVolatility(series.volatility());
+        analysis.setTrendSlope(series.trendSlope());
+        analysis.setPriceLevel(evaluatePriceLevel(analysis));
+        
+        // 기술적 지표
+        analysis.setRsi14(series.rsi14());
+        analysis.setBollingerBands(toBollingerBands(analysis.getCurrentPrice(), series.bollingerAverage(),
+                series.bollingerStdDev()));
+        analysis.setSeasonalityScore(series.seasonalityScore());
+        analysis.setMarketSentiment(determineMarketSentiment(analysis));
+        
+        // 가격 예측
+        analysis.setPredictedPrice7Days(predictPrice(7, analysis));
+        analysis.setPredictedPrice30Days(predictPrice(30, analysis));
+        
+        analysis.setRiskFactors(identifyRiskFactors(analysis));
+        
+        String[] recommendation = generateEnhancedRecommendation(analysis);
+        analysis.setRecommendation(recommendation[0]);
+        analysis.setConfidence(Double.parseDouble(recommendation[1]));
+        
+        return analysis;
+    }
+    
     /**
      * RSI (상대강도지수) 계산
      */
@@ -142,10 +200,13 @@ public class PricePredictionUtil {
         BigDecimal ma = calculateMovingAverage(prices, period);
         double stdDev = calculateStandardDeviation(prices, period);
         
+        return toBollingerBands(prices.get(0).getPriceAsBigDecimal(), ma, stdDev);
+    }
+    
+    private BollingerBands toBollingerBands(BigDecimal currentPrice, BigDecimal ma, double stdDev) {
         BigDecimal upperBand = ma.add(BigDecimal.valueOf(2 * stdDev));
         BigDecimal lowerBand = ma.subtract(BigDecimal.valueOf(2 * stdDev));
         
-        BigDecimal currentPrice = prices.get(0).getPriceAsBigDecimal();
         String position;
         
         if (currentPrice.compareTo(upperBand) > 0) {
@@ -269,7 +330,7 @@ public class PricePredictionUtil {
     /**
      * 가격 예측
      */
-    private BigDecimal predictPrice(List<MarketItemPriceResponse.PriceDataInfo> prices, int daysAhead, PriceAnalysis analysis) {
+    private BigDecimal predictPrice(int daysAhead, PriceAnalysis analysis) {
         BigDecimal currentPrice = analysis.getCurrentPrice();
         
         // 다중 요인 예측 모델
@@ -0,0 +1,352 @@
+package khtml.backend.alzi.utils;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PricePredictionUtil 지표 계산용 가격 시계열 (원시 배열)
+ * 이력을 한 번만 변환해서 (날짜는 long epochDay로 정렬) 최신순 double[] prices 로 두고,
+ * 합계/최소/최대/이동평균 구간 합/RSI/추세/월별 합은 첫 번째 순회에서, 표준편차는 두 번째 순회에서 계산합니다.
+ * 가격은 모두 원 단위 정수(price_won)이므로 double로 더해도 정확하고,
+ * BigDecimal 결과는 기존 계산과 같은 값/스케일로 만듭니다.
+ */
+final class PriceSeries implements PriceIndicators {
+
+    static final int MOVING_AVERAGE_SHORT = 7;
+    static final int MOVING_AVERAGE_LONG = 30;
+    static final int BOLLINGER_PERIOD = 20;
+    static final int RSI_PERIOD = 14;
+    static final int TREND_WINDOW = 30;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    // 최신순 (같은 날짜는 입력 순서 유지)
+    private final double[] prices;
+    private final byte[] months;
+    private final int size;
+    private final long newestEpochDay;
+
+    private long sum;
+    private double min;
+    private double max;
+    private long sumShort;
+    private long sumLong;
+    private long sumBollinger;
+    private double rsi;
+    private double trendSlope;
+    private final long[] monthSums = new long[13];
+    private final int[] monthCounts = new int[13];
+
+    private BigDecimal average;
+    private BigDecimal bollingerAverage;
+    private double volatility;
+    private double bollingerStdDev;
+
+    private PriceSeries(double[] prices, byte[] months, long newestEpochDay) {
+        this.prices = prices;
+        this.months = months;
+        this.size = prices.length;
+        this.newestEpochDay = newestEpochDay;
+        scan();
+        scanDeviations();
+    }
+
+    /**
+     * 이력을 시계열로 변환
+     * @return price_won 또는 날짜가 없는 항목이 있으면 null (문자열 가격은 기존 BigDecimal 계산으로 처리)
+     */
+    static PriceSeries from(List<MarketItemPriceResponse.PriceDataInfo> history) {
+        int n = history.size();
+        long[] days = new long[n];
+        double[] values = new double[n];
+        byte[] monthValues = new byte[n];
+        boolean newestFirst = true;
+        boolean oldestFirst = true;
+        for (int i = 0; i < n; i++) {
+            MarketItemPriceResponse.PriceDataInfo info = history.get(i);
+            LocalDate date = info.getDate();
+            Integer priceWon = info.getPriceWon();
+            if (date == null || priceWon == null) {
+                return null;
+            }
+            days[i] = date.toEpochDay();
+            values[i] = priceWon;
+            monthValues[i] = (byte) date.getMonthValue();
+            if (i > 0 && days[i] > days[i - 1]) {
+                newestFirst = false;
+            }
+            if (i > 0 && days[i] < days[i - 1]) {
+                oldestFirst = false;
+            }
+        }
+        if (newestFirst) {
+            return new PriceSeries(values, monthValues, days[0]);
+        }
+        if (oldestFirst) {
+            return reverseDays(days, values, monthValues);
+        }
+
+        // (날짜 내림차순, 입력 순서) 를 long 하나로 묶어 정렬 - 기존 안정 정렬과 같은 순서
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = (-days[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        double[] sortedValues = new double[n];
+        byte[] sortedMonths = new byte[n];
+        for (int i = 0; i < n; i++) {
+            int index = (int) keys[i];
+            sortedValues[i] = values[index];
+            sortedMonths[i] = monthValues[index];
+        }
+        return new PriceSeries(sortedValues, sortedMonths, days[(int) keys[0]]);
+    }
+
+    // 오래된순 입력은 날짜 묶음 단위로 뒤집음 (같은 날짜 안에서는 입력 순서 유지)
+    private static PriceSeries reverseDays(long[] days, double[] values, byte[] monthValues) {
+        int n = days.length;
+        double[] sortedValues = new double[n];
+        byte[] sortedMonths = new byte[n];
+        int out = 0;
+        int end = n;
+        while (end > 0) {
+            int start = end - 1;
+            while (start > 0 && days[start - 1] == days[end - 1]) {
+                start--;
+            }
+            for (int i = start; i < end; i++) {
+                sortedValues[out] = values[i];
+                sortedMonths[out] = monthValues[i];
+                out++;
+            }
+            end = start;
+        }
+        return new PriceSeries(sortedValues, sortedMonths, days[n - 1]);
+    }
+
+    // 첫 번째 순회: 합계, 최소/최대, 구간 합, RSI, 추세, 월별 합
+    private void scan() {
+        double gain = 0;
+        double loss = 0;
+        int trendCount = Math.min(size, TREND_WINDOW);
+        double sumX = 0;
+        double sumY = 0;
+        double sumXY = 0;
+        double sumXX = 0;
+
+        min = prices[0];
+        max = prices[0];
+        for (int i = 0; i < size; i++) {
+            double price = prices[i];
+            sum += (long) price;
+            if (price < min) {
+                min = price;
+            }
+            if (price > max) {
+                max = price;
+            }
+            if (i == MOVING_AVERAGE_SHORT - 1) {
+                sumShort = sum;
+            }
+            if (i == BOLLINGER_PERIOD - 1) {
+                sumBollinger = sum;
+            }
+            if (i == MOVING_AVERAGE_LONG - 1) {
+                sumLong = sum;
+            }
+            if (i >= 1 && i <= RSI_PERIOD) {
+                double change = prices[i - 1] - price;
+                if (change > 0) {
+                    gain += change;
+                } else {
+                    loss += Math.abs(change);
+                }
+            }
+            if (i < trendCount) {
+                sumX += i;
+                sumY += price;
+                sumXY += i * price;
+                sumXX += i * i;
+            }
+            monthSums[months[i]] += (long) price;
+            monthCounts[months[i]]++;
+        }
+
+        if (size < RSI_PERIOD + 1) {
+            rsi = 50.0;
+        } else {
+            double avgGain = gain / RSI_PERIOD;
+            double avgLoss = loss / RSI_PERIOD;
+            rsi = avgLoss == 0 ? 100.0 : 100 - (100 / (1 + avgGain / avgLoss));
+        }
+
+        double denominator = trendCount * sumXX - sumX * sumX;
+        trendSlope = size < 2 || denominator == 0 ? 0.0 : (trendCount * sumXY - sumX * sumY) / denominator;
+    }
+
+    // 두 번째 순회: 전체 평균 / 볼린저 구간 평균 대비 편차 제곱 평균
+    private void scanDeviations() {
+        average = PriceIndicators.divide(sum, size);
+        int bollingerCount = Math.min(size, BOLLINGER_PERIOD);
+        bollingerAverage = bollingerCount == BOLLINGER_PERIOD
+                ? PriceIndicators.divide(sumBollinger, BOLLINGER_PERIOD) : average;
+
+        // 평균은 소수 둘째 자리까지이므로 100배 정수로 빼서 BigDecimal 뺄셈과 같은 double 값을 만듦
+        long averageCents = average.unscaledValue().longValueExact();
+        long bollingerCents = bollingerAverage.unscaledValue().longValueExact();
+        double volatilitySum = 0;
+        double volatilityCompensation = 0;
+        double bollingerSum = 0;
+        double bollingerCompensation = 0;
+        for (int i = 0; i < size; i++) {
+            long cents = (long) prices[i] * 100;
+            double diff = (cents - averageCents) / 100.0;
+            // 보정 합 (DoubleStream.average 와 같은 방식)
+            double term = diff * diff - volatilityCompensation;
+            double next = volatilitySum + term;
+            volatilityCompensation = (next - volatilitySum) - term;
+            volatilitySum = next;
+            if (i < bollingerCount) {
+                double bandDiff = (cents - bollingerCents) / 100.0;
+                double bandTerm = bandDiff * bandDiff - bollingerCompensation;
+                double bandNext = bollingerSum + bandTerm;
+                bollingerCompensation = (bandNext - bollingerSum) - bandTerm;
+                bollingerSum = bandNext;
+            }
+        }
+        volatility = Math.sqrt((volatilitySum - volatilityCompensation) / size);
+        bollingerStdDev = Math.sqrt((bollingerSum - bollingerCompensation) / bollingerCount);
+    }
+
+    @Override
+    public BigDecimal currentPrice() {
+        return BigDecimal.valueOf((long) prices[0]);
+    }
+
+    @Override
+    public BigDecimal average() {
+        return average;
+    }
+
+    /**
+     * 중앙값 - 전체 정렬 대신 선택 알고리즘으로 O(n)
+     */
+    @Override
+    public BigDecimal median() {
+        double[] values = prices.clone();
+        int middle = size / 2;
+        if (size % 2 == 0) {
+            // middle - 1 번째를 고르면 그 뒤는 모두 그 이상이므로 뒤쪽 최솟값이 middle 번째
+            double lower = select(values, middle - 1);
+            double upper = values[middle];
+            for (int i = middle + 1; i < size; i++) {
+                if (values[i] < upper) {
+                    upper = values[i];
+                }
+            }
+            return BigDecimal.valueOf((long) lower + (long) upper).divide(TWO, 2, RoundingMode.HALF_UP);
+        }
+        return BigDecimal.valueOf((long) select(values, middle));
+    }
+
+    @Override
+    public BigDecimal min() {
+        return BigDecimal.valueOf((long) min);
+    }
+
+    @Override
+    public BigDecimal max() {
+        return BigDecimal.valueOf((long) max);
+    }
+
+    @Override
+    public BigDecimal movingAverage7Days() {
+        return size < MOVING_AVERAGE_SHORT ? average : PriceIndicators.divide(sumShort, MOVING_AVERAGE_SHORT);
+    }
+
+    @Override
+    public BigDecimal movingAverage30Days() {
+        return size < MOVING_AVERAGE_LONG ? average : PriceIndicators.divide(sumLong, MOVING_AVERAGE_LONG);
+    }
+
+    @Override
+    public BigDecimal bollingerAverage() {
+        return bollingerAverage;
+    }
+
+    @Override
+    public double bollingerStdDev() {
+        return bollingerStdDev;
+    }
+
+    @Override
+    public double volatility() {
+        return volatility;
+    }
+
+    @Override
+    public double trendSlope() {
+        return trendSlope;
+    }
+
+    @Override
+    public double rsi14() {
+        return rsi;
+    }
+
+    @Override
+    public double seasonalityScore() {
+        return PriceIndicators.seasonalityScore(size, monthSums, monthCounts, months[0]);
+    }
+
+    /**
+     * 같은 이력으로 온라인 지표 상태 생성 (오래된 가격부터 차례로 추가)
+     */
+    OnlinePriceIndicators toOnlineIndicators() {
+        OnlinePriceIndicators indicators = OnlinePriceIndicators.empty();
+        for (int i = size - 1; i >= 0; i--) {
+            indicators.add(months[i], (int) prices[i]);
+        }
+        indicators.setLastDate(LocalDate.ofEpochDay(newestEpochDay));
+        return indicators;
+    }
+
+    // values를 제자리에서 분할하며 k번째(0부터) 작은 값을 찾음
+    private static double select(double[] values, int k) {
+        int left = 0;
+        int right = values.length - 1;
+        while (left < right) {
+            double pivot = values[(left + right) >>> 1];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmp = values[i];
+                    values[i] = values[j];
+                    values[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                break;
+            }
+        }
+        return values[k];
+    }
+}
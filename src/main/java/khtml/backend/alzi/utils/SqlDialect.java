@@ -0,0 +1,28 @@
+package khtml.backend.alzi.utils;
+
+import java.sql.DatabaseMetaData;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * 네이티브 bulk upsert SQL 생성을 위한 DB 종류 구분
+ * 운영(MySQL)은 INSERT ... ON DUPLICATE KEY UPDATE, 로컬(H2)은 MERGE INTO ... KEY 를 사용합니다.
+ * 기동 시 SqlDialectConfig가 한 번 판별한 빈을 주입받아 씁니다.
+ */
+public enum SqlDialect {
+    MYSQL,
+    H2;
+
+    public static SqlDialect detect(JdbcTemplate jdbcTemplate) {
+        String productName = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        if (productName != null && productName.toUpperCase().contains("H2")) {
+            return H2;
+        }
+        // MySQL / MariaDB
+        return MYSQL;
+    }
+}
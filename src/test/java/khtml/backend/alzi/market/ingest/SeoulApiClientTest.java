@@ -0,0 +1,247 @@
+package khtml.backend.alzi.market.ingest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import khtml.backend.alzi.config.SeoulApiHttpClientConfig;
+import khtml.backend.alzi.market.dto.SeoulApiResponse;
+
+/**
+ * SeoulApiClient + SeoulApiHttpClientConfig를 로컬 stub 서버(JDK HttpServer)에 붙여서 확인
+ * 커넥션 풀 한도/재사용, gzip 협상, 응답/풀 대기 타임아웃, StAX 스트리밍 파싱 경로를 실제 HTTP로 검증합니다.
+ */
+class SeoulApiClientTest {
+
+	private static final String BODY = """
+		<?xml version="1.0" encoding="UTF-8"?>
+		<ListNecessariesPricesService>
+		<list_total_count>2</list_total_count>
+		<RESULT><CODE>INFO-000</CODE><MESSAGE>정상 처리되었습니다</MESSAGE></RESULT>
+		<row><P_SEQ>1</P_SEQ><M_NAME>망원시장</M_NAME><A_NAME>사과</A_NAME><A_PRICE>3000</A_PRICE><P_DATE>2025-08-01</P_DATE></row>
+		<row><P_SEQ>2</P_SEQ><M_NAME>망원시장</M_NAME><A_NAME>사과</A_NAME><A_PRICE>3100</A_PRICE><P_DATE>2025-08-02</P_DATE></row>
+		</ListNecessariesPricesService>
+		""";
+
+	private HttpServer server;
+	private volatile HttpHandler handler;
+	private CloseableHttpClient httpClient;
+
+	@BeforeEach
+	void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> handler.handle(exchange));
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	@AfterEach
+	void stopServer() throws IOException {
+		if (httpClient != null) {
+			httpClient.close();
+		}
+		server.stop(0);
+	}
+
+	@Test
+	void streamsRowsThroughStaxParser() {
+		List<String> paths = new ArrayList<>();
+		handler = exchange -> {
+			paths.add(exchange.getRequestURI().getPath());
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8), false);
+		};
+		SeoulApiClient client = client(64, 32, 10_000, 5_000, true);
+
+		List<SeoulApiResponse.PriceInfo> rows = new ArrayList<>();
+		SeoulApiResponse header = client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, rows::add);
+
+		assertThat(paths).containsExactly("/test-key/xml/ListNecessariesPricesService/1/2/망원시장/사과/2025-08");
+		assertThat(SeoulApiClient.isSuccess(header)).isTrue();
+		assertThat(header.getListTotalCount()).isEqualTo(2);
+		assertThat(header.getPriceInfos()).isNull();
+		assertThat(rows).extracting(SeoulApiResponse.PriceInfo::getPriceSeq).containsExactly(1L, 2L);
+		assertThat(rows).extracting(SeoulApiResponse.PriceInfo::getPrice).containsExactly("3000", "3100");
+		assertThat(rows.get(0).getMarketName()).isEqualTo("망원시장");
+		assertThat(rows.get(1).getPriceDate()).isEqualTo("2025-08-02");
+	}
+
+	@Test
+	void negotiatesAndDecodesGzip() {
+		List<String> acceptEncodings = new ArrayList<>();
+		handler = exchange -> {
+			String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+			acceptEncodings.add(String.valueOf(acceptEncoding));
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8),
+				acceptEncoding != null && acceptEncoding.contains("gzip"));
+		};
+		SeoulApiClient client = client(64, 32, 10_000, 5_000, true);
+
+		List<SeoulApiResponse.PriceInfo> rows = new ArrayList<>();
+		SeoulApiResponse header = client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, rows::add);
+
+		assertThat(acceptEncodings).hasSize(1).allMatch(value -> value.contains("gzip"));
+		assertThat(SeoulApiClient.isSuccess(header)).isTrue();
+		assertThat(rows).extracting(SeoulApiResponse.PriceInfo::getPrice).containsExactly("3000", "3100");
+	}
+
+	@Test
+	void doesNotAskForGzipWhenDisabled() {
+		List<String> acceptEncodings = new ArrayList<>();
+		handler = exchange -> {
+			acceptEncodings.add(String.valueOf(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8), false);
+		};
+		SeoulApiClient client = client(64, 32, 10_000, 5_000, false);
+
+		client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, row -> {
+		});
+
+		assertThat(acceptEncodings).noneMatch(value -> value.contains("gzip"));
+	}
+
+	@Test
+	void limitsAndReusesPooledConnections() throws Exception {
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+		handler = exchange -> {
+			clientPorts.add(exchange.getRemoteAddress().getPort());
+			maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				active.decrementAndGet();
+			}
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8), false);
+		};
+		SeoulApiClient client = client(2, 2, 10_000, 5_000, true);
+
+		ExecutorService callers = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<SeoulApiResponse>> calls = new ArrayList<>();
+			for (int i = 0; i < 12; i++) {
+				calls.add(callers.submit(() -> client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, row -> {
+				})));
+			}
+			for (Future<SeoulApiResponse> call : calls) {
+				assertThat(SeoulApiClient.isSuccess(call.get(10, TimeUnit.SECONDS))).isTrue();
+			}
+		} finally {
+			callers.shutdownNow();
+		}
+
+		// 동시 호출은 풀 크기까지만 나가고, 12번 호출이 커넥션 2개를 돌려 씀 (keep-alive)
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+		assertThat(clientPorts).hasSizeLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void failsSlowResponseAfterReadTimeout() {
+		handler = exchange -> {
+			try {
+				Thread.sleep(2_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8), false);
+		};
+		SeoulApiClient client = client(64, 32, 300, 5_000, true);
+
+		long started = System.nanoTime();
+		assertThatThrownBy(() -> client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, row -> {
+		})).isInstanceOf(ResourceAccessException.class);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(1_500);
+	}
+
+	@Test
+	void failsWhenPoolHasNoFreeConnectionInTime() throws Exception {
+		handler = exchange -> {
+			try {
+				Thread.sleep(1_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, BODY.getBytes(StandardCharsets.UTF_8), false);
+		};
+		SeoulApiClient client = client(1, 1, 10_000, 100, true);
+
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try {
+			// 커넥션 1개를 붙잡고 있는 동안 다음 호출은 풀 대기 타임아웃으로 실패
+			Future<SeoulApiResponse> holding = caller.submit(
+				() -> client.fetchStreaming("망원시장", "사과", "2025-08", 1, 2, row -> {
+				}));
+			Thread.sleep(200);
+
+			assertThatThrownBy(() -> client.fetchStreaming("망원시장", "배", "2025-08", 1, 2, row -> {
+			})).isInstanceOf(ResourceAccessException.class);
+			assertThat(SeoulApiClient.isSuccess(holding.get(10, TimeUnit.SECONDS))).isTrue();
+		} finally {
+			caller.shutdownNow();
+		}
+	}
+
+	private SeoulApiClient client(int maxConnections, int maxConnectionsPerRoute, long readTimeoutMs,
+		long poolTimeoutMs, boolean gzip) {
+		SeoulApiHttpClientConfig config = new SeoulApiHttpClientConfig();
+		ReflectionTestUtils.setField(config, "maxConnections", maxConnections);
+		ReflectionTestUtils.setField(config, "maxConnectionsPerRoute", maxConnectionsPerRoute);
+		ReflectionTestUtils.setField(config, "connectTimeoutMs", 1_000L);
+		ReflectionTestUtils.setField(config, "readTimeoutMs", readTimeoutMs);
+		ReflectionTestUtils.setField(config, "poolTimeoutMs", poolTimeoutMs);
+		ReflectionTestUtils.setField(config, "keepAliveSeconds", 30L);
+		ReflectionTestUtils.setField(config, "gzip", gzip);
+		httpClient = config.seoulApiHttpClient();
+
+		SeoulApiClient client = new SeoulApiClient(new SeoulApiXmlStreamParser(),
+			config.seoulApiRestTemplate(httpClient, new SeoulApiMetrics()));
+		ReflectionTestUtils.setField(client, "apiKey", "test-key");
+		ReflectionTestUtils.setField(client, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+		return client;
+	}
+
+	private static void respond(HttpExchange exchange, byte[] body, boolean gzip) throws IOException {
+		byte[] payload = body;
+		if (gzip) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+			try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+				out.write(body);
+			}
+			payload = compressed.toByteArray();
+			exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+		}
+		exchange.getResponseHeaders().set("Content-Type", "application/xml;charset=UTF-8");
+		exchange.sendResponseHeaders(200, payload.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(payload);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package khtml.backend.alzi.priceData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * PriceDataRepository 조회가 @Table 인덱스를 타는지 EXPLAIN으로 확인 (내장 H2)
+ * 리포지토리 메서드를 실제로 호출하고, StatementInspector로 잡은 Hibernate 생성 SQL을 같은 파라미터로 EXPLAIN 합니다.
+ * (시장/품목명은 차원 테이블에서 id로 바뀐 뒤 인덱스를 탐)
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+	+ "khtml.backend.alzi.priceData.PriceDataRepositoryIndexTest$CapturingStatementInspector")
+class PriceDataRepositoryIndexTest {
+
+	@Autowired
+	private PriceDataRepository priceDataRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		PriceDataMarket mangwon = entityManager.persist(new PriceDataMarket("망원시장", "전통시장", "마포구"));
+		PriceDataMarket tongin = entityManager.persist(new PriceDataMarket("통인시장", "전통시장", "종로구"));
+		PriceDataItem apple = entityManager.persist(new PriceDataItem("사과"));
+		PriceDataItem pear = entityManager.persist(new PriceDataItem("배"));
+
+		priceDataRepository.saveAll(List.of(
+			priceData("1", mangwon, apple, "3,000원", LocalDate.of(2025, 1, 10)),
+			priceData("2", mangwon, pear, "4,000원", LocalDate.of(2025, 1, 11)),
+			priceData("3", tongin, apple, "2,800원", LocalDate.of(2025, 2, 1))));
+		priceDataRepository.flush();
+		entityManager.clear();
+		CapturingStatementInspector.STATEMENTS.clear();
+	}
+
+	@Test
+	void findByMarketNameAndItemNameUsesMarketItemDateIndex() {
+		priceDataRepository.findByMarketNameAndItemNameOrderByDateDesc("망원시장", "사과");
+
+		assertThat(explainCaptured("망원시장", "사과")).contains("idx_price_data_market_item_date");
+	}
+
+	@Test
+	void findByMarketNameUsesMarketIndex() {
+		priceDataRepository.findByMarketNameOrderByDateDesc("망원시장");
+
+		assertThat(explainCaptured("망원시장")).contains("idx_price_data_market_date");
+	}
+
+	@Test
+	void findByMarketNameSinceUsesMarketIndex() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		priceDataRepository.findByMarketNameSince("망원시장", from);
+
+		assertThat(explainCaptured("망원시장", from)).contains("idx_price_data_market_date");
+	}
+
+	@Test
+	void findByItemNameUsesItemDateIndex() {
+		priceDataRepository.findByItemNameOrderByDateDesc("사과");
+
+		assertThat(explainCaptured("사과")).contains("idx_price_data_item_date");
+	}
+
+	@Test
+	void findByItemNameSinceUsesItemDateIndex() {
+		LocalDate from = LocalDate.of(2025, 1, 1);
+		priceDataRepository.findByItemNameSince("사과", from);
+
+		assertThat(explainCaptured("사과", from)).contains("idx_price_data_item_date");
+	}
+
+	// 마지막으로 실행된 price_data 조회 SQL을 같은 파라미터로 EXPLAIN
+	private String explainCaptured(Object... params) {
+		List<String> queries = CapturingStatementInspector.STATEMENTS.stream()
+			.filter(sql -> sql.toLowerCase(Locale.ROOT).startsWith("select")
+				&& sql.toLowerCase(Locale.ROOT).contains(" from price_data "))
+			.toList();
+		assertThat(queries).isNotEmpty();
+		String sql = queries.get(queries.size() - 1);
+		assertThat(sql.chars().filter(c -> c == '?').count()).isEqualTo(params.length);
+
+		return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, params))
+			.toLowerCase(Locale.ROOT);
+	}
+
+	private static PriceData priceData(String serialNumber, PriceDataMarket market, PriceDataItem item,
+		String price, LocalDate date) {
+		PriceData priceData = PriceData.builder()
+			.serialNumber(serialNumber)
+			.price(price)
+			.date(date)
+			.build();
+		priceData.setMarket(market);
+		priceData.setItem(item);
+		return priceData;
+	}
+
+	/**
+	 * Hibernate가 실제로 실행하는 SQL을 모아 두는 StatementInspector (테스트 속성으로 등록)
+	 */
+	public static class CapturingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,245 @@
+package khtml.backend.alzi.priceData;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse.PriceDataInfo;
+import khtml.backend.alzi.utils.OnlinePriceIndicators;
+
+/**
+ * PriceSeriesStateStore 덧붙이기/재생성 확인 (내장 H2)
+ * 가져오기가 덧붙인 상태가 같은 이력으로 다시 만든 상태와 필드 단위로 같은지,
+ * 덧붙일 수 없거나 상태가 없던 시계열은 지워지는지 봅니다.
+ * 상태 저장은 별도 트랜잭션이고 커밋 후 삭제까지 확인해야 하므로 테스트 트랜잭션 없이 실행합니다.
+ */
+@DataJpaTest
+@Import(PriceSeriesStateStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PriceSeriesStateStoreTest {
+
+	private static final String ITEM = "사과";
+	private static final String MANGWON = "망원시장";
+	private static final String TONGIN = "통인시장";
+	private static final LocalDate START = LocalDate.of(2025, 3, 1);
+
+	@Autowired
+	private PriceSeriesStateStore store;
+
+	@Autowired
+	private PriceDataRepository priceDataRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transaction;
+	private int mangwon;
+	private int tongin;
+	private int apple;
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		mangwon = insertDimension("INSERT INTO price_data_market (name) VALUES (?)", "price_data_market", MANGWON);
+		tongin = insertDimension("INSERT INTO price_data_market (name) VALUES (?)", "price_data_market", TONGIN);
+		apple = insertDimension("INSERT INTO price_data_item (name) VALUES (?)", "price_data_item", ITEM);
+	}
+
+	@AfterEach
+	void cleanUp() {
+		jdbcTemplate.update("DELETE FROM price_data_series_state");
+		jdbcTemplate.update("DELETE FROM price_data");
+		jdbcTemplate.update("DELETE FROM price_data_item");
+		jdbcTemplate.update("DELETE FROM price_data_market");
+	}
+
+	@Test
+	void appendedStateMatchesRebuiltState() {
+		importRows(initialRows());
+		saveStatesFromHistory();
+
+		// 마지막 날짜와 같은 날짜(뒤 serial_number), 시장 간 같은 날짜, 이후 날짜를 섞인 순서로 가져옴
+		importRows(List.of(
+			row("0042", mangwon, 3300, START.plusDays(20)),
+			row("0040", tongin, 3050, START.plusDays(19)),
+			row("0045", tongin, 2950, START.plusDays(21)),
+			row("0041", mangwon, 3150, START.plusDays(20)),
+			row("0043", tongin, 3000, START.plusDays(20)),
+			row("0044", mangwon, 3400, START.plusDays(21))));
+
+		assertSameAsRebuilt(MANGWON);
+		assertSameAsRebuilt(null);
+	}
+
+	@Test
+	void appendsAcrossSeveralImports() {
+		importRows(initialRows());
+		saveStatesFromHistory();
+
+		// 한 건씩 따로 가져오고, 같은 날짜 행이 여러 가져오기에 나뉘어 들어옴
+		for (int i = 40; i < 60; i++) {
+			importRows(List.of(row(serial(i), i % 3 == 0 ? tongin : mangwon, 2800 + i * 13 % 400,
+				START.plusDays(19 + (i - 40) / 3))));
+		}
+
+		assertSameAsRebuilt(MANGWON);
+		assertSameAsRebuilt(null);
+	}
+
+	@Test
+	void removesStateWhenSameDateRowComesBeforeLastRow() {
+		importRows(initialRows());
+		saveStatesFromHistory();
+
+		// 마지막 날짜(START + 19)의 망원시장 행은 0038, 전체 시장은 0039
+		importRows(List.of(row("0037a", mangwon, 3100, START.plusDays(19))));
+
+		assertThat(store.find(ITEM, MANGWON)).isNull();
+		assertThat(store.find(ITEM, null)).isNull();
+	}
+
+	@Test
+	void removesStateWhenRowIsEarlierThanLastDate() {
+		importRows(initialRows());
+		saveStatesFromHistory();
+
+		importRows(List.of(row("0100", tongin, 3100, START)));
+
+		// 통인시장 시계열은 상태가 없었고, 전체 시장 시계열은 더 이른 날짜라 덧붙일 수 없음
+		assertThat(store.find(ITEM, MANGWON)).isNotNull();
+		assertThat(store.find(ITEM, null)).isNull();
+	}
+
+	@Test
+	void removesChangedSeries() {
+		importRows(initialRows());
+		saveStatesFromHistory();
+
+		transaction.executeWithoutResult(status ->
+			store.apply(List.of(), Set.copyOf(PriceSeriesStateStore.SeriesKey.of(apple, mangwon))));
+
+		assertThat(store.find(ITEM, MANGWON)).isNull();
+		assertThat(store.find(ITEM, null)).isNull();
+	}
+
+	@Test
+	void evictsStateSavedFromHistoryBeforeImportCommitted() {
+		importRows(initialRows());
+		List<PriceDataInfo> committedHistory = history(MANGWON);
+
+		List<PriceData> rows = List.of(row("0040", mangwon, 3500, START.plusDays(20)));
+		transaction.executeWithoutResult(status -> {
+			insert(rows);
+			store.apply(rows, Set.of());
+
+			// 가져오기 커밋 전 이력으로 조회 쪽이 상태를 저장 (별도 트랜잭션이라 커밋 전 행은 보이지 않음)
+			store.saveIfCurrent(ITEM, MANGWON, OnlinePriceIndicators.from(committedHistory));
+			assertThat(store.find(ITEM, MANGWON)).isNotNull();
+		});
+
+		assertThat(store.find(ITEM, MANGWON)).isNull();
+	}
+
+	@Test
+	void keepsStateForAllMarketsSeriesSeparately() {
+		importRows(initialRows());
+		store.saveIfCurrent(ITEM, null, OnlinePriceIndicators.from(history(null)));
+
+		importRows(List.of(row("0040", tongin, 3050, START.plusDays(20))));
+
+		assertThat(store.find(ITEM, MANGWON)).isNull();
+		assertThat(store.find(ITEM, TONGIN)).isNull();
+		assertSameAsRebuilt(null);
+		assertThat(store.find(ITEM, null).getCount()).isEqualTo(41);
+	}
+
+	// 시장 두 곳이 같은 날짜에 한 건씩 (0000 ~ 0039, 날짜는 START ~ START + 19)
+	private List<PriceData> initialRows() {
+		List<PriceData> rows = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			rows.add(row(serial(i), i % 2 == 0 ? mangwon : tongin, 3000 + i * 37 % 500, START.plusDays(i / 2)));
+		}
+		return rows;
+	}
+
+	private void saveStatesFromHistory() {
+		store.saveIfCurrent(ITEM, MANGWON, OnlinePriceIndicators.from(history(MANGWON)));
+		store.saveIfCurrent(ITEM, null, OnlinePriceIndicators.from(history(null)));
+		assertThat(store.find(ITEM, MANGWON)).isNotNull();
+		assertThat(store.find(ITEM, null)).isNotNull();
+	}
+
+	private void assertSameAsRebuilt(String marketName) {
+		OnlinePriceIndicators appended = store.find(ITEM, marketName);
+		OnlinePriceIndicators rebuilt = OnlinePriceIndicators.from(history(marketName));
+
+		assertThat(appended).isNotNull();
+		assertThat(appended).usingRecursiveComparison().isEqualTo(rebuilt);
+	}
+
+	private List<PriceDataInfo> history(String marketName) {
+		List<PriceData> rows = marketName == null
+			? priceDataRepository.findByItemNameOrderByDateDesc(ITEM)
+			: priceDataRepository.findByMarketNameAndItemNameOrderByDateDesc(marketName, ITEM);
+		return rows.stream().map(PriceDataInfo::from).toList();
+	}
+
+	// PriceDataBulkWriter처럼 쓰고 같은 트랜잭션에서 상태 반영
+	private void importRows(List<PriceData> rows) {
+		transaction.executeWithoutResult(status -> {
+			insert(rows);
+			store.apply(rows, Set.of());
+		});
+	}
+
+	private void insert(List<PriceData> rows) {
+		jdbcTemplate.batchUpdate(
+			"INSERT INTO price_data (serial_number, market_id, item_id, price, price_won, date)"
+				+ " VALUES (?, ?, ?, ?, ?, ?)",
+			rows.stream()
+				.map(row -> new Object[] {row.getSerialNumber(), row.getMarket().getId(), row.getItem().getId(),
+					row.getPrice(), row.getPriceWon(), Date.valueOf(row.getDate())})
+				.toList());
+	}
+
+	private PriceData row(String serialNumber, int marketId, int price, LocalDate date) {
+		PriceData row = PriceData.builder()
+			.serialNumber(serialNumber)
+			.marketName(marketId == mangwon ? MANGWON : TONGIN)
+			.itemName(ITEM)
+			.price(price + "원")
+			.date(date)
+			.build();
+		row.getMarket().setId(marketId);
+		row.getItem().setId(apple);
+		return row;
+	}
+
+	private int insertDimension(String sql, String table, String name) {
+		jdbcTemplate.update(sql, name);
+		return jdbcTemplate.queryForObject("SELECT id FROM " + table + " WHERE name = ?", Integer.class, name);
+	}
+
+	private static String serial(int index) {
+		return String.format("%04d", index);
+	}
+}
@@ -0,0 +1,162 @@
+package khtml.backend.alzi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class CsvCharsetDetectorTest {
+
+	private final CsvCharsetDetector detector = new CsvCharsetDetector();
+
+	@Test
+	void detectsUtf8Bom() {
+		byte[] sample = concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8("품목,가격"));
+
+		CsvCharsetDetector.Detection detection = detect(sample, false);
+
+		assertThat(detection.charset()).isEqualTo(StandardCharsets.UTF_8);
+		assertThat(detection.bomLength()).isEqualTo(3);
+	}
+
+	@Test
+	void detectsUtf16Boms() {
+		assertThat(detect(new byte[] {(byte) 0xFE, (byte) 0xFF, 0, 'a'}, false).charset())
+			.isEqualTo(StandardCharsets.UTF_16BE);
+		assertThat(detect(new byte[] {(byte) 0xFF, (byte) 0xFE, 'a', 0}, false).charset())
+			.isEqualTo(StandardCharsets.UTF_16LE);
+	}
+
+	@Test
+	void openSkipsBom() throws IOException {
+		byte[] bytes = concat(new byte[] {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF}, utf8("품목,가격\n사과,3000\n"));
+
+		try (CsvCharsetDetector.DetectedReader source = detector.open(new ByteArrayInputStream(bytes))) {
+			assertThat(readAll(source.reader())).isEqualTo("품목,가격\n사과,3000\n");
+			assertThat(source.charset()).isEqualTo(StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	void detectsStrictUtf8() {
+		assertThat(detect(utf8("망원시장,사과,3000원"), false).charset()).isEqualTo(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void rejectsOverlongAndSurrogateUtf8() {
+		// 0xC0 0xAF = '/'의 overlong 표현, 0xED 0xA0 0x80 = surrogate U+D800
+		assertThat(detect(new byte[] {'a', (byte) 0xC0, (byte) 0xAF}, false).charset())
+			.isNotEqualTo(StandardCharsets.UTF_8);
+		assertThat(detect(new byte[] {'a', (byte) 0xED, (byte) 0xA0, (byte) 0x80}, false).charset())
+			.isNotEqualTo(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void detectsEucKr() {
+		byte[] sample = "망원시장,사과,3000원".getBytes(CsvCharsetDetector.EUC_KR);
+
+		assertThat(detect(sample, false).charset()).isEqualTo(CsvCharsetDetector.EUC_KR);
+	}
+
+	@Test
+	void detectsMs949ExtendedHangul() {
+		// '똠'은 EUC-KR(KS X 1001 완성형)에 없고 MS949 확장 영역(0x8C 0x63)에만 있음
+		byte[] sample = "똠방각하,사과".getBytes(CsvCharsetDetector.MS949);
+
+		assertThat(detect(sample, false).charset()).isEqualTo(CsvCharsetDetector.MS949);
+	}
+
+	@Test
+	void acceptsUtf8CharacterCutAtEndOfTruncatedSample() {
+		// "a가" = 61 EA B0 80 에서 마지막 바이트가 샘플 밖으로 잘림
+		byte[] sample = Arrays.copyOf(utf8("a가"), 3);
+
+		assertThat(detect(sample, true).charset()).isEqualTo(StandardCharsets.UTF_8);
+		// 파일 끝이면 잘린 문자가 아니라 잘못된 바이트
+		assertThat(detect(sample, false).charset()).isNotEqualTo(StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void acceptsEucKrCharacterCutAtEndOfTruncatedSample() {
+		byte[] euckr = "사과".getBytes(CsvCharsetDetector.EUC_KR);
+		byte[] sample = Arrays.copyOf(euckr, euckr.length - 1);
+
+		assertThat(detect(sample, true).charset()).isEqualTo(CsvCharsetDetector.EUC_KR);
+	}
+
+	@Test
+	void detectsMs949AfterAsciiOnlySample() throws IOException {
+		String text = asciiPrefix() + "망원시장,똠방각하,3000\n";
+
+		assertDecodedAs(text.getBytes(CsvCharsetDetector.MS949), text, CsvCharsetDetector.MS949);
+	}
+
+	@Test
+	void detectsEucKrAfterAsciiOnlySample() throws IOException {
+		String text = asciiPrefix() + "망원시장,사과,3000\n";
+
+		assertDecodedAs(text.getBytes(CsvCharsetDetector.EUC_KR), text, CsvCharsetDetector.EUC_KR);
+	}
+
+	@Test
+	void detectsUtf8AfterAsciiOnlySample() throws IOException {
+		String text = asciiPrefix() + "망원시장,사과,3000\n";
+
+		assertDecodedAs(utf8(text), text, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void readsAsciiOnlyFileAsUtf8() throws IOException {
+		String text = asciiPrefix();
+
+		assertDecodedAs(utf8(text), text, StandardCharsets.UTF_8);
+	}
+
+	private void assertDecodedAs(byte[] bytes, String expected, Charset charset) throws IOException {
+		try (CsvCharsetDetector.DetectedReader source = detector.open(new ByteArrayInputStream(bytes))) {
+			String decoded = readAll(source.reader());
+
+			assertThat(decoded).isEqualTo(expected).doesNotContain("�");
+			assertThat(source.charset()).isEqualTo(charset);
+		}
+	}
+
+	private CsvCharsetDetector.Detection detect(byte[] sample, boolean truncated) {
+		return detector.detect(sample, sample.length, truncated);
+	}
+
+	// 샘플 크기(8KB)보다 긴 ASCII 앞부분
+	private static String asciiPrefix() {
+		StringBuilder text = new StringBuilder("market,item,price\n");
+		while (text.length() < CsvCharsetDetector.SAMPLE_SIZE * 2) {
+			text.append("mangwon,apple,3000\n");
+		}
+		return text.toString();
+	}
+
+	private static String readAll(Reader reader) throws IOException {
+		StringBuilder text = new StringBuilder();
+		char[] buffer = new char[1000];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			text.append(buffer, 0, read);
+		}
+		return text.toString();
+	}
+
+	private static byte[] utf8(String text) {
+		return text.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static byte[] concat(byte[] a, byte[] b) {
+		byte[] joined = Arrays.copyOf(a, a.length + b.length);
+		System.arraycopy(b, 0, joined, a.length, b.length);
+		return joined;
+	}
+}
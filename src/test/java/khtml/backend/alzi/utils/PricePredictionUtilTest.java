@@ -0,0 +1,105 @@
+package khtml.backend.alzi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import khtml.backend.alzi.market.dto.response.MarketItemPriceResponse.PriceDataInfo;
+
+/**
+ * analyzePriceHistory의 원시 배열 경로(PriceSeries, price_won 있음)가
+ * 기존 BigDecimal 경로(문자열 가격만 있음)와 필드 단위로 같은 결과를 내는지 확인
+ */
+class PricePredictionUtilTest {
+
+	private final PricePredictionUtil util = new PricePredictionUtil();
+
+	@Test
+	void matchesLegacyPathForUnsortedHistory() {
+		Random random = new Random(42);
+		for (int size : new int[] {1, 2, 6, 7, 8, 12, 13, 14, 15, 19, 20, 21, 29, 30, 31, 100, 500}) {
+			for (int run = 0; run < 20; run++) {
+				assertSamePath(randomHistory(random, size, 900));
+			}
+		}
+	}
+
+	@Test
+	void matchesLegacyPathForSortedHistory() {
+		Random random = new Random(7);
+		for (int run = 0; run < 50; run++) {
+			List<PriceDataInfo> history = randomHistory(random, 1 + random.nextInt(80), 400);
+
+			history.sort(Comparator.comparing(PriceDataInfo::getDate).reversed());
+			assertSamePath(history);
+			history.sort(Comparator.comparing(PriceDataInfo::getDate));
+			assertSamePath(history);
+		}
+	}
+
+	@Test
+	void matchesLegacyPathForSameDateTies() {
+		Random random = new Random(3);
+		for (int run = 0; run < 100; run++) {
+			// 날짜 범위를 좁혀 같은 날짜에 서로 다른 가격이 여러 건 있게 함
+			List<PriceDataInfo> history = randomHistory(random, 10 + random.nextInt(60), 5);
+			if (run % 3 == 1) {
+				history.sort(Comparator.comparing(PriceDataInfo::getDate));
+			}
+			assertSamePath(history);
+		}
+	}
+
+	@Test
+	void usesLatestRowOfSameDateInInputOrder() {
+		List<PriceDataInfo> history = List.of(
+			info(3000, LocalDate.of(2025, 3, 1)),
+			info(3500, LocalDate.of(2025, 3, 2)),
+			info(3200, LocalDate.of(2025, 3, 2)));
+
+		PricePredictionUtil.PriceAnalysis analysis = assertSamePath(history);
+
+		assertThat(analysis.getCurrentPrice()).isEqualByComparingTo("3500");
+	}
+
+	// 같은 이력을 price_won 유무만 바꿔 두 경로로 분석하고 필드 단위로 비교
+	private PricePredictionUtil.PriceAnalysis assertSamePath(List<PriceDataInfo> history) {
+		List<PriceDataInfo> legacyHistory = history.stream()
+			.map(info -> PriceDataInfo.builder()
+				.price(String.format("%,d원", info.getPriceWon()))
+				.date(info.getDate())
+				.build())
+			.toList();
+
+		PricePredictionUtil.PriceAnalysis fast = util.analyzePriceHistory("사과", history);
+		PricePredictionUtil.PriceAnalysis legacy = util.analyzePriceHistory("사과", legacyHistory);
+
+		assertThat(fast).usingRecursiveComparison().isEqualTo(legacy);
+		return fast;
+	}
+
+	private static List<PriceDataInfo> randomHistory(Random random, int size, int daySpan) {
+		int base = 500 + random.nextInt(100_000);
+		LocalDate start = LocalDate.of(2023, 1, 1);
+		List<PriceDataInfo> history = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			int price = Math.max(1, base + (int) (random.nextGaussian() * base * 0.2));
+			history.add(info(price, start.plusDays(random.nextInt(daySpan))));
+		}
+		return history;
+	}
+
+	private static PriceDataInfo info(int priceWon, LocalDate date) {
+		return PriceDataInfo.builder()
+			.price(priceWon + "원")
+			.priceWon(priceWon)
+			.date(date)
+			.build();
+	}
+}